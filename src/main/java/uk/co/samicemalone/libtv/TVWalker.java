@@ -0,0 +1,335 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * TVWalker lists the video files in a directory tree like {@link TVList},
+ * but walks sibling directories in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * Each directory is listed by {@link Files#walkFileTree} with a depth of 1,
+ * so the file type of each entry is read from the {@link BasicFileAttributes}
+ * of the walk rather than by statting the entry again. The depth of the walk
+ * can be limited and symbolic links to directories are only followed if
+ * enabled, in which case a directory is not walked again below itself so a
+ * link loop cannot recurse indefinitely. A directory that is reachable by
+ * more than one path, e.g. by a link to a sibling directory, is walked once
+ * for each path, so the files found do not depend on the order the
+ * directories are walked in.
+ * <p>
+ * The files of a directory are listed before the files of its sub
+ * directories, in the order the directory is listed.
+ * <p>
+ * {@link #stream(java.nio.file.Path)} walks the tree lazily instead, so the
+ * files found can be matched or indexed while the walk is still running:
+ * <pre>
+ * try(Stream&lt;Path&gt; paths = new TVWalker().stream(root)) {
+ *     paths.map(matcher::match).filter(Objects::nonNull).forEach(tvMap::addEpisode);
+ * }
+ * </pre>
+ * @author Sam Malone
+ */
+public class TVWalker {
+    
+    /**
+     * Walk every level of the tree
+     */
+    public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+    
+    private final int maxDepth;
+    private final boolean followLinks;
+    private final ForkJoinPool pool;
+    private final VideoFilter videoFilter = new VideoFilter();
+
+    /**
+     * Create a new TVWalker that walks the whole tree and follows symbolic
+     * links, as {@link TVList} does, using the common ForkJoinPool
+     */
+    public TVWalker() {
+        this(UNLIMITED_DEPTH, true);
+    }
+
+    /**
+     * Create a new TVWalker using the common ForkJoinPool
+     * @param maxDepth maximum number of directory levels to walk. 0 only
+     * lists the path given, 1 lists the files in the directory given, and so on
+     * @param followLinks true to follow symbolic links
+     */
+    public TVWalker(int maxDepth, boolean followLinks) {
+        this(maxDepth, followLinks, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new TVWalker
+     * @param maxDepth maximum number of directory levels to walk. 0 only
+     * lists the path given, 1 lists the files in the directory given, and so on
+     * @param followLinks true to follow symbolic links
+     * @param pool pool to walk the directories in
+     * @throws IllegalArgumentException if maxDepth is negative
+     */
+    public TVWalker(int maxDepth, boolean followLinks, ForkJoinPool pool) {
+        if(maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth cannot be negative");
+        }
+        this.maxDepth = maxDepth;
+        this.followLinks = followLinks;
+        this.pool = pool;
+    }
+    
+    /**
+     * Walk the given path for video files. If the path is a file, it is
+     * returned regardless of its extension. Directories that cannot be read
+     * are skipped.
+     * @param path file or directory
+     * @return video files or an empty list if the path does not exist
+     */
+    public List<Path> walk(Path path) {
+        LinkOption[] options = followLinks ? new LinkOption[0] : new LinkOption[] { LinkOption.NOFOLLOW_LINKS };
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(path, BasicFileAttributes.class, options);
+        } catch(IOException ex) {
+            return new ArrayList<>();
+        }
+        if(!attrs.isDirectory()) {
+            List<Path> list = new ArrayList<>(1);
+            list.add(path);
+            return list;
+        }
+        if(maxDepth == 0) {
+            return new ArrayList<>();
+        }
+        Ancestors ancestors = followLinks ? new Ancestors(directoryKey(path, attrs), null) : null;
+        return pool.invoke(new WalkTask(path, 1, ancestors));
+    }
+    
+    /**
+     * Walk the given path for video files lazily. Each directory is listed
+     * when the files before it have been consumed, and only the directory
+     * being listed is open. A parallel stream splits the directories pending
+     * to be listed between the threads of the common ForkJoinPool rather
+     * than the pool of this walker. Files are returned in the same order as
+     * {@link #walk(java.nio.file.Path)} by a sequential stream.
+     * <p>
+     * The stream must be closed, e.g. with a try-with-resources statement,
+     * to close the directories that are still open if the stream was not
+     * fully consumed.
+     * @param path file or directory
+     * @return sequential stream of video files, the path given if it is a
+     * file, or an empty stream if the path does not exist
+     */
+    public Stream<Path> stream(Path path) {
+        return stream(path, false);
+    }
+    
+    /**
+     * Walk the given path for video files lazily.
+     * See {@link #stream(java.nio.file.Path)}.
+     * @param path file or directory
+     * @param parallel true to return a parallel stream
+     * @return stream of video files, the path given if it is a file, or an
+     * empty stream if the path does not exist
+     */
+    public Stream<Path> stream(Path path, boolean parallel) {
+        LinkOption[] options = followLinks ? new LinkOption[0] : new LinkOption[] { LinkOption.NOFOLLOW_LINKS };
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(path, BasicFileAttributes.class, options);
+        } catch(IOException ex) {
+            return Stream.empty();
+        }
+        if(!attrs.isDirectory()) {
+            return Stream.of(path);
+        }
+        VideoFileSpliterator.Walk walk = new VideoFileSpliterator.Walk(maxDepth, followLinks);
+        return StreamSupport.stream(new VideoFileSpliterator(path, attrs, walk), parallel).onClose(walk::close);
+    }
+    
+    /**
+     * Walk the given file or directory for video files. The same files are
+     * returned as {@link TVList#scan(java.io.File)} followed by
+     * {@link TVList#getTVList()}, but in a different order: TVList returns
+     * the entries of a directory in the order it is listed, whereas the
+     * files of a directory are returned before the files of its sub
+     * directories.
+     * @param file file or directory
+     * @return absolute paths of the video files
+     */
+    public List<String> scan(File file) {
+        List<Path> paths = walk(file.toPath());
+        List<String> list = new ArrayList<>(paths.size());
+        for(Path path : paths) {
+            list.add(path.toAbsolutePath().toString());
+        }
+        return list;
+    }
+    
+    private boolean isVideo(Path path) {
+        try {
+            return videoFilter.accept(path);
+        } catch(IOException ex) {
+            return false;
+        }
+    }
+    
+    /**
+     * Get a key that identifies the directory regardless of the path it was
+     * reached by
+     */
+    static Object directoryKey(Path dir, BasicFileAttributes attrs) {
+        if(attrs.fileKey() != null) {
+            return attrs.fileKey();
+        }
+        try {
+            return dir.toRealPath();
+        } catch(IOException ex) {
+            return dir.toAbsolutePath().normalize();
+        }
+    }
+    
+    /**
+     * Keys of a directory and each of its ancestors in the walk, used to
+     * detect a symbolic link to a directory that is already being walked.
+     * A sub directory shares the Ancestors of its parent, so each directory
+     * only adds a single node.
+     */
+    static final class Ancestors {
+        
+        private final Object key;
+        private final Ancestors parent;
+
+        /**
+         * Create the Ancestors of a directory
+         * @param key key of the directory, see {@link TVWalker#directoryKey}
+         * @param parent Ancestors of the parent directory or null if the
+         * directory is the root of the walk
+         */
+        Ancestors(Object key, Ancestors parent) {
+            this.key = key;
+            this.parent = parent;
+        }
+        
+        /**
+         * Get the Ancestors of the sub directory given, unless the sub
+         * directory is this directory or one of its ancestors
+         * @param dir sub directory
+         * @param attrs attributes of the sub directory
+         * @return Ancestors of the sub directory or null if it would loop
+         */
+        Ancestors enter(Path dir, BasicFileAttributes attrs) {
+            Object dirKey = directoryKey(dir, attrs);
+            for(Ancestors a = this; a != null; a = a.parent) {
+                if(a.key.equals(dirKey)) {
+                    return null;
+                }
+            }
+            return new Ancestors(dirKey, this);
+        }
+        
+    }
+    
+    /**
+     * Lists a single directory and forks a task for each sub directory
+     */
+    private final class WalkTask extends RecursiveTask<List<Path>> {
+        
+        private final Path dir;
+        private final int depth;
+        private final Ancestors ancestors;
+
+        WalkTask(Path dir, int depth, Ancestors ancestors) {
+            this.dir = dir;
+            this.depth = depth;
+            this.ancestors = ancestors;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            final List<Path> files = new ArrayList<>();
+            final List<WalkTask> subDirs = new ArrayList<>();
+            Set<FileVisitOption> options = followLinks ? EnumSet.of(FileVisitOption.FOLLOW_LINKS) : EnumSet.noneOf(FileVisitOption.class);
+            try {
+                Files.walkFileTree(dir, options, 1, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if(attrs.isDirectory()) {
+                            if(depth < maxDepth) {
+                                Ancestors subDirAncestors = ancestors == null ? null : ancestors.enter(file, attrs);
+                                if(ancestors == null || subDirAncestors != null) {
+                                    subDirs.add(new WalkTask(file, depth + 1, subDirAncestors));
+                                }
+                            }
+                        } else if(!attrs.isSymbolicLink() && isVideo(file)) {
+                            files.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch(IOException ex) {
+                return files;
+            }
+            if(subDirs.isEmpty()) {
+                return files;
+            }
+            for(int i = 0; i < subDirs.size() - 1; i++) {
+                subDirs.get(i).fork();
+            }
+            List<Path> last = subDirs.get(subDirs.size() - 1).compute();
+            for(int i = 0; i < subDirs.size() - 1; i++) {
+                files.addAll(subDirs.get(i).join());
+            }
+            files.addAll(last);
+            return files;
+        }
+        
+    }
+    
+}
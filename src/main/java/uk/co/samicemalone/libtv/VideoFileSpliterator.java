@@ -0,0 +1,317 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator of the video files in a directory tree that lists each
+ * directory lazily as the files are consumed. Only the directory being
+ * listed is open, and the directories pending to be listed can be split
+ * off to another VideoFileSpliterator to list in parallel. If a single
+ * directory is pending when a split is requested, e.g. the root of a new
+ * walk, it is listed eagerly so that its sub directories can be split.
+ * <p>
+ * The spliterators split from each other share a {@link Walk}, which closes
+ * every directory still open when it is closed, e.g. if a short circuiting
+ * stream operation did not consume every file.
+ * @author Sam Malone
+ */
+class VideoFileSpliterator implements Spliterator<Path> {
+    
+    /**
+     * Directory pending to be listed
+     */
+    private static final class Directory {
+        
+        private final Path path;
+        private final int depth;
+        private final TVWalker.Ancestors ancestors;
+
+        private Directory(Path path, int depth, TVWalker.Ancestors ancestors) {
+            this.path = path;
+            this.depth = depth;
+            this.ancestors = ancestors;
+        }
+        
+    }
+    
+    /**
+     * State shared by the spliterators of a single walk
+     */
+    static final class Walk implements Closeable {
+        
+        private final int maxDepth;
+        private final LinkOption[] linkOptions;
+        private final boolean followLinks;
+        private final Set<DirectoryStream<Path>> open = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        private final VideoFilter videoFilter = new VideoFilter();
+        private volatile boolean isClosed;
+
+        /**
+         * Create a new walk
+         * @param maxDepth maximum number of directory levels to walk
+         * @param followLinks true to follow symbolic links
+         */
+        Walk(int maxDepth, boolean followLinks) {
+            this.maxDepth = maxDepth;
+            this.linkOptions = followLinks ? new LinkOption[0] : new LinkOption[] { LinkOption.NOFOLLOW_LINKS };
+            this.followLinks = followLinks;
+        }
+        
+        /**
+         * Get the number of directories currently open
+         * @return number of open directories
+         */
+        int getOpenCount() {
+            return open.size();
+        }
+        
+        /**
+         * Close every directory that is still open. Further calls to
+         * tryAdvance return false.
+         */
+        @Override
+        public void close() {
+            isClosed = true;
+            for(DirectoryStream<Path> stream : open) {
+                close(stream);
+            }
+        }
+        
+        private void close(DirectoryStream<Path> stream) {
+            if(open.remove(stream)) {
+                try {
+                    stream.close();
+                } catch(IOException ex) {
+                    // nothing to release
+                }
+            }
+        }
+        
+    }
+    
+    private final Walk walk;
+    private final Deque<Directory> pending;
+    private final List<Directory> subDirs = new ArrayList<>();
+    private final Deque<Path> listed = new ArrayDeque<>();
+    private DirectoryStream<Path> stream;
+    private Iterator<Path> iterator;
+    private int depth;
+    private TVWalker.Ancestors ancestors;
+
+    /**
+     * Create a new VideoFileSpliterator that lists the files in the given
+     * directory and its sub directories
+     * @param dir directory
+     * @param attrs attributes of the directory
+     * @param walk walk state
+     */
+    VideoFileSpliterator(Path dir, BasicFileAttributes attrs, Walk walk) {
+        this(new ArrayDeque<Directory>(), walk);
+        if(walk.maxDepth > 0) {
+            TVWalker.Ancestors root = walk.followLinks ? new TVWalker.Ancestors(TVWalker.directoryKey(dir, attrs), null) : null;
+            pending.add(new Directory(dir, 1, root));
+        }
+    }
+
+    private VideoFileSpliterator(Deque<Directory> pending, Walk walk) {
+        this.pending = pending;
+        this.walk = walk;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Path> action) {
+        if(!listed.isEmpty() && !walk.isClosed) {
+            action.accept(listed.pollFirst());
+            return true;
+        }
+        while(!walk.isClosed) {
+            if(iterator == null && !open()) {
+                return false;
+            }
+            try {
+                while(iterator.hasNext()) {
+                    Path path = iterator.next();
+                    if(accept(path)) {
+                        action.accept(path);
+                        return true;
+                    }
+                }
+            } catch(DirectoryIteratorException ex) {
+                // skip the remainder of an unreadable directory
+            }
+            closeCurrent();
+        }
+        return false;
+    }
+    
+    /**
+     * Open the next pending directory that can be read
+     * @return true if opened, false if no directory is pending
+     */
+    private boolean open() {
+        Directory dir;
+        while((dir = pending.pollFirst()) != null) {
+            try {
+                stream = Files.newDirectoryStream(dir.path);
+            } catch(IOException ex) {
+                continue;
+            }
+            walk.open.add(stream);
+            if(walk.isClosed) {
+                walk.close(stream);
+                return false;
+            }
+            iterator = stream.iterator();
+            depth = dir.depth;
+            ancestors = dir.ancestors;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Close the current directory and queue its sub directories to be listed
+     * next, in the order they were listed
+     */
+    private void closeCurrent() {
+        walk.close(stream);
+        stream = null;
+        iterator = null;
+        for(int i = subDirs.size() - 1; i >= 0; i--) {
+            pending.addFirst(subDirs.get(i));
+        }
+        subDirs.clear();
+    }
+    
+    /**
+     * Check if the path is a video file to return, or queue it if it is a
+     * directory to walk
+     */
+    private boolean accept(Path path) {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(path, BasicFileAttributes.class, walk.linkOptions);
+        } catch(IOException ex) {
+            return false;
+        }
+        if(attrs.isDirectory()) {
+            if(depth < walk.maxDepth) {
+                TVWalker.Ancestors subDirAncestors = ancestors == null ? null : ancestors.enter(path, attrs);
+                if(ancestors == null || subDirAncestors != null) {
+                    subDirs.add(new Directory(path, depth + 1, subDirAncestors));
+                }
+            }
+            return false;
+        }
+        try {
+            return !attrs.isSymbolicLink() && walk.videoFilter.accept(path);
+        } catch(IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * List the next pending directory eagerly, keeping its video files to
+     * return before the files of its sub directories
+     * @return true if a directory was listed
+     */
+    private boolean listNext() {
+        if(walk.isClosed || !open()) {
+            return false;
+        }
+        try {
+            while(iterator.hasNext()) {
+                Path path = iterator.next();
+                if(accept(path)) {
+                    listed.add(path);
+                }
+            }
+        } catch(DirectoryIteratorException ex) {
+            // skip the remainder of an unreadable directory
+        }
+        closeCurrent();
+        return true;
+    }
+
+    /**
+     * Split off half of the directories pending to be listed. The directory
+     * currently being listed is not split. If only one directory is pending
+     * and none is being listed, it is listed eagerly first, and so on while
+     * each directory listed has a single sub directory.
+     * @return VideoFileSpliterator or null if fewer than two directories
+     * remain to be listed
+     */
+    @Override
+    public Spliterator<Path> trySplit() {
+        boolean isListed = true;
+        while(isListed && iterator == null && pending.size() == 1) {
+            isListed = listNext();
+        }
+        int remaining = pending.size() + (iterator == null ? 0 : 1);
+        if(pending.isEmpty() || remaining < 2) {
+            return null;
+        }
+        int splitSize = Math.max(1, remaining / 2);
+        Deque<Directory> split = new ArrayDeque<>(splitSize);
+        for(int i = 0; i < splitSize && !pending.isEmpty(); i++) {
+            split.addFirst(pending.pollLast());
+        }
+        return new VideoFileSpliterator(split, walk);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return DISTINCT | NONNULL;
+    }
+    
+}
@@ -30,7 +30,7 @@ package uk.co.samicemalone.libtv.comparator;
 
 import java.util.Comparator;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
-import uk.co.samicemalone.libtv.model.Range;
+import uk.co.samicemalone.libtv.model.EpisodeNumbers;
 
 /**
  * Comparator to compare EpisodeMatch instances using the following criteria:
@@ -49,7 +49,7 @@ public class EpisodeComparator implements Comparator<EpisodeMatch> {
         if(o1 == o2) {
             return 0;
         }
-        int compareVal = o1.getShow().compareTo(o2.getShow());
+        int compareVal = compareShow(o1, o2);
         if(compareVal != 0) {
             return compareVal;
         }
@@ -57,13 +57,27 @@ public class EpisodeComparator implements Comparator<EpisodeMatch> {
         if(compareVal != 0) {
             return compareVal;
         }
-        Range o1Range = o1.getEpisodesAsRange();
-        Range o2Range = o2.getEpisodesAsRange();
-        compareVal = Integer.compare(o1Range.getStart(), o2Range.getStart());
-        if(compareVal != 0 || (!o1.isMultiEpisode() && !o2.isMultiEpisode())) {
+        EpisodeNumbers o1Episodes = o1.getEpisodeNumbers();
+        EpisodeNumbers o2Episodes = o2.getEpisodeNumbers();
+        compareVal = Integer.compare(o1Episodes.getMin(), o2Episodes.getMin());
+        if(compareVal != 0 || (o1Episodes.size() <= 1 && o2Episodes.size() <= 1)) {
             return compareVal;
         }
-        return Integer.compare(o1Range.getEnd(), o2Range.getEnd());
+        return Integer.compare(o1Episodes.getMax(), o2Episodes.getMax());
+    }
+    
+    /**
+     * Compare the shows of the episodes. Shows are interned by EpisodeMatch
+     * so episodes of the same show are compared by reference.
+     * @param o1 first episode
+     * @param o2 second episode
+     * @return show comparison
+     */
+    private static int compareShow(EpisodeMatch o1, EpisodeMatch o2) {
+        if(o1.getShow() == o2.getShow()) {
+            return 0;
+        }
+        return o1.getShow().compareTo(o2.getShow());
     }
     
 }
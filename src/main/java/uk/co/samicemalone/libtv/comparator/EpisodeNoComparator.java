@@ -30,7 +30,7 @@ package uk.co.samicemalone.libtv.comparator;
 
 import java.util.Comparator;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
-import uk.co.samicemalone.libtv.model.Range;
+import uk.co.samicemalone.libtv.model.EpisodeNumbers;
 
 /**
  * Comparator to compare EpisodeMatch instances in the same season using the 
@@ -45,13 +45,13 @@ public class EpisodeNoComparator implements Comparator<EpisodeMatch> {
 
     @Override
     public int compare(EpisodeMatch thisMatch, EpisodeMatch thatMatch) {
-        Range thisRange = thisMatch.getEpisodesAsRange();
-        Range thatRange = thatMatch.getEpisodesAsRange();
-        int compareVal = Integer.compare(thisRange.getStart(), thatRange.getStart());
+        EpisodeNumbers thisEpisodes = thisMatch.getEpisodeNumbers();
+        EpisodeNumbers thatEpisodes = thatMatch.getEpisodeNumbers();
+        int compareVal = Integer.compare(thisEpisodes.getMin(), thatEpisodes.getMin());
         if(compareVal != 0) {
             return compareVal;
         }
-        return Integer.compare(thisRange.getEnd(), thatRange.getEnd());
+        return Integer.compare(thisEpisodes.getMax(), thatEpisodes.getMax());
     }
     
 }
@@ -29,13 +29,14 @@
 package uk.co.samicemalone.libtv.exception;
 
 /**
- * Thrown when a match element that is required, was not found
+ * Thrown when a match element that is required, was not found. The exception
+ * has no stack trace.
  * @author Sam Malone
  */
 public class MatchElementNotFoundException extends MatchException {   
 
     public MatchElementNotFoundException(String message) {
-        super(message);
+        super(message, false);
     }    
     
 }
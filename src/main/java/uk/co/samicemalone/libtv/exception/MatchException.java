@@ -38,4 +38,14 @@ public class MatchException extends Exception {
         super(message);
     }
     
+    /**
+     * Create a MatchException that may skip filling in its stack trace, so
+     * that it is cheap to create on a frequent path such as a match miss
+     * @param message detail message
+     * @param writableStackTrace whether the stack trace should be writable
+     */
+    protected MatchException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+    
 }
@@ -29,13 +29,14 @@
 package uk.co.samicemalone.libtv.exception;
 
 /**
- * Thrown when a match was not found
+ * Thrown when a match was not found. The exception has no stack trace as it
+ * is thrown for every file that is not an episode.
  * @author Sam Malone
  */
 public class MatchNotFoundException extends MatchException {
 
     public MatchNotFoundException(String message) {
-        super(message);
+        super(message, false);
     }
     
 }
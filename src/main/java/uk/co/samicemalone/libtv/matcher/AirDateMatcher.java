@@ -0,0 +1,132 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collection;
+import uk.co.samicemalone.libtv.model.AirDateEpisode;
+import uk.co.samicemalone.libtv.model.AirDateIndex;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+import uk.co.samicemalone.libtv.util.ShowCase;
+
+/**
+ * AirDateMatcher matches episodes of daily shows that are named by air date
+ * instead of season and episode number.
+ * Matches: (with variants of separators)
+ * the.daily.show.2014.05.12.guest.mkv
+ * the daily show - 12-05-2014 - guest.mkv
+ * <p>
+ * The file name is scanned once by {@link AirDateParser}. The show is the
+ * text before the date unless a ShowMatcher is set in the TVMatcherOptions.
+ * @author Sam Malone
+ */
+public class AirDateMatcher {
+    
+    private final TVMatcherOptions options;
+
+    /**
+     * Create a new instance of AirDateMatcher with the default options
+     */
+    public AirDateMatcher() {
+        this(new TVMatcherOptions());
+    }
+
+    /**
+     * Create a new instance of AirDateMatcher
+     * @param options options used to strip tags and match the show
+     */
+    public AirDateMatcher(TVMatcherOptions options) {
+        this.options = options;
+    }
+    
+    /**
+     * Match the air date of the episode path given
+     * @param path episode path
+     * @return AirDateEpisode or null if the file name does not contain a
+     * valid air date
+     */
+    public AirDateEpisode match(Path path) {
+        return match(new EpisodeName(path));
+    }
+    
+    /**
+     * Match the air date of the episode name given. The path of the episode
+     * is only created if needed by a ShowMatcher.
+     * @param name episode name
+     * @return AirDateEpisode or null if the file name does not contain a
+     * valid air date
+     */
+    public AirDateEpisode match(EpisodeName name) {
+        String fileName = options.getTagStripper().strip(name.getFileName());
+        int[] m = new int[5];
+        if(!AirDateParser.findAirDate(fileName, 0, m)) {
+            return null;
+        }
+        LocalDate airDate = LocalDate.of(m[AirDateParser.YEAR], m[AirDateParser.MONTH], m[AirDateParser.DAY]);
+        return new AirDateEpisode(matchShow(name, fileName, m[AirDateParser.START]), airDate, name);
+    }
+    
+    /**
+     * Match each path and index the episodes that have an air date
+     * @param paths episode paths
+     * @return AirDateIndex of the matched episodes
+     */
+    public AirDateIndex index(Collection<Path> paths) {
+        AirDateIndex index = new AirDateIndex();
+        for(Path path : paths) {
+            AirDateEpisode episode = match(path);
+            if(episode != null) {
+                index.add(episode);
+            }
+        }
+        return index;
+    }
+    
+    private String matchShow(EpisodeName name, String fileName, int dateStart) {
+        ShowMatcher showMatcher = options.getShowMatcher();
+        String show = null;
+        if(showMatcher != null) {
+            show = showMatcher.matchShow(name.getPath());
+        }
+        if(show == null || show.isEmpty()) {
+            int end = dateStart;
+            while(end > 0 && TagStripper.isSeparator(fileName.charAt(end - 1))) {
+                end--;
+            }
+            show = end == 0 ? null : ShowCase.convert(fileName.substring(0, end));
+        }
+        if(show == null && options.getFallbackShowMatcher() != null) {
+            show = options.getFallbackShowMatcher().matchShow(name.getPath());
+        }
+        return show;
+    }
+    
+}
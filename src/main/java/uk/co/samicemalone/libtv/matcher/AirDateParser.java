@@ -0,0 +1,230 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+/**
+ * AirDateParser finds dates in a file name by walking the name in place,
+ * without a regex or substrings. It is shared by the no delimiter matchers,
+ * which strip dates before looking for a season and episode, and by
+ * {@link AirDateMatcher}, which matches episodes named by air date.
+ * @author Sam Malone
+ */
+public final class AirDateParser {
+    
+    /** indexes of the match array populated by findAirDate **/
+    public static final int START = 0;
+    public static final int END = 1;
+    public static final int YEAR = 2;
+    public static final int MONTH = 3;
+    public static final int DAY = 4;
+    
+    private static final int[] DAYS_IN_MONTH = { 31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+    
+    private AirDateParser() {
+        
+    }
+    
+    /**
+     * Find the first valid air date at or after index from, in the form
+     * YYYY.MM.DD or DD.MM.YYYY. Each part may be followed by a single
+     * separator and the date must not be part of a longer run of digits.
+     * If found, the date indexes, year, month and day are stored in m
+     * @param name file name
+     * @param from index to start searching from
+     * @param m match array of at least 5 elements
+     * @return true if found
+     */
+    public static boolean findAirDate(CharSequence name, int from, int[] m) {
+        for(int i = from; i + 8 <= name.length(); i++) {
+            if(!isDigit(name, i) || isDigit(name, i - 1)) {
+                continue;
+            }
+            if(matchYearFirst(name, i, m) || matchDayFirst(name, i, m)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Match a date in the form YYYY.MM.DD starting at index i
+     */
+    private static boolean matchYearFirst(CharSequence name, int i, int[] m) {
+        if(!isCentury(name, i) || !isPair(name, i + 2)) {
+            return false;
+        }
+        int month = skipSeparator(name, i + 4);
+        if(!isPair(name, month)) {
+            return false;
+        }
+        int day = skipSeparator(name, month + 2);
+        if(!isPair(name, day) || isDigit(name, day + 2)) {
+            return false;
+        }
+        return store(m, i, day + 2, pair(name, i) * 100 + pair(name, i + 2), pair(name, month), pair(name, day));
+    }
+    
+    /**
+     * Match a date in the form DD.MM.YYYY starting at index i
+     */
+    private static boolean matchDayFirst(CharSequence name, int i, int[] m) {
+        if(!isPair(name, i)) {
+            return false;
+        }
+        int month = skipSeparator(name, i + 2);
+        if(!isPair(name, month)) {
+            return false;
+        }
+        int year = skipSeparator(name, month + 2);
+        if(!isCentury(name, year) || !isPair(name, year + 2) || isDigit(name, year + 4)) {
+            return false;
+        }
+        return store(m, i, year + 4, pair(name, year) * 100 + pair(name, year + 2), pair(name, month), pair(name, i));
+    }
+    
+    private static boolean store(int[] m, int start, int end, int year, int month, int day) {
+        if(!isValidDate(year, month, day)) {
+            return false;
+        }
+        m[START] = start;
+        m[END] = end;
+        m[YEAR] = year;
+        m[MONTH] = month;
+        m[DAY] = day;
+        return true;
+    }
+    
+    private static boolean isValidDate(int year, int month, int day) {
+        if(month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]) {
+            return false;
+        }
+        boolean isLeapYear = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        return month != 2 || day <= 28 || isLeapYear;
+    }
+    
+    /**
+     * Strip dates from the name given e.g. 2014.05.12, 12-05-14, 2014.
+     * A date must not start inside a longer run of digits, so the 06.20 of
+     * 106.20141203 is not stripped
+     * @param name file name
+     * @param out buffer to append the stripped name to
+     * @return true if a date was stripped
+     */
+    public static boolean stripDates(CharSequence name, StringBuilder out) {
+        int copyFrom = 0;
+        for(int i = 0; i < name.length(); i++) {
+            int end = isDigit(name, i - 1) ? -1 : matchDate(name, i);
+            if(end > i) {
+                out.append(name, copyFrom, i);
+                copyFrom = end;
+                i = end - 1;
+            }
+        }
+        if(copyFrom == 0) {
+            return false;
+        }
+        out.append(name, copyFrom, name.length());
+        return true;
+    }
+
+    /**
+     * Match a date starting at index i: a day, month and year with an
+     * optional century e.g. 2014.05.12, 12-05-14 or a year e.g. 2014.
+     * A date ending with a four digit year e.g. 12.05.2014 always starts
+     * with a two digit year match, so only the shorter form is checked.
+     * @return end index of the date or -1 if not found
+     */
+    private static int matchDate(CharSequence name, int i) {
+        if(isCentury(name, i)) {
+            int end = matchPairs(name, i + 2);
+            if(end > 0) {
+                return end;
+            }
+        }
+        int end = matchPairs(name, i);
+        if(end > 0) {
+            return end;
+        }
+        return isCentury(name, i) && isPair(name, i + 2) ? i + 4 : -1;
+    }
+
+    /**
+     * Match three pairs of digits, optionally separated e.g. 14.05.12
+     * @return end index or -1 if not found
+     */
+    private static int matchPairs(CharSequence name, int i) {
+        for(int pair = 0; pair < 3; pair++) {
+            if(pair > 0) {
+                i = skipSeparators(name, i);
+            }
+            if(!isPair(name, i)) {
+                return -1;
+            }
+            i += 2;
+        }
+        return i;
+    }
+    
+    private static int pair(CharSequence name, int i) {
+        return (name.charAt(i) - '0') * 10 + (name.charAt(i + 1) - '0');
+    }
+
+    private static boolean isPair(CharSequence name, int i) {
+        return isDigit(name, i) && isDigit(name, i + 1);
+    }
+
+    private static boolean isCentury(CharSequence name, int i) {
+        if(i < 0 || i + 1 >= name.length()) {
+            return false;
+        }
+        char c = name.charAt(i);
+        char d = name.charAt(i + 1);
+        return (c == '1' && d == '9') || (c == '2' && d == '0');
+    }
+    
+    private static boolean isDigit(CharSequence name, int i) {
+        if(i < 0 || i >= name.length()) {
+            return false;
+        }
+        char c = name.charAt(i);
+        return c >= '0' && c <= '9';
+    }
+    
+    private static int skipSeparator(CharSequence name, int i) {
+        return i < name.length() && TagStripper.isSeparator(name.charAt(i)) ? i + 1 : i;
+    }
+    
+    private static int skipSeparators(CharSequence name, int i) {
+        while(i < name.length() && TagStripper.isSeparator(name.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+    
+}
@@ -33,6 +33,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 import uk.co.samicemalone.libtv.comparator.EpisodeNoComparator;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
 import uk.co.samicemalone.libtv.model.MatchCondition;
@@ -54,6 +60,48 @@ import uk.co.samicemalone.libtv.model.TVMatcherOptions;
  */
 public class EpisodeMatcher {
     
+    /**
+     * Minimum number of paths given to matchAll before matching in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 2048;
+    
+    private static final int CHUNK_SIZE = 512;
+    
+    /**
+     * MatchTask matches a range of paths into the same range of a results
+     * array, splitting the range in half until it is at most CHUNK_SIZE
+     */
+    private class MatchTask extends RecursiveAction {
+        
+        private final Path[] paths;
+        private final EpisodeMatch[] results;
+        private final int start;
+        private final int end;
+        private final MatchCondition<EpisodeMatch> condition;
+
+        private MatchTask(Path[] paths, EpisodeMatch[] results, int start, int end, MatchCondition<EpisodeMatch> condition) {
+            this.paths = paths;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+            this.condition = condition;
+        }
+
+        @Override
+        protected void compute() {
+            if(end - start <= CHUNK_SIZE) {
+                matchInto(paths, results, start, end, condition);
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(
+                    new MatchTask(paths, results, start, mid, condition),
+                    new MatchTask(paths, results, mid, end, condition)
+                );
+            }
+        }
+        
+    }
+    
     private final TVMatcher tvMatcher;
 
     /**
@@ -70,6 +118,15 @@ public class EpisodeMatcher {
     public EpisodeMatcher(TVMatcherOptions options) {
         this.tvMatcher = new TVMatcher(options);
     }
+
+    /**
+     * Creates a new instance of EpisodeMatcher
+     * @param pipeline matcher pipeline to use when matching. The pipeline may
+     * be shared with other matchers
+     */
+    public EpisodeMatcher(TVMatcher.Pipeline pipeline) {
+        this.tvMatcher = new TVMatcher(pipeline);
+    }
     
     /**
      * Match the path to an episode to determine the episode number(s) and the
@@ -131,6 +188,110 @@ public class EpisodeMatcher {
         return matches;
     }
     
+    /**
+     * Match each path to an episode to determine the episode number(s) and the
+     * show and season if present. 
+     * Wrapper for matchAll(paths, null)
+     * @param paths paths to match e.g. every episode in a TV library
+     * @return EpisodeMatch list in the iteration order of paths or empty list
+     * if no matches.
+     * @see #matchAll(java.util.Collection, uk.co.samicemalone.libtv.model.MatchCondition) 
+     */
+    public List<EpisodeMatch> matchAll(Collection<Path> paths) {
+        return matchAll(paths, null);
+    }
+    
+    /**
+     * Match each path to an episode to determine the episode number(s) and the
+     * show and season if present. Unlike {@link #match(java.util.Collection, uk.co.samicemalone.libtv.model.MatchCondition)},
+     * the paths do not need to be in the same season and the matches are
+     * not sorted.
+     * If there are at least {@link #PARALLEL_THRESHOLD} paths, the paths are
+     * matched in parallel using the common ForkJoinPool, otherwise they are
+     * matched sequentially. The condition must be thread safe.
+     * @param paths paths to match e.g. every episode in a TV library
+     * @param condition additional condition to be satisfied before accepting a match
+     * or null to place no extra conditions on the match
+     * @return EpisodeMatch list in the iteration order of paths or empty list
+     * if no matches.
+     */
+    public List<EpisodeMatch> matchAll(Collection<Path> paths, MatchCondition<EpisodeMatch> condition) {
+        Path[] pathArray = paths.toArray(new Path[paths.size()]);
+        EpisodeMatch[] results = new EpisodeMatch[pathArray.length];
+        if(pathArray.length < PARALLEL_THRESHOLD) {
+            matchInto(pathArray, results, 0, pathArray.length, condition);
+        } else {
+            ForkJoinPool.commonPool().invoke(new MatchTask(pathArray, results, 0, pathArray.length, condition));
+        }
+        return toMatchList(results);
+    }
+    
+    /**
+     * Match each path to an episode to determine the episode number(s) and the
+     * show and season if present, in the same way as {@link #matchAll(java.util.Collection, uk.co.samicemalone.libtv.model.MatchCondition)}.
+     * If there are at least {@link #PARALLEL_THRESHOLD} paths, the paths are
+     * split into chunks which are matched in parallel by the executor given,
+     * otherwise they are matched sequentially by the calling thread.
+     * @param paths paths to match e.g. every episode in a TV library
+     * @param condition additional condition to be satisfied before accepting a match
+     * or null to place no extra conditions on the match
+     * @param executor executor to match the chunks of paths
+     * @return EpisodeMatch list in the iteration order of paths or empty list
+     * if no matches.
+     * @throws InterruptedException if interrupted while waiting for the
+     * executor to match the paths
+     */
+    public List<EpisodeMatch> matchAll(Collection<Path> paths, final MatchCondition<EpisodeMatch> condition, ExecutorService executor) throws InterruptedException {
+        final Path[] pathArray = paths.toArray(new Path[paths.size()]);
+        final EpisodeMatch[] results = new EpisodeMatch[pathArray.length];
+        if(pathArray.length < PARALLEL_THRESHOLD) {
+            matchInto(pathArray, results, 0, pathArray.length, condition);
+            return toMatchList(results);
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(pathArray.length / CHUNK_SIZE + 1);
+        for(int i = 0; i < pathArray.length; i += CHUNK_SIZE) {
+            final int start = i;
+            final int end = Math.min(pathArray.length, i + CHUNK_SIZE);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    matchInto(pathArray, results, start, end, condition);
+                    return null;
+                }
+            });
+        }
+        for(Future<Void> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException ex) {
+                if(ex.getCause() instanceof Error) {
+                    throw (Error) ex.getCause();
+                }
+                throw (RuntimeException) ex.getCause();
+            }
+        }
+        return toMatchList(results);
+    }
+    
+    private void matchInto(Path[] paths, EpisodeMatch[] results, int start, int end, MatchCondition<EpisodeMatch> condition) {
+        for(int i = start; i < end; i++) {
+            EpisodeMatch match = tvMatcher.match(paths[i]);
+            if(match != null && (condition == null || condition.matches(match))) {
+                results[i] = match;
+            }
+        }
+    }
+    
+    private static List<EpisodeMatch> toMatchList(EpisodeMatch[] results) {
+        List<EpisodeMatch> matches = new ArrayList<>(results.length);
+        for(EpisodeMatch match : results) {
+            if(match != null) {
+                matches.add(match);
+            }
+        }
+        return matches;
+    }
+    
     /**
      * Match each path name to an episode in the Range given.
      * The path list is assumed to only contain episodes within the same season
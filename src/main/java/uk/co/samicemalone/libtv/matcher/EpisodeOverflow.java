@@ -0,0 +1,64 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+/**
+ * Thrown by a Matcher when the episode number of a file name overflows an int
+ * e.g. show.1x99999999999.mkv. The file name is a definite miss, so a
+ * {@link TVMatcher.Pipeline} stops instead of checking later Matchers which
+ * could misread the digits as a different episode.
+ * The exception has no stack trace and a single instance is reused.
+ * Unlike an exceeded {@link MatchBudget}, which is reported as
+ * {@link MatchOutcome.Status#BUDGET_EXCEEDED}, the file name would not match
+ * with a larger budget.
+ * @see MatchOutcome.Status#OVERFLOW
+ * @author Sam Malone
+ */
+public final class EpisodeOverflow extends RuntimeException {
+
+    private static final EpisodeOverflow INSTANCE = new EpisodeOverflow();
+
+    private EpisodeOverflow() {
+        super("Episode number overflow", null, false, false);
+    }
+    
+    /**
+     * Check that the episode number parsed by a Matcher did not overflow
+     * @param episode episode number or a negative number if it overflowed
+     * @return episode
+     * @throws EpisodeOverflow if episode is negative
+     */
+    public static int check(int episode) {
+        if(episode < 0) {
+            throw INSTANCE;
+        }
+        return episode;
+    }
+
+}
@@ -0,0 +1,163 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+/**
+ * FilenameFeatures builds a mask of the features present in a filtered file
+ * name in a single scan. A {@link TVMatcher.Matcher} that implements
+ * {@link Prefiltered} declares the features a file name must have for it to
+ * match, so {@link TVMatcher.Pipeline} can skip a Matcher that cannot match
+ * without running its regex.
+ * <p>
+ * Each feature is case insensitive and ASCII only, in the same way as the
+ * regex matchers in {@link uk.co.samicemalone.libtv.matcher.tv}.
+ * @author Sam Malone
+ */
+public final class FilenameFeatures {
+    
+    /**
+     * Prefiltered is implemented by a Matcher that can only match a file
+     * name with every feature given by {@link #getRequiredFeatures()}
+     */
+    public static interface Prefiltered {
+        
+        /**
+         * Get the features a filtered file name must have for this Matcher
+         * to match it
+         * @return feature mask or 0 if every file name must be checked
+         */
+        public int getRequiredFeatures();
+        
+    }
+    
+    /**
+     * s followed by a digit e.g. s01
+     */
+    public static final int S_DIGIT = 1;
+    
+    /**
+     * e followed by a digit e.g. e02
+     */
+    public static final int E_DIGIT = 1 << 1;
+    
+    /**
+     * a digit, optional separators, x then a digit e.g. 1x02 or 1 x02
+     */
+    public static final int X_DIGIT = 1 << 2;
+    
+    /**
+     * a separator followed by e e.g. " ep", ".episode" or "_e"
+     */
+    public static final int SEPARATOR_E = 1 << 3;
+    
+    /**
+     * pt or part
+     */
+    public static final int PART = 1 << 4;
+    
+    /**
+     * at least one digit
+     */
+    public static final int DIGIT = 1 << 5;
+    
+    /**
+     * at least three digits
+     */
+    public static final int THREE_DIGITS = 1 << 6;
+    
+    private FilenameFeatures() {
+        
+    }
+    
+    /**
+     * Scan the filtered file name given to build its feature mask
+     * @param name filtered file name
+     * @return feature mask
+     */
+    public static int scan(CharSequence name) {
+        int mask = 0;
+        int digits = 0;
+        boolean afterDigit = false;
+        boolean xAfterDigit = false;
+        char prev = 0;
+        for(int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if(c >= '0' && c <= '9') {
+                digits++;
+                if(prev == 's' || prev == 'S') {
+                    mask |= S_DIGIT;
+                } else if(prev == 'e' || prev == 'E') {
+                    mask |= E_DIGIT;
+                } else if(xAfterDigit) {
+                    mask |= X_DIGIT;
+                }
+                afterDigit = true;
+                xAfterDigit = false;
+            } else if(TagStripper.isSeparator(c)) {
+                xAfterDigit = false;
+            } else {
+                xAfterDigit = afterDigit && isLetter(c, 'x');
+                afterDigit = false;
+                if(isLetter(c, 'e') && TagStripper.isSeparator(prev)) {
+                    mask |= SEPARATOR_E;
+                } else if(isLetter(c, 't') && (isLetter(prev, 'p') || isPar(name, i))) {
+                    mask |= PART;
+                }
+            }
+            prev = c;
+        }
+        if(digits > 0) {
+            mask |= DIGIT;
+        }
+        if(digits >= 3) {
+            mask |= THREE_DIGITS;
+        }
+        return mask;
+    }
+    
+    /**
+     * Check if the feature mask has every required feature
+     * @param mask feature mask of a file name
+     * @param required required features
+     * @return true if mask contains every feature in required
+     */
+    public static boolean hasAll(int mask, int required) {
+        return (mask & required) == required;
+    }
+    
+    private static boolean isLetter(char c, char lowerCase) {
+        return c == lowerCase || c == lowerCase - ('a' - 'A');
+    }
+    
+    private static boolean isPar(CharSequence name, int t) {
+        return t >= 3 && isLetter(name.charAt(t - 3), 'p') 
+            && isLetter(name.charAt(t - 2), 'a') && isLetter(name.charAt(t - 1), 'r');
+    }
+    
+}
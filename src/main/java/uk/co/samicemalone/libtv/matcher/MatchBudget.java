@@ -0,0 +1,216 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MatchBudget limits the work a regex based matcher can do on a file name.
+ * A file name is guarded with {@link #guard(CharSequence)} before it is
+ * matched. Each character read by the regex engine counts as a step and once
+ * the maximum number of steps or the timeout is exceeded, the guarded file
+ * name throws {@link Exceeded} to stop the match.
+ * <p>
+ * The budget applies to each regex run over a file name, so the time taken
+ * to match a file name that backtracks heavily is bounded by a small multiple
+ * of the budget. {@link TVMatcher.Pipeline} reports an exceeded budget as no
+ * match, as a {@link uk.co.samicemalone.libtv.exception.MatchBudgetExceededException}
+ * from {@link TVMatcher.Pipeline#matchOrThrow(java.nio.file.Path)}, or as
+ * {@link MatchOutcome.Status#BUDGET_EXCEEDED} from
+ * {@link TVMatcher.Pipeline#matchOutcome(uk.co.samicemalone.libtv.model.EpisodeName)}.
+ * <p>
+ * MatchBudget is immutable and thread safe.
+ * @see uk.co.samicemalone.libtv.model.TVMatcherOptions#matchBudget(MatchBudget)
+ * @author Sam Malone
+ */
+public final class MatchBudget {
+
+    /**
+     * Thrown by a guarded file name when the budget is exceeded. The
+     * exception has no stack trace and a single instance is reused.
+     */
+    public static final class Exceeded extends RuntimeException {
+
+        private static final Exceeded INSTANCE = new Exceeded();
+
+        private Exceeded() {
+            super("Match budget exceeded", null, false, false);
+        }
+
+    }
+
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final long maxSteps;
+    private final long timeoutNanos;
+    private final Queue<long[]> recorded;
+
+    /**
+     * Create a new MatchBudget that limits the number of steps
+     * @param maxSteps maximum number of characters read by a regex run
+     * @throws IllegalArgumentException if maxSteps is not positive
+     */
+    public MatchBudget(long maxSteps) {
+        this(maxSteps, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create a new MatchBudget that limits the number of steps and the time
+     * taken by a regex run
+     * @param maxSteps maximum number of characters read by a regex run
+     * @param timeout maximum time taken by a regex run or 0 for no timeout
+     * @param unit unit of timeout
+     * @throws IllegalArgumentException if maxSteps is not positive or timeout
+     * is negative
+     */
+    public MatchBudget(long maxSteps, long timeout, TimeUnit unit) {
+        if(maxSteps <= 0 || timeout < 0) {
+            throw new IllegalArgumentException("Invalid match budget: " + maxSteps + " steps, timeout " + timeout);
+        }
+        this.maxSteps = maxSteps;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.recorded = null;
+    }
+    
+    private MatchBudget(MatchBudget budget) {
+        this.maxSteps = budget.maxSteps;
+        this.timeoutNanos = budget.timeoutNanos;
+        this.recorded = new ConcurrentLinkedQueue<>();
+    }
+    
+    /**
+     * Get a copy of this budget that records the steps taken by each regex
+     * run over a text it guards. Used to check the budget in tests.
+     * @return recording MatchBudget with the same limits
+     */
+    MatchBudget recordSteps() {
+        return new MatchBudget(this);
+    }
+    
+    /**
+     * Get the steps taken by each regex run over a text guarded since the
+     * last call. A run that exceeded the budget took maxSteps + 1 steps.
+     * @return steps taken by each regex run
+     * @throws IllegalStateException if this budget does not record steps
+     */
+    long[] drainSteps() {
+        if(recorded == null) {
+            throw new IllegalStateException("Match budget does not record steps");
+        }
+        long[] steps = new long[recorded.size()];
+        int i = 0;
+        long[] remaining;
+        while(i < steps.length && (remaining = recorded.poll()) != null) {
+            steps[i++] = maxSteps - Math.max(remaining[0], -1);
+        }
+        return i == steps.length ? steps : Arrays.copyOf(steps, i);
+    }
+
+    /**
+     * Get the maximum number of characters read by a regex run
+     * @return maximum number of steps
+     */
+    public long getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * Get the maximum time taken by a regex run
+     * @param unit unit of the timeout returned
+     * @return timeout or 0 if there is no timeout
+     */
+    public long getTimeout(TimeUnit unit) {
+        return unit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Guard the text given with a new budget. The budget starts when this
+     * method is called.
+     * @param text text to guard e.g. a file name
+     * @return guarded text that throws {@link Exceeded} once the budget is
+     * exceeded
+     */
+    public CharSequence guard(CharSequence text) {
+        long deadline = timeoutNanos == 0 ? 0 : System.nanoTime() + timeoutNanos;
+        long[] remaining = new long[] { maxSteps };
+        if(recorded != null) {
+            recorded.add(remaining);
+        }
+        return new Guard(text, remaining, deadline);
+    }
+
+    /**
+     * CharSequence that counts the characters read. Sub sequences share the
+     * budget of the sequence they were created from.
+     */
+    private static class Guard implements CharSequence {
+
+        private final CharSequence text;
+        private final long[] remaining;
+        private final long deadline;
+
+        private Guard(CharSequence text, long[] remaining, long deadline) {
+            this.text = text;
+            this.remaining = remaining;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            long steps = --remaining[0];
+            if(steps < 0) {
+                throw Exceeded.INSTANCE;
+            }
+            if(deadline != 0 && steps % TIME_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                throw Exceeded.INSTANCE;
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new Guard(text.subSequence(start, end), remaining, deadline);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+
+    }
+
+}
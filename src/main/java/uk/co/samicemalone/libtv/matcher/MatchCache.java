@@ -0,0 +1,288 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * MatchCache is a size bounded, least recently used cache of the result of
+ * matching an episode file path. Results are keyed by the path string and a
+ * scope identifying the matchers that produced them, compared by identity,
+ * so a MatchCache can be shared by pipelines using different options or
+ * matchers. A {@link TVMatcher.Pipeline} of the default matchers uses its
+ * TVMatcherOptions as the scope, so such pipelines built from the same
+ * options share results. A Pipeline of custom matchers uses itself as the
+ * scope. File paths that were not matched are cached as well, so repeatedly
+ * matching a directory of non episode files is cheap.
+ * <p>
+ * The cache is split into segments that are locked independently so
+ * concurrent lookups of different paths rarely contend. The maximum size
+ * applies to the cache as a whole: once it is exceeded the least recently
+ * used entry of the fullest segment is evicted, so the cache always fills
+ * up to its maximum size before evicting.
+ * <p>
+ * EpisodeMatch is mutable so the cache stores and returns copies. Modifying
+ * a returned EpisodeMatch never modifies the cached result.
+ * <p>
+ * The TVMatcherOptions of a scope must not be modified once results have
+ * been cached, otherwise stale results will be returned.
+ * @see TVMatcherOptions#matchCache(MatchCache)
+ * @author Sam Malone
+ */
+public final class MatchCache {
+    
+    private static final int MAX_SEGMENTS = 16;
+    
+    /**
+     * Result of a cache lookup. A Result with a null EpisodeMatch means the
+     * path was previously matched without finding an episode.
+     */
+    public static final class Result {
+        
+        private static final Result NO_MATCH = new Result(null);
+        
+        private final EpisodeMatch match;
+
+        private Result(EpisodeMatch match) {
+            this.match = match;
+        }
+        
+        /**
+         * Get a copy of the cached EpisodeMatch
+         * @return EpisodeMatch or null if the path was not matched
+         */
+        public EpisodeMatch getMatch() {
+            return match == null ? null : new EpisodeMatch(match);
+        }
+        
+    }
+    
+    private static final class Key {
+        
+        private final Object scope;
+        private final String path;
+
+        private Key(Object scope, String path) {
+            this.scope = scope;
+            this.path = path;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(scope) + path.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return scope == other.scope && path.equals(other.path);
+        }
+        
+    }
+    
+    private static final class Segment extends LinkedHashMap<Key, Result> {
+
+        private Segment() {
+            super(16, 0.75f, true);
+        }
+        
+    }
+    
+    private final int maxSize;
+    private final Segment[] segments;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a new MatchCache that holds at most maxSize results
+     * @param maxSize maximum number of results to cache
+     * @throws IllegalArgumentException if maxSize is not positive
+     */
+    public MatchCache(int maxSize) {
+        if(maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid match cache size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize));
+        segments = new Segment[segmentCount];
+        for(int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+    }
+    
+    private Segment segmentFor(Key key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+    
+    /**
+     * Get the cached result of matching the given path in the given scope
+     * @param scope scope the path was matched in e.g. the TVMatcherOptions
+     * or Pipeline. Scopes are compared by identity
+     * @param path path string
+     * @return Result or null if the path is not cached
+     */
+    public Result get(Object scope, String path) {
+        Key key = new Key(scope, path);
+        Segment segment = segmentFor(key);
+        Result result;
+        synchronized(segment) {
+            result = segment.get(key);
+        }
+        if(result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+    
+    /**
+     * Cache the result of matching the given path in the given scope.
+     * A copy of the EpisodeMatch is cached.
+     * @param scope scope the path was matched in e.g. the TVMatcherOptions
+     * or Pipeline. Scopes are compared by identity
+     * @param path path string
+     * @param match EpisodeMatch or null if the path was not matched
+     */
+    public void put(Object scope, String path, EpisodeMatch match) {
+        Key key = new Key(scope, path);
+        Result result = match == null ? Result.NO_MATCH : new Result(new EpisodeMatch(match));
+        Segment segment = segmentFor(key);
+        synchronized(segment) {
+            if(segment.put(key, result) != null) {
+                return;
+            }
+        }
+        size.incrementAndGet();
+        int current;
+        while((current = size.get()) > maxSize) {
+            if(size.compareAndSet(current, current - 1)) {
+                evictEldest();
+            }
+        }
+    }
+    
+    /**
+     * Evict the least recently used entry of the fullest segment. The size
+     * must already have been decremented for the evicted entry.
+     */
+    private void evictEldest() {
+        Segment fullest = null;
+        int fullestSize = 0;
+        for(Segment segment : segments) {
+            int segmentSize;
+            synchronized(segment) {
+                segmentSize = segment.size();
+            }
+            if(segmentSize > fullestSize) {
+                fullest = segment;
+                fullestSize = segmentSize;
+            }
+        }
+        if(fullest != null) {
+            synchronized(fullest) {
+                Iterator<Key> it = fullest.keySet().iterator();
+                if(it.hasNext()) {
+                    it.next();
+                    it.remove();
+                    evictions.increment();
+                    return;
+                }
+            }
+        }
+        // a concurrent clear removed the entry and decremented the size
+        size.incrementAndGet();
+    }
+    
+    /**
+     * Remove all cached results. The hit, miss and eviction counts are kept.
+     */
+    public void clear() {
+        for(Segment segment : segments) {
+            synchronized(segment) {
+                size.addAndGet(-segment.size());
+                segment.clear();
+            }
+        }
+    }
+    
+    /**
+     * Get the number of cached results
+     * @return number of cached results
+     */
+    public int size() {
+        return size.get();
+    }
+    
+    /**
+     * Get the maximum number of cached results
+     * @return maximum size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * Get the number of lookups that found a cached result
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    /**
+     * Get the number of lookups that did not find a cached result
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * Get the number of results evicted to keep the cache within its maximum
+     * size
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+}
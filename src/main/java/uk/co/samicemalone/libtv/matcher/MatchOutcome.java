@@ -0,0 +1,149 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+
+/**
+ * MatchOutcome is the result of matching an episode without throwing an
+ * exception when no match is found, for callers that match a large number of
+ * files and expect to miss some of them.
+ * The outcomes without an EpisodeMatch are shared instances, so a miss does
+ * not allocate.
+ * @see TVMatcher#matchOutcome(java.nio.file.Path)
+ * @author Sam Malone
+ */
+public final class MatchOutcome {
+    
+    /**
+     * Status of a MatchOutcome.
+     * FOUND if an episode match was found with the required elements.
+     * NOT_FOUND if an episode match was not found.
+     * MISSING_SHOW if an episode match was found but the show was required
+     * and not found.
+     * MISSING_SEASON if an episode match was found but the season was
+     * required and not found.
+     * OVERFLOW if an episode number overflows an int, see
+     * {@link EpisodeOverflow}.
+     * BUDGET_EXCEEDED if the {@link MatchBudget} of a Matcher was exceeded.
+     * The file name may match with a larger budget.
+     */
+    public static enum Status {
+        FOUND, NOT_FOUND, MISSING_SHOW, MISSING_SEASON, OVERFLOW, BUDGET_EXCEEDED
+    }
+    
+    private static final MatchOutcome NOT_FOUND = new MatchOutcome(Status.NOT_FOUND, null);
+    private static final MatchOutcome OVERFLOW = new MatchOutcome(Status.OVERFLOW, null);
+    private static final MatchOutcome BUDGET_EXCEEDED = new MatchOutcome(Status.BUDGET_EXCEEDED, null);
+    
+    private final Status status;
+    private final EpisodeMatch match;
+
+    private MatchOutcome(Status status, EpisodeMatch match) {
+        this.status = status;
+        this.match = match;
+    }
+    
+    static MatchOutcome found(EpisodeMatch match) {
+        return new MatchOutcome(Status.FOUND, match);
+    }
+    
+    static MatchOutcome notFound() {
+        return NOT_FOUND;
+    }
+    
+    static MatchOutcome overflow() {
+        return OVERFLOW;
+    }
+    
+    static MatchOutcome budgetExceeded() {
+        return BUDGET_EXCEEDED;
+    }
+    
+    /**
+     * Get the outcome of requiring the given MatchElement of this outcome
+     * @param requiredMatch required MatchElement
+     * @return this outcome if it is not FOUND or has the required element,
+     * otherwise a MISSING_SHOW or MISSING_SEASON outcome
+     */
+    MatchOutcome require(TVMatcher.MatchElement requiredMatch) {
+        if(status != Status.FOUND) {
+            return this;
+        }
+        boolean show = requiredMatch == TVMatcher.MatchElement.SHOW || requiredMatch == TVMatcher.MatchElement.ALL;
+        boolean season = requiredMatch == TVMatcher.MatchElement.SEASON || requiredMatch == TVMatcher.MatchElement.ALL;
+        if(show && match.getShow() == null) {
+            return new MatchOutcome(Status.MISSING_SHOW, match);
+        }
+        if(season && match.getSeason() == EpisodeMatch.NO_SEASON) {
+            return new MatchOutcome(Status.MISSING_SEASON, match);
+        }
+        return this;
+    }
+    
+    /**
+     * Get the status of this outcome
+     * @return status
+     */
+    public Status getStatus() {
+        return status;
+    }
+    
+    /**
+     * Check if an episode match was found with the required elements
+     * @return true if the status is FOUND
+     */
+    public boolean isFound() {
+        return status == Status.FOUND;
+    }
+    
+    /**
+     * Get the EpisodeMatch. If the status is MISSING_SHOW or MISSING_SEASON,
+     * the episode match found without the required element is returned.
+     * @return EpisodeMatch or null if the status is NOT_FOUND, OVERFLOW or
+     * BUDGET_EXCEEDED
+     */
+    public EpisodeMatch getMatch() {
+        return match;
+    }
+    
+    /**
+     * Get the EpisodeMatch if found with the required elements
+     * @return EpisodeMatch or null if the status is not FOUND
+     */
+    public EpisodeMatch getMatchIfFound() {
+        return status == Status.FOUND ? match : null;
+    }
+
+    @Override
+    public String toString() {
+        return match == null ? status.toString() : status + " " + match;
+    }
+    
+}
@@ -0,0 +1,125 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeNumbers;
+import uk.co.samicemalone.libtv.util.StringUtil;
+
+/**
+ * MultiEpisodeParser parses the episodes that follow the first episode of a
+ * multi episode file name, e.g. the e03e04 of s01e02e03e04 or the x03 of
+ * 1x02x03. The text is walked in place and each episode is added directly to
+ * the EpisodeMatch, without creating a Pattern or substrings.
+ * <p>
+ * Every episode marker (e or x, case insensitive) that is followed by digits
+ * is an episode, so e02e03, -e03, _e03, s01e03 and x02x03 are all
+ * recognised. An episode marker that directly follows a hyphen after the
+ * previous episode is an explicit range, so e01-e05 adds the episodes 1 to 5.
+ * Only ranges that span at most {@link #MAX_RANGE} episodes are expanded.
+ * The episodes of a longer or backwards range, e.g. e01-e20000000, are not
+ * plausible so only the two endpoints are added.
+ * @author Sam Malone
+ */
+public final class MultiEpisodeParser {
+    
+    /**
+     * Marker of episodes in s01e02 names
+     */
+    public static final char EPISODE_MARKER_E = 'e';
+    
+    /**
+     * Marker of episodes in 1x02 names
+     */
+    public static final char EPISODE_MARKER_X = 'x';
+    
+    /**
+     * Maximum number of episodes a range is expanded to
+     */
+    public static final int MAX_RANGE = 50;
+    
+    private MultiEpisodeParser() {
+        
+    }
+    
+    /**
+     * Parse the episodes in the text region and add them to the EpisodeMatch.
+     * The region must start directly after the digits of the last episode
+     * already added to the EpisodeMatch, so that a range such as e01-e05 can
+     * be recognised.
+     * @param text text containing the episodes
+     * @param start index directly after the previous episode digits
+     * @param end end index of the region
+     * @param marker episode marker, {@link #EPISODE_MARKER_E} or
+     * {@link #EPISODE_MARKER_X}
+     * @param em EpisodeMatch to add each episode to. An episode number that
+     * overflows an int is skipped
+     */
+    public static void parse(CharSequence text, int start, int end, char marker, EpisodeMatch em) {
+        EpisodeNumbers episodes = em.getEpisodeNumbers();
+        int previous = episodes.isEmpty() ? -1 : episodes.getInt(episodes.size() - 1);
+        int previousEnd = start;
+        int i = start;
+        while(i + 1 < end) {
+            if(!isMarker(text.charAt(i), marker) || !isDigit(text.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            int digitsStart = i + 1;
+            int digitsEnd = digitsStart + 1;
+            while(digitsEnd < end && isDigit(text.charAt(digitsEnd))) {
+                digitsEnd++;
+            }
+            int episode = StringUtil.parseInt(text, digitsStart, digitsEnd);
+            if(episode < 0) {
+                i = digitsEnd;
+                continue;
+            }
+            boolean isRange = i - 1 == previousEnd && text.charAt(i - 1) == '-';
+            if(isRange && previous >= 0 && episode > previous && episode - previous <= MAX_RANGE) {
+                for(int e = previous + 1; e < episode; e++) {
+                    episodes.addInt(e);
+                }
+            }
+            episodes.addInt(episode);
+            previous = episode;
+            previousEnd = digitsEnd;
+            i = digitsEnd;
+        }
+    }
+    
+    private static boolean isMarker(char c, char marker) {
+        return c == marker || c == Character.toUpperCase(marker);
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+}
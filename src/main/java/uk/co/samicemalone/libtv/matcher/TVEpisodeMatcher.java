@@ -82,6 +82,17 @@ public class TVEpisodeMatcher {
         this.tvPath = tvPath;
         this.episodeMatcher = new EpisodeMatcher(options);
     }
+
+    /**
+     * Create a new instance of TVEpisodeMatcher
+     * @param tvPath tv path used to find episodes 
+     * @param pipeline matcher pipeline to use when matching. The pipeline may
+     * be shared with other matchers
+     */
+    public TVEpisodeMatcher(TVPath tvPath, TVMatcher.Pipeline pipeline) {
+        this.tvPath = tvPath;
+        this.episodeMatcher = new EpisodeMatcher(pipeline);
+    }
     
     /**
      * Match an episode with the given show, season number and episode number
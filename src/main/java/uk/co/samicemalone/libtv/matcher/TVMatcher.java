@@ -29,16 +29,35 @@
 package uk.co.samicemalone.libtv.matcher;
 
 import java.nio.file.Path;
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import uk.co.samicemalone.libtv.exception.MatchElementNotFoundException;
+import uk.co.samicemalone.libtv.exception.MatchBudgetExceededException;
 import uk.co.samicemalone.libtv.exception.MatchException;
 import uk.co.samicemalone.libtv.exception.MatchNotFoundException;
+import uk.co.samicemalone.libtv.matcher.token.AutomatonMatcher;
+import uk.co.samicemalone.libtv.matcher.token.FilenameLexer;
+import uk.co.samicemalone.libtv.matcher.token.FilenameTokens;
+import uk.co.samicemalone.libtv.matcher.token.TokenMatcher;
+import uk.co.samicemalone.libtv.matcher.token.TokenNoDelimiterMatcher;
+import uk.co.samicemalone.libtv.matcher.token.TokenPartMatcher;
+import uk.co.samicemalone.libtv.matcher.token.TokenSEDelimitedMatcher;
+import uk.co.samicemalone.libtv.matcher.token.TokenWordDelimitedMatcher;
+import uk.co.samicemalone.libtv.matcher.token.TokenXDelimitedMatcher;
 import uk.co.samicemalone.libtv.matcher.tv.NoDelimiterMatcher;
 import uk.co.samicemalone.libtv.matcher.tv.PartMatcher;
 import uk.co.samicemalone.libtv.matcher.tv.SEDelimitedMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.TVGroupMatcher;
 import uk.co.samicemalone.libtv.matcher.tv.WordDelimitedMatcher;
 import uk.co.samicemalone.libtv.matcher.tv.XDelimitedMatcher;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.ReleaseTags;
 import uk.co.samicemalone.libtv.model.TVMatcherOptions;
 
 /**
@@ -68,7 +87,7 @@ public class TVMatcher {
          * Match a file path to an episode to determine the episode number(s). 
          * The show and season will be matched if found.
          * @param path absolute episode path
-         * @param filteredFileName filtered file name. see {@link #stripCommonTags(java.lang.String)}
+         * @param filteredFileName filtered file name. see {@link TagStripper}
          * @return EpisodeMatch if found, otherwise null
          */
         public EpisodeMatch match(Path path, String filteredFileName);
@@ -82,20 +101,370 @@ public class TVMatcher {
         SHOW, SEASON, ALL
     }
     
-    private final TVMatcherOptions options;
+    /**
+     * Engine represents the implementation of the default matchers:
+     * REGEX uses the regex based matchers in {@link uk.co.samicemalone.libtv.matcher.tv}.
+     * LEXER uses the token based matchers in {@link uk.co.samicemalone.libtv.matcher.token}
+     * which share a single tokenization of the file name.
+     * AUTOMATON uses an {@link AutomatonMatcher} which finds the highest
+     * priority format in a single scan of the tokens.
+     */
+    public static enum Engine {
+        REGEX, LEXER, AUTOMATON
+    }
+    
+    /**
+     * Pipeline is an immutable, ordered list of {@link Matcher} implementations
+     * used to match an episode file path. Each Matcher is checked in order and
+     * the first match found is returned.
+     * <p>
+     * A Pipeline is thread safe as long as its Matcher implementations are
+     * thread safe and their TVMatcherOptions are not modified once the Pipeline
+     * has been created. The implementations in {@link uk.co.samicemalone.libtv.matcher.tv}
+     * hold no mutable state, so a Pipeline can be built once and shared by 
+     * TVMatcher, EpisodeMatcher and TVEpisodeMatcher instances.
+     * <p>
+     * The only mutable state of a Pipeline is its statistics: the number of
+     * file names each Matcher won and the number no Matcher matched. Build a
+     * Pipeline per directory or source to compare the formats they use.
+     * @see #getWinCounts()
+     */
+    public static final class Pipeline {
+        
+        private final Matcher[] matchers;
+        private final TagStripper tagStripper;
+        private final TVMatcherOptions options;
+        private final MatchCache cache;
+        private final Object cacheScope;
+        private final boolean prefilter;
+        private final LongAdder[] wins;
+        private final LongAdder misses = new LongAdder();
+
+        /**
+         * Create a new Pipeline consisting of the default matchers using the
+         * default TVMatcherOptions
+         */
+        public Pipeline() {
+            this(new TVMatcherOptions());
+        }
+        
+        /**
+         * Create a new Pipeline consisting of the default matchers using the
+         * given TVMatcherOptions. The default matchers are checked in the order:
+         * {@link SEDelimitedMatcher}, {@link XDelimitedMatcher}, 
+         * {@link WordDelimitedMatcher}, {@link NoDelimiterMatcher},
+         * {@link PartMatcher} or their token based equivalents if the
+         * {@link Engine} of the options is LEXER. If the Engine is AUTOMATON,
+         * the pipeline consists of a single {@link AutomatonMatcher}.
+         * @param options TV matcher options
+         */
+        public Pipeline(TVMatcherOptions options) {
+            this(defaultMatchers(options == null ? new TVMatcherOptions() : options), true);
+        }
+        
+        /**
+         * Create a new Pipeline consisting of the given matchers. Common tags
+         * are stripped from file names using the TagStripper from the options
+         * of the first matcher given. Results are cached in the MatchCache
+         * from the options of the first matcher given, if present.
+         * @param matchers Matchers to check in the order given
+         * @throws IllegalArgumentException if matchers contains null
+         */
+        public Pipeline(Matcher... matchers) {
+            this(matchers, false);
+        }
+        
+        /**
+         * Create a new Pipeline consisting of the given matchers. Results of
+         * the default matchers are cached in the scope of their options so
+         * they are shared by default pipelines built from the same options.
+         * Results of other matchers are cached in the scope of this pipeline.
+         */
+        private Pipeline(Matcher[] matchers, boolean isDefault) {
+            this.matchers = matchers.clone();
+            for(Matcher matcher : this.matchers) {
+                if(matcher == null) {
+                    throw new IllegalArgumentException("Pipeline matchers cannot contain null");
+                }
+            }
+            options = this.matchers.length == 0 ? null : this.matchers[0].getOptions();
+            tagStripper = options == null ? TagStripper.getDefault() : options.getTagStripper();
+            cache = options == null ? null : options.getMatchCache();
+            cacheScope = isDefault ? options : this;
+            prefilter = options == null || options.isPrefilterEnabled();
+            wins = new LongAdder[this.matchers.length];
+            for(int i = 0; i < wins.length; i++) {
+                wins[i] = new LongAdder();
+            }
+        }
+        
+        /**
+         * Create a new Pipeline consisting of the given matchers
+         * @param matchers Matchers to check in the order given
+         * @throws IllegalArgumentException if matchers contains null
+         */
+        public Pipeline(List<? extends Matcher> matchers) {
+            this(matchers.toArray(new Matcher[matchers.size()]));
+        }
+        
+        private static Matcher[] defaultMatchers(TVMatcherOptions options) {
+            if(options.getEngine() == Engine.AUTOMATON) {
+                return new Matcher[] { new AutomatonMatcher(options) };
+            } else if(options.getEngine() == Engine.LEXER) {
+                return new Matcher[] {
+                    new TokenSEDelimitedMatcher(options),
+                    new TokenXDelimitedMatcher(options),
+                    new TokenWordDelimitedMatcher(options),
+                    new TokenNoDelimiterMatcher(options),
+                    new TokenPartMatcher(options)
+                };
+            }
+            return new Matcher[] {
+                new SEDelimitedMatcher(options),
+                new XDelimitedMatcher(options),
+                new WordDelimitedMatcher(options),
+                new NoDelimiterMatcher(options),
+                new PartMatcher(options)
+            };
+        }
+        
+        /**
+         * Get the matchers in this pipeline in the order they are checked
+         * @return unmodifiable list of matchers
+         */
+        public List<Matcher> getMatchers() {
+            return Collections.unmodifiableList(Arrays.asList(matchers));
+        }
+        
+        /**
+         * Get the number of file names each Matcher in this pipeline matched
+         * first. Results returned from the {@link MatchCache} and file names
+         * that exceeded the {@link MatchBudget} or overflowed an episode
+         * number are not counted.
+         * @return unmodifiable snapshot of the win count of each Matcher in
+         * the order they are checked
+         */
+        public Map<Matcher, Long> getWinCounts() {
+            Map<Matcher, Long> counts = new LinkedHashMap<>();
+            for(int i = 0; i < matchers.length; i++) {
+                counts.put(matchers[i], wins[i].sum());
+            }
+            return Collections.unmodifiableMap(counts);
+        }
+        
+        /**
+         * Get the number of file names that no Matcher in this pipeline
+         * matched. Results returned from the {@link MatchCache} are not counted.
+         * @return miss count
+         */
+        public long getMissCount() {
+            return misses.sum();
+        }
+        
+        /**
+         * Match a file path to an episode to determine the episode number(s).
+         * The show and season will be matched if found.
+         * Each Matcher is checked in order and returns as soon as a match is found.
+         * The file name is tokenized at most once for the {@link TokenMatcher}
+         * implementations in the pipeline.
+         * If the {@link MatchBudget} of a Matcher is exceeded, or a Matcher
+         * finds an episode number that overflows an int, no match is found
+         * and the later Matchers are not checked.
+         * If the options have a {@link MatchCache}, a copy of the cached result
+         * is returned if present.
+         * A Matcher that implements {@link FilenameFeatures.Prefiltered} is
+         * skipped if the filtered file name does not have its required
+         * features, unless the prefilter is disabled in the options.
+         * @param path path to match
+         * @return EpisodeMatch if found, otherwise null.
+         */
+        public EpisodeMatch match(Path path) {
+            return match(new EpisodeName(path));
+        }
+        
+        /**
+         * Match an episode name to an episode to determine the episode number(s).
+         * The show and season will be matched if found. The Matchers are
+         * checked in the same way as {@link #match(java.nio.file.Path)}.
+         * The path of the episode is only created if needed to match the show
+         * or season, or to key the {@link MatchCache}, and the episode File of
+         * the EpisodeMatch is created when first requested. The parent context
+         * is resolved if the options have a MatchCache.
+         * @param name episode name to match
+         * @return EpisodeMatch if found, otherwise null.
+         */
+        public EpisodeMatch match(EpisodeName name) {
+            try {
+                return cachedFind(name);
+            } catch(MatchBudget.Exceeded | EpisodeOverflow e) {
+                return null;
+            }
+        }
+        
+        /**
+         * Match a file path to an episode to determine the episode number(s).
+         * The show and season will be matched if found.
+         * Throws a MatchNotFoundException if an episode match was not found
+         * @param path path to match
+         * @return EpisodeMatch
+         * @throws uk.co.samicemalone.libtv.exception.MatchBudgetExceededException
+         * if the {@link MatchBudget} of a Matcher was exceeded
+         * @throws uk.co.samicemalone.libtv.exception.MatchNotFoundException
+         * if an episode match was not found
+         */
+        public EpisodeMatch matchOrThrow(Path path) throws MatchNotFoundException {
+            return matchOrThrow(new EpisodeName(path));
+        }
+        
+        /**
+         * Match an episode name to an episode to determine the episode number(s).
+         * The show and season will be matched if found.
+         * Throws a MatchNotFoundException if an episode match was not found
+         * @param name episode name to match
+         * @return EpisodeMatch
+         * @throws uk.co.samicemalone.libtv.exception.MatchBudgetExceededException
+         * if the {@link MatchBudget} of a Matcher was exceeded
+         * @throws uk.co.samicemalone.libtv.exception.MatchNotFoundException
+         * if an episode match was not found
+         */
+        public EpisodeMatch matchOrThrow(EpisodeName name) throws MatchNotFoundException {
+            EpisodeMatch m;
+            try {
+                m = cachedFind(name);
+            } catch(MatchBudget.Exceeded e) {
+                throw new MatchBudgetExceededException("Match budget exceeded: " + name);
+            } catch(EpisodeOverflow e) {
+                m = null;
+            }
+            if(m == null) {
+                throw new MatchNotFoundException("Match not found: " + name);
+            }
+            return m;
+        }
+        
+        /**
+         * Match an episode name to an episode to determine the episode number(s).
+         * The show and season will be matched if found. No exception is
+         * created if an episode match was not found.
+         * @param name episode name to match
+         * @return MatchOutcome with the status FOUND, NOT_FOUND, OVERFLOW if
+         * an episode number overflows an int or BUDGET_EXCEEDED if the
+         * {@link MatchBudget} of a Matcher was exceeded
+         */
+        public MatchOutcome matchOutcome(EpisodeName name) {
+            EpisodeMatch m;
+            try {
+                m = cachedFind(name);
+            } catch(MatchBudget.Exceeded e) {
+                return MatchOutcome.budgetExceeded();
+            } catch(EpisodeOverflow e) {
+                return MatchOutcome.overflow();
+            }
+            return m == null ? MatchOutcome.notFound() : MatchOutcome.found(m);
+        }
+        
+        private EpisodeMatch cachedFind(EpisodeName name) {
+            if(cache == null) {
+                return find(name);
+            }
+            String key = name.hasParent() ? name.getPath().toString() : name.getFileName();
+            MatchCache.Result cached = cache.get(cacheScope, key);
+            if(cached != null) {
+                return cached.getMatch();
+            }
+            EpisodeMatch m = find(name);
+            cache.put(cacheScope, key, m);
+            return m;
+        }
+        
+        private EpisodeMatch find(EpisodeName name) {
+            Input input = new Input(name, tagStripper, prefilter);
+            for(int i = 0; i < matchers.length; i++) {
+                EpisodeMatch m = input.match(matchers[i]);
+                if(m != null) {
+                    wins[i].increment();
+                    return m;
+                }
+            }
+            misses.increment();
+            return null;
+        }
+        
+        /**
+         * Input holds the file name of an episode being matched, scanning its
+         * features and tokenizing it at most once for the Matchers in the
+         * pipeline.
+         */
+        private static final class Input {
+            
+            private final EpisodeName name;
+            private final String filteredName;
+            private final int releaseTags;
+            private final boolean prefilter;
+            private int features = -1;
+            private FilenameTokens tokens;
+
+            private Input(EpisodeName name, TagStripper tagStripper, boolean prefilter) {
+                this.name = name;
+                int[] tags = new int[1];
+                this.filteredName = tagStripper.strip(name.getFileName(), tags);
+                this.releaseTags = tags[0];
+                this.prefilter = prefilter;
+            }
+            
+            private boolean canMatch(Matcher matcher) {
+                if(!prefilter || !(matcher instanceof FilenameFeatures.Prefiltered)) {
+                    return true;
+                }
+                int required = ((FilenameFeatures.Prefiltered) matcher).getRequiredFeatures();
+                if(required == 0) {
+                    return true;
+                }
+                if(features == -1) {
+                    features = FilenameFeatures.scan(filteredName);
+                }
+                return FilenameFeatures.hasAll(features, required);
+            }
+            
+            private EpisodeMatch match(Matcher matcher) {
+                if(!canMatch(matcher)) {
+                    return null;
+                }
+                EpisodeMatch m;
+                if(matcher instanceof TokenMatcher) {
+                    if(tokens == null) {
+                        tokens = FilenameLexer.lex(name.getFileName(), filteredName);
+                    }
+                    m = ((TokenMatcher) matcher).match(name, tokens);
+                } else if(matcher instanceof TVGroupMatcher) {
+                    m = ((TVGroupMatcher) matcher).match(name, filteredName);
+                } else {
+                    m = matcher.match(name.getPath(), filteredName);
+                }
+                if(m != null) {
+                    m.setEpisodeName(name);
+                    m.setReleaseTags(ReleaseTags.valueOf(releaseTags));
+                }
+                return m;
+            }
+            
+        }
+        
+    }
+    
+    private final Pipeline pipeline;
     
     /**
      * Strip common tags from an episode filename that may interfere with
      * matching. Tags removed:
      *   Qualities: e.g. 720p, 1080i, 480p
      *   Codecs: e.g. ac3, dd5.1, aac2.0, dd 7.1, h.264, x264
+     * @see TagStripper#getDefault() 
      * @param fileName fileName to strip of tags
      * @return stripped filename
      */
     public static String stripCommonTags(String fileName) {
-        String regex = "(?:720|480|1080)[ip]|([hx][_\\-. +]*264)|dd[_\\-. +]?[257][_\\-. +]*[01]|ac3|aac[_\\-. +]*(?:[257][_\\-. +]*[01])*";
-        Pattern p = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-        return p.matcher(fileName).replaceAll("");
+        return TagStripper.getDefault().strip(fileName);
     }
 
     /**
@@ -103,7 +472,7 @@ public class TVMatcher {
      * match the tv show, season and episode(s) from the file name.
      */
     public TVMatcher() {
-        options = new TVMatcherOptions();
+        pipeline = new Pipeline();
     }
 
     /**
@@ -111,7 +480,23 @@ public class TVMatcher {
      * @param options TV matcher options
      */
     public TVMatcher(TVMatcherOptions options) {
-        this.options = options == null ? new TVMatcherOptions() : options;
+        pipeline = new Pipeline(options);
+    }
+
+    /**
+     * Create a new instance of TVMatcher using the specified Pipeline
+     * @param pipeline matcher pipeline
+     */
+    public TVMatcher(Pipeline pipeline) {
+        this.pipeline = pipeline == null ? new Pipeline() : pipeline;
+    }
+    
+    /**
+     * Get the Pipeline used by this TVMatcher
+     * @return matcher pipeline
+     */
+    public Pipeline getPipeline() {
+        return pipeline;
     }
     
     /**
@@ -121,13 +506,106 @@ public class TVMatcher {
      * @return EpisodeMatch if found, otherwise null.
      */
     public EpisodeMatch match(Path path) {
-        return match(path,
-            new SEDelimitedMatcher(options),
-            new XDelimitedMatcher(options),
-            new WordDelimitedMatcher(options),
-            new NoDelimiterMatcher(options),
-            new PartMatcher(options)
-        );
+        return pipeline.match(path);
+    }
+    
+    /**
+     * Match an episode file name to an episode to determine the episode
+     * number(s). The show and season will be matched if found. No Path or
+     * File is created unless needed to match the show or season as per the
+     * TVMatcherOptions, or until {@link EpisodeMatch#getEpisodeFile()} is
+     * called.
+     * @param fileName episode file name to match
+     * @return EpisodeMatch if found, otherwise null.
+     */
+    public EpisodeMatch match(CharSequence fileName) {
+        return pipeline.match(new EpisodeName(fileName));
+    }
+    
+    /**
+     * Match an episode file name to an episode to determine the episode
+     * number(s). The show and season will be matched if found. The parent
+     * directory is only resolved if the path of the episode is needed e.g. to
+     * match the show or season from the directory as per the TVMatcherOptions.
+     * @param fileName episode file name to match
+     * @param parentContext resolves the directory containing the episode
+     * @return EpisodeMatch if found, otherwise null.
+     */
+    public EpisodeMatch match(CharSequence fileName, Supplier<Path> parentContext) {
+        return pipeline.match(new EpisodeName(fileName, parentContext));
+    }
+    
+    /**
+     * Match an episode name to an episode to determine the episode number(s).
+     * The show and season will be matched if found.
+     * @param name episode name to match
+     * @return EpisodeMatch if found, otherwise null.
+     */
+    public EpisodeMatch match(EpisodeName name) {
+        return pipeline.match(name);
+    }
+    
+    /**
+     * Match a file path to an episode to determine the episode number(s).
+     * The show and season will be matched if found. Unlike
+     * {@link #matchOrThrow(java.nio.file.Path)}, no exception is created if
+     * an episode match was not found.
+     * @param path path to match
+     * @return MatchOutcome with the status FOUND, NOT_FOUND, OVERFLOW or
+     * BUDGET_EXCEEDED
+     */
+    public MatchOutcome matchOutcome(Path path) {
+        return pipeline.matchOutcome(new EpisodeName(path));
+    }
+    
+    /**
+     * Match an episode file name to an episode to determine the episode
+     * number(s) without creating an exception if no match was found.
+     * @param fileName episode file name to match
+     * @return MatchOutcome with the status FOUND, NOT_FOUND, OVERFLOW or
+     * BUDGET_EXCEEDED
+     * @see #match(java.lang.CharSequence) 
+     */
+    public MatchOutcome matchOutcome(CharSequence fileName) {
+        return pipeline.matchOutcome(new EpisodeName(fileName));
+    }
+    
+    /**
+     * Match an episode name to an episode to determine the episode number(s)
+     * without creating an exception if no match was found.
+     * @param name episode name to match
+     * @return MatchOutcome with the status FOUND, NOT_FOUND, OVERFLOW or
+     * BUDGET_EXCEEDED
+     */
+    public MatchOutcome matchOutcome(EpisodeName name) {
+        return pipeline.matchOutcome(name);
+    }
+    
+    /**
+     * Match a file path to an episode to determine the episode number(s),
+     * requiring the match to have the given MatchElement. Unlike
+     * {@link #matchOrThrow(java.nio.file.Path, MatchElement)}, no exception
+     * is created if the match or the required element was not found.
+     * @param path path to match
+     * @param requiredMatch require the match to have the given MatchElement
+     * @return MatchOutcome with the status FOUND, NOT_FOUND, MISSING_SHOW,
+     * MISSING_SEASON, OVERFLOW or BUDGET_EXCEEDED
+     */
+    public MatchOutcome matchOutcome(Path path, MatchElement requiredMatch) {
+        return matchOutcome(new EpisodeName(path), requiredMatch);
+    }
+    
+    /**
+     * Match an episode name to an episode to determine the episode number(s),
+     * requiring the match to have the given MatchElement without creating an
+     * exception if the match or the required element was not found.
+     * @param name episode name to match
+     * @param requiredMatch require the match to have the given MatchElement
+     * @return MatchOutcome with the status FOUND, NOT_FOUND, MISSING_SHOW,
+     * MISSING_SEASON, OVERFLOW or BUDGET_EXCEEDED
+     */
+    public MatchOutcome matchOutcome(EpisodeName name, MatchElement requiredMatch) {
+        return pipeline.matchOutcome(name).require(requiredMatch);
     }
     
     /**
@@ -136,15 +614,13 @@ public class TVMatcher {
      * Throws a MatchNotFoundException if an episode match was not found
      * @param path path to match
      * @return EpisodeMatch
+     * @throws uk.co.samicemalone.libtv.exception.MatchBudgetExceededException
+     * if the {@link MatchBudget} of a Matcher was exceeded
      * @throws uk.co.samicemalone.libtv.exception.MatchNotFoundException
      * if an episode match was not found
      */
     public EpisodeMatch matchOrThrow(Path path) throws MatchNotFoundException {
-        EpisodeMatch e = match(path);
-        if(e == null) {
-            throw new MatchNotFoundException("Match not found: " + path);
-        }
-        return e;
+        return pipeline.matchOrThrow(path);
     }
     
     /**
@@ -157,14 +633,14 @@ public class TVMatcher {
      * @return EpisodeMatch 
      * @throws uk.co.samicemalone.libtv.exception.MatchElementNotFoundException
      * if an episode match was found but the required match component was not.
+     * @throws uk.co.samicemalone.libtv.exception.MatchBudgetExceededException
+     * if the {@link MatchBudget} of a Matcher was exceeded
      * @throws uk.co.samicemalone.libtv.exception.MatchNotFoundException
      * if an episode match was not found
      */
     public EpisodeMatch matchOrThrow(Path path, MatchElement requiredMatch) throws MatchException {
-        EpisodeMatch e = matchElementOrThrow(path, requiredMatch);
-        if(e == null) {
-            throw new MatchNotFoundException("Match not found: " + path);
-        }
+        EpisodeMatch e = pipeline.matchOrThrow(path);
+        assertHasElement(e, path, requiredMatch);
         return e;
     }
     
@@ -207,18 +683,22 @@ public class TVMatcher {
         if(e == null) {
             return null;
         }
+        assertHasElement(e, path, requiredMatch);
+        return e;
+    }
+    
+    private void assertHasElement(EpisodeMatch m, Path path, MatchElement requiredMatch) throws MatchElementNotFoundException {
         switch(requiredMatch) {
             case SHOW:
-                assertHasShow(e, path);
+                assertHasShow(m, path);
                 break;
             case SEASON:
-                assertHasSeason(e, path);
+                assertHasSeason(m, path);
                 break;
             case ALL:
-                assertHasShow(e, path);
-                assertHasSeason(e, path);
+                assertHasShow(m, path);
+                assertHasSeason(m, path);
         }
-        return e;
     }
     
     private void assertHasShow(EpisodeMatch m, Path path) throws MatchElementNotFoundException {
@@ -233,24 +713,4 @@ public class TVMatcher {
         }
     }
     
-    /**
-     * Match a file path to an episode to determine the episode number(s).
-     * The show and season will be matched if found.
-     * Each Matcher is checked in array order and returns as soon as a match is found
-     * @param path path to match
-     * @param matchers Matchers to check in the order given
-     * @return EpisodeMatch if found, otherwise null.
-     */
-    private EpisodeMatch match(Path path, Matcher... matchers) {
-        String filteredName = stripCommonTags(path.getFileName().toString());
-        for(Matcher matcher : matchers) {
-            EpisodeMatch m = matcher.match(path, filteredName);
-            if(m != null) {
-                m.setEpisodeFile(path.toFile());
-                return m;
-            }
-        }
-        return null;
-    }
-    
 }
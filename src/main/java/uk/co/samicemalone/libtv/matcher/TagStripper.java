@@ -0,0 +1,326 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import uk.co.samicemalone.libtv.model.ReleaseTags;
+
+/**
+ * TagStripper removes common tags from an episode file name that may interfere
+ * with matching e.g. 720p, ac3, h264 etc...
+ * <p>
+ * The tag dictionary is compiled into a trie when the TagStripper is created
+ * so stripping a file name is a single left to right scan which takes the
+ * longest tag found at each position. Adding more tags to the dictionary does
+ * not add another pass over the file name.
+ * <p>
+ * Tags are case insensitive. A separator character (_-. +) in a tag matches
+ * any run of separators, including none, in the file name e.g. the tag
+ * {@code dd.5.1} matches dd5.1, DD 5 1 and dd_5.1.
+ * <p>
+ * Tags that are known release tags e.g. the resolution, video codec, audio
+ * codec and channels or source, are recorded as {@link ReleaseTags} during
+ * the same scan when stripped with {@link #strip(String, int[])}.
+ * <p>
+ * TagStripper is immutable and thread safe.
+ * @author Sam Malone
+ */
+public final class TagStripper {
+
+    private static final String[] DEFAULT_TAGS = new String[] {
+        "480p", "480i", "720p", "720i", "1080p", "1080i",
+        "h.264", "x.264",
+        "dd.2.0", "dd.2.1", "dd.5.0", "dd.5.1", "dd.7.0", "dd.7.1",
+        "ac3",
+        "aac", "aac.2.0", "aac.2.1", "aac.5.0", "aac.5.1", "aac.7.0", "aac.7.1"
+    };
+
+    private static final TagStripper DEFAULT = new TagStripper(Arrays.asList(DEFAULT_TAGS));
+
+    /**
+     * Get the TagStripper with the default tag dictionary. Tags removed:
+     *   Qualities: e.g. 720p, 1080i, 480p
+     *   Codecs: e.g. ac3, dd5.1, aac2.0, dd 7.1, h.264, x264
+     * @return default TagStripper
+     */
+    public static TagStripper getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Check if the given character is a word separator
+     * @param c character
+     * @return true if c is one of _-. +
+     */
+    public static boolean isSeparator(char c) {
+        return c == '.' || c == ' ' || c == '_' || c == '-' || c == '+';
+    }
+
+    private final List<String> tags;
+    private final byte[] charClass;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final boolean[] terminal;
+    private final boolean[] skipSeparators;
+    private final int[] tagBits;
+
+    /**
+     * Create a new TagStripper with the given tag dictionary.
+     * @param tags tags to remove
+     * @throws IllegalArgumentException if a tag is empty, starts with a
+     * separator or contains a non ASCII character
+     */
+    public TagStripper(Collection<String> tags) {
+        Set<String> tagSet = new LinkedHashSet<>();
+        for(String tag : tags) {
+            tagSet.add(validate(tag));
+        }
+        this.tags = Collections.unmodifiableList(new ArrayList<>(tagSet));
+        charClass = new byte[128];
+        int classes = 1;
+        for(String tag : this.tags) {
+            for(int i = 0; i < tag.length(); i++) {
+                char c = tag.charAt(i);
+                if(!isSeparator(c) && charClass[c] == 0) {
+                    if(classes > Byte.MAX_VALUE) {
+                        throw new IllegalArgumentException("Too many distinct tag characters");
+                    }
+                    charClass[Character.toLowerCase(c)] = (byte) classes;
+                    charClass[Character.toUpperCase(c)] = (byte) classes;
+                    classes++;
+                }
+            }
+        }
+        alphabetSize = classes;
+        TrieNode root = new TrieNode();
+        int nodeCount = 1;
+        for(String tag : this.tags) {
+            nodeCount += root.insert(tag, charClass, alphabetSize, ReleaseTags.classify(tag));
+        }
+        transitions = new int[nodeCount * alphabetSize];
+        terminal = new boolean[nodeCount];
+        skipSeparators = new boolean[nodeCount];
+        tagBits = new int[nodeCount];
+        root.compile(this, new int[] { 0 });
+    }
+
+    /**
+     * Create a new TagStripper containing the tags in this TagStripper and
+     * the additional tags given.
+     * @param tags additional tags to remove e.g. 2160p, x.265, hevc, ddp.5.1
+     * @return new TagStripper
+     */
+    public TagStripper withTags(String... tags) {
+        List<String> list = new ArrayList<>(this.tags);
+        list.addAll(Arrays.asList(tags));
+        return new TagStripper(list);
+    }
+
+    /**
+     * Get the tag dictionary
+     * @return unmodifiable list of tags
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Strip the tags from an episode file name.
+     * @param fileName file name to strip of tags
+     * @return stripped file name. If no tags were found, fileName is returned
+     */
+    public String strip(String fileName) {
+        return strip(fileName, (int[]) null);
+    }
+
+    /**
+     * Strip the tags from an episode file name and record the release tags
+     * of the stripped tags in the same scan.
+     * @param fileName file name to strip of tags
+     * @param releaseTags array whose first element is set to the packed
+     * {@link ReleaseTags} of the stripped tags, or null if not needed
+     * @return stripped file name. If no tags were found, fileName is returned
+     */
+    public String strip(String fileName, int[] releaseTags) {
+        int length = fileName.length();
+        StringBuilder sb = null;
+        int copyFrom = 0;
+        int bits = 0;
+        int i = 0;
+        while(i < length) {
+            long match = matchTag(fileName, i, length);
+            int end = (int) match;
+            if(end > i) {
+                bits = ReleaseTags.merge(bits, tagBits[(int) (match >>> 32)]);
+                if(sb == null) {
+                    sb = new StringBuilder(length);
+                }
+                sb.append(fileName, copyFrom, i);
+                copyFrom = i = end;
+            } else {
+                i++;
+            }
+        }
+        if(releaseTags != null) {
+            releaseTags[0] = bits;
+        }
+        if(sb == null) {
+            return fileName;
+        }
+        return sb.append(fileName, copyFrom, length).toString();
+    }
+
+    /**
+     * Strip the tags from an episode file name, appending the stripped name to
+     * the given buffer. The buffer is not cleared first so it can be reused
+     * by the caller with {@link StringBuilder#setLength(int)}.
+     * @param fileName file name to strip of tags
+     * @param out buffer to append the stripped file name to
+     * @return out
+     */
+    public StringBuilder strip(CharSequence fileName, StringBuilder out) {
+        int length = fileName.length();
+        int copyFrom = 0;
+        int i = 0;
+        while(i < length) {
+            int end = (int) matchTag(fileName, i, length);
+            if(end > i) {
+                out.append(fileName, copyFrom, i);
+                copyFrom = i = end;
+            } else {
+                i++;
+            }
+        }
+        return out.append(fileName, copyFrom, length);
+    }
+
+    /**
+     * Find the longest tag starting at index start
+     * @return end index (exclusive) of the longest tag or -1 if not found in
+     * the low 32 bits, and the terminal state of the tag in the high 32 bits
+     */
+    private long matchTag(CharSequence s, int start, int length) {
+        int state = 0;
+        int last = -1;
+        int lastState = 0;
+        for(int i = start; i < length; i++) {
+            char c = s.charAt(i);
+            if(skipSeparators[state] && isSeparator(c)) {
+                continue;
+            }
+            int cls = c < 128 ? charClass[c] : 0;
+            if(cls == 0 || (state = transitions[state * alphabetSize + cls]) == 0) {
+                break;
+            }
+            if(terminal[state]) {
+                last = i + 1;
+                lastState = state;
+            }
+        }
+        return ((long) lastState << 32) | (last & 0xFFFFFFFFL);
+    }
+
+    private static String validate(String tag) {
+        if(tag == null || tag.isEmpty() || isSeparator(tag.charAt(0))) {
+            throw new IllegalArgumentException("Invalid tag: " + tag);
+        }
+        for(int i = 0; i < tag.length(); i++) {
+            if(tag.charAt(i) >= 128) {
+                throw new IllegalArgumentException("Invalid tag: " + tag);
+            }
+        }
+        return tag.toLowerCase();
+    }
+
+    /**
+     * Trie node used whilst building the transition table
+     */
+    private static class TrieNode {
+
+        private TrieNode[] children;
+        private boolean isTerminal;
+        private boolean isSkipSeparators;
+        private int tagBits;
+
+        /**
+         * Insert the tag into the trie
+         * @return number of nodes created
+         */
+        private int insert(String tag, byte[] charClass, int alphabetSize, int releaseTags) {
+            int created = 0;
+            TrieNode node = this;
+            for(int i = 0; i < tag.length(); i++) {
+                char c = tag.charAt(i);
+                if(isSeparator(c)) {
+                    node.isSkipSeparators = true;
+                    continue;
+                }
+                if(node.children == null) {
+                    node.children = new TrieNode[alphabetSize];
+                }
+                int cls = charClass[c];
+                if(node.children[cls] == null) {
+                    node.children[cls] = new TrieNode();
+                    created++;
+                }
+                node = node.children[cls];
+            }
+            node.isTerminal = true;
+            node.tagBits = releaseTags;
+            return created;
+        }
+
+        /**
+         * Write this node and its children into the transition table
+         * @return state number of this node
+         */
+        private int compile(TagStripper t, int[] nextState) {
+            int state = nextState[0]++;
+            t.terminal[state] = isTerminal;
+            t.skipSeparators[state] = isSkipSeparators;
+            t.tagBits[state] = tagBits;
+            if(children != null) {
+                for(int cls = 1; cls < children.length; cls++) {
+                    if(children[cls] != null) {
+                        t.transitions[state * t.alphabetSize + cls] = children[cls].compile(t, nextState);
+                    }
+                }
+            }
+            return state;
+        }
+
+    }
+
+}
@@ -0,0 +1,537 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.path;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import uk.co.samicemalone.libtv.VideoFilter;
+import uk.co.samicemalone.libtv.matcher.EpisodeMatcher;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeNumbers;
+import uk.co.samicemalone.libtv.model.TVMap;
+
+/**
+ * LibraryIndex is a {@link TVMap} of the episodes in one or more
+ * {@link StandardTVPath} sources that is kept current by a
+ * {@link WatchService} rather than by rescanning the sources.
+ * <p>
+ * When started, each source is scanned once and its root, show directories
+ * and season directories are registered with the WatchService. Created,
+ * deleted and renamed files and directories are then applied to the TVMap
+ * incrementally. Events are coalesced into batches: a batch is applied once
+ * no event has been received for the batch delay, so a burst of events such
+ * as a season being moved into the library only updates the TVMap once per
+ * path. If events are lost because the WatchService overflowed, only the
+ * directory that overflowed is rescanned. If a changed path cannot be read
+ * or matched, e.g. because its directory changed while it was listed, the
+ * directory containing it is rescanned.
+ * <p>
+ * If more than one file contains an episode, e.g. a 720p and a 1080p copy,
+ * the TVMap contains the first file indexed. Once that file is removed, the
+ * episode is mapped to the next file that contains it.
+ * <p>
+ * Each file system of the sources has its own WatchService and watch thread.
+ * Every watched directory uses a watch of the operating system, e.g. an
+ * inotify watch on Linux, which is limited per user (fs.inotify.max_user_watches).
+ * If a directory cannot be registered when the index is started,
+ * {@link #start()} fails. A directory created later that cannot be
+ * registered is not indexed until it is rescanned.
+ * <p>
+ * The TVMap is updated while holding its lock, so it must be read while
+ * synchronized on the map returned by {@link #getTVMap()}.
+ * @author Sam Malone
+ */
+public class LibraryIndex implements Closeable {
+    
+    /**
+     * Default time to wait for further events before a batch is applied
+     */
+    public static final long DEFAULT_BATCH_DELAY = 250;
+    
+    private static final int ROOT = 0;
+    private static final int SHOW = 1;
+    private static final int SEASON = 2;
+    
+    /**
+     * Maximum number of batch delays to wait before applying a batch when
+     * events are received continuously
+     */
+    private static final int MAX_BATCH_DELAYS = 20;
+    
+    /**
+     * Episode number of a season of a show
+     */
+    private static final class EpisodeKey {
+        
+        private final int show;
+        private final int season;
+        private final int episode;
+
+        private EpisodeKey(int show, int season, int episode) {
+            this.show = show;
+            this.season = season;
+            this.episode = episode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof EpisodeKey)) {
+                return false;
+            }
+            EpisodeKey other = (EpisodeKey) o;
+            return show == other.show && season == other.season && episode == other.episode;
+        }
+
+        @Override
+        public int hashCode() {
+            return (show * 31 + season) * 31 + episode;
+        }
+        
+    }
+    
+    /**
+     * Watched directory and its depth from the source root
+     */
+    private static final class Watched {
+        
+        private final Path dir;
+        private final int depth;
+
+        private Watched(Path dir, int depth) {
+            this.dir = dir;
+            this.depth = depth;
+        }
+        
+    }
+    
+    private final List<StandardTVPath> sources;
+    private final EpisodeMatcher matcher;
+    private final long batchDelayMillis;
+    private final VideoFilter videoFilter = new VideoFilter();
+    private final TVMap tvMap = new TVMap();
+    private final Map<Path, EpisodeMatch> episodes = new HashMap<>();
+    private final Map<EpisodeKey, List<EpisodeMatch>> owners = new HashMap<>();
+    private final Map<WatchKey, Watched> keys = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> dirs = new ConcurrentHashMap<>();
+    private final Map<FileSystem, WatchService> watchServices = new ConcurrentHashMap<>();
+    private final List<Thread> watchThreads = new ArrayList<>();
+    private boolean isStarted;
+
+    /**
+     * Create a new LibraryIndex of the given sources using the default
+     * batch delay
+     * @param sources sources to index
+     * @param matcher matcher used to match episode files
+     */
+    public LibraryIndex(Collection<StandardTVPath> sources, EpisodeMatcher matcher) {
+        this(sources, matcher, DEFAULT_BATCH_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create a new LibraryIndex of the given sources
+     * @param sources sources to index
+     * @param matcher matcher used to match episode files
+     * @param batchDelay time to wait for further events before applying a
+     * batch of events
+     * @param unit unit of batchDelay
+     * @throws IllegalArgumentException if batchDelay is negative
+     */
+    public LibraryIndex(Collection<StandardTVPath> sources, EpisodeMatcher matcher, long batchDelay, TimeUnit unit) {
+        if(batchDelay < 0) {
+            throw new IllegalArgumentException("batchDelay cannot be negative");
+        }
+        this.sources = new ArrayList<>(sources);
+        this.matcher = matcher;
+        this.batchDelayMillis = unit.toMillis(batchDelay);
+    }
+    
+    /**
+     * Scan the sources, register their directories with a WatchService for
+     * each file system and start watching for changes on a daemon thread per
+     * WatchService. Sources that do not exist are ignored.
+     * @throws IOException if unable to create a WatchService, to register a
+     * directory or to scan a source. The index is closed.
+     * @throws IllegalStateException if the index has already been started
+     */
+    public synchronized void start() throws IOException {
+        if(isStarted) {
+            throw new IllegalStateException("LibraryIndex has already been started");
+        }
+        isStarted = true;
+        try {
+            synchronized(tvMap) {
+                for(StandardTVPath source : sources) {
+                    Path root = source.getShowsPath();
+                    if(!Files.isDirectory(root)) {
+                        continue;
+                    }
+                    if(!watchServices.containsKey(root.getFileSystem())) {
+                        watchServices.put(root.getFileSystem(), root.getFileSystem().newWatchService());
+                    }
+                    scan(root, ROOT);
+                }
+            }
+        } catch(IOException | RuntimeException ex) {
+            close();
+            throw ex;
+        }
+        for(final WatchService watchService : watchServices.values()) {
+            Thread watchThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    watch(watchService);
+                }
+            }, "LibraryIndex");
+            watchThread.setDaemon(true);
+            watchThread.start();
+            watchThreads.add(watchThread);
+        }
+    }
+    
+    /**
+     * Stop watching the sources. The TVMap is no longer updated.
+     * @throws IOException if unable to close a WatchService
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for(Thread watchThread : watchThreads) {
+            watchThread.interrupt();
+        }
+        watchThreads.clear();
+        IOException closeException = null;
+        for(WatchService watchService : watchServices.values()) {
+            try {
+                watchService.close();
+            } catch(IOException ex) {
+                closeException = ex;
+            }
+        }
+        watchServices.clear();
+        keys.clear();
+        dirs.clear();
+        if(closeException != null) {
+            throw closeException;
+        }
+    }
+    
+    /**
+     * Get the TVMap of the indexed episodes. The map is updated by the watch
+     * thread, so reads must be synchronized on the returned map.
+     * @return TVMap
+     */
+    public TVMap getTVMap() {
+        return tvMap;
+    }
+    
+    /**
+     * Get the number of episode files indexed
+     * @return number of episode files
+     */
+    public int size() {
+        synchronized(tvMap) {
+            return episodes.size();
+        }
+    }
+    
+    /**
+     * Remove the episodes indexed in the given watched directory and scan it
+     * again. This is done automatically if the WatchService overflows.
+     * @param dir source root, show directory or season directory
+     * @throws IOException if unable to list the directory
+     * @throws IllegalArgumentException if the directory is not watched
+     */
+    public void rescan(Path dir) throws IOException {
+        Watched watched = getWatched(dir);
+        if(watched == null) {
+            throw new IllegalArgumentException(dir + " is not watched");
+        }
+        synchronized(tvMap) {
+            rescan(watched);
+        }
+    }
+    
+    private Watched getWatched(Path dir) {
+        WatchKey key = dirs.get(dir);
+        return key == null ? null : keys.get(key);
+    }
+    
+    private void rescan(Watched watched) throws IOException {
+        remove(watched.dir, false);
+        if(Files.isDirectory(watched.dir)) {
+            scan(watched.dir, watched.depth);
+        }
+    }
+    
+    /**
+     * Take the events from the WatchService until it is closed, applying
+     * them in batches
+     */
+    private void watch(WatchService watchService) {
+        Map<Path, Watched> changed = new LinkedHashMap<>();
+        Set<Watched> overflowed = new LinkedHashSet<>();
+        try {
+            while(!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchDelayMillis * MAX_BATCH_DELAYS);
+                do {
+                    poll(key, changed, overflowed);
+                } while(System.nanoTime() < deadline && (key = watchService.poll(batchDelayMillis, TimeUnit.MILLISECONDS)) != null);
+                synchronized(tvMap) {
+                    apply(changed, overflowed);
+                }
+                changed.clear();
+                overflowed.clear();
+            }
+        } catch(InterruptedException | ClosedWatchServiceException ex) {
+            // index closed
+        }
+    }
+    
+    /**
+     * Add the events of the watch key to the batch. Each path is only
+     * recorded once as its state is read when the batch is applied.
+     */
+    private void poll(WatchKey key, Map<Path, Watched> changed, Set<Watched> overflowed) {
+        Watched watched = keys.get(key);
+        for(WatchEvent<?> event : key.pollEvents()) {
+            if(watched == null) {
+                continue;
+            }
+            if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflowed.add(watched);
+            } else {
+                changed.put(watched.dir.resolve((Path) event.context()), watched);
+            }
+        }
+        if(!key.reset() && watched != null) {
+            keys.remove(key);
+            dirs.remove(watched.dir, key);
+        }
+    }
+    
+    /**
+     * Apply a batch of events. The directory of a path that cannot be read is
+     * rescanned once the other paths have been applied, so an error never
+     * stops the watch thread.
+     */
+    private void apply(Map<Path, Watched> changed, Set<Watched> overflowed) {
+        Set<Watched> rescans = new LinkedHashSet<>(overflowed);
+        for(Map.Entry<Path, Watched> entry : changed.entrySet()) {
+            Path path = entry.getKey();
+            Watched parent = entry.getValue();
+            if(overflowed.contains(parent)) {
+                continue;
+            }
+            try {
+                remove(path, true);
+                if(Files.isDirectory(path)) {
+                    if(isWatchable(path, parent.depth + 1)) {
+                        scan(path, parent.depth + 1);
+                    }
+                } else if(parent.depth == SEASON && isVideo(path) && Files.isRegularFile(path)) {
+                    add(path);
+                }
+            } catch(IOException | RuntimeException ex) {
+                rescans.add(parent);
+            }
+        }
+        for(Watched watched : rescans) {
+            try {
+                rescan(watched);
+            } catch(IOException | RuntimeException ex) {
+                // directory removed or unreadable, rescanned on its next event
+            }
+        }
+    }
+    
+    /**
+     * Register the directory and index the episodes it contains
+     * @param dir directory to scan
+     * @param depth depth of the directory from the source root
+     */
+    private void scan(Path dir, int depth) throws IOException {
+        WatchService watchService = watchServices.get(dir.getFileSystem());
+        if(watchService == null) {
+            throw new ClosedWatchServiceException();
+        }
+        WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+        keys.put(key, new Watched(dir, depth));
+        dirs.put(dir, key);
+        try(DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for(Path path : stream) {
+                if(Files.isDirectory(path)) {
+                    if(isWatchable(path, depth + 1)) {
+                        scan(path, depth + 1);
+                    }
+                } else if(depth == SEASON && isVideo(path)) {
+                    add(path);
+                }
+            }
+        } catch(DirectoryIteratorException ex) {
+            throw ex.getCause();
+        }
+    }
+    
+    private boolean isWatchable(Path dir, int depth) {
+        if(depth == SHOW) {
+            return true;
+        }
+        return depth == SEASON && StandardTVElementMatcher.matchSeason(dir.getFileName().toString()) != EpisodeMatch.NO_SEASON;
+    }
+    
+    private boolean isVideo(Path path) {
+        try {
+            return videoFilter.accept(path);
+        } catch(IOException ex) {
+            return false;
+        }
+    }
+    
+    /**
+     * Match the episode file and add it to the TVMap. The show and season
+     * are taken from the show and season directories if not matched.
+     */
+    private void add(Path path) {
+        EpisodeMatch match;
+        try {
+            match = matcher.match(path);
+        } catch(RuntimeException ex) {
+            // a file the matcher cannot handle is not indexed
+            return;
+        }
+        if(match == null) {
+            return;
+        }
+        Path seasonDir = path.getParent();
+        if(match.getShow() == null) {
+            match.setShow(seasonDir.getParent().getFileName().toString());
+        }
+        if(match.getSeason() == EpisodeMatch.NO_SEASON) {
+            match.setSeason(StandardTVElementMatcher.matchSeason(seasonDir.getFileName().toString()));
+        }
+        EpisodeMatch previous = episodes.put(path, match);
+        if(previous != null) {
+            removeFromMap(previous);
+        }
+        EpisodeNumbers numbers = match.getEpisodeNumbers();
+        for(int i = 0; i < numbers.size(); i++) {
+            EpisodeKey key = new EpisodeKey(match.getShowId(), match.getSeason(), numbers.getInt(i));
+            List<EpisodeMatch> files = owners.get(key);
+            if(files == null) {
+                files = new ArrayList<>(1);
+                owners.put(key, files);
+            }
+            files.add(match);
+        }
+        tvMap.addEpisode(match);
+    }
+    
+    /**
+     * Remove the episodes indexed at or below the given path
+     * @param path file or directory
+     * @param inclusive true to stop watching the path if it is a directory,
+     * otherwise only directories below the path are no longer watched
+     */
+    private void remove(Path path, boolean inclusive) {
+        EpisodeMatch removed = episodes.remove(path);
+        if(removed != null) {
+            removeFromMap(removed);
+            return;
+        }
+        if(!dirs.containsKey(path)) {
+            return;
+        }
+        Iterator<Map.Entry<Path, EpisodeMatch>> it = episodes.entrySet().iterator();
+        while(it.hasNext()) {
+            Map.Entry<Path, EpisodeMatch> entry = it.next();
+            if(entry.getKey().startsWith(path)) {
+                it.remove();
+                removeFromMap(entry.getValue());
+            }
+        }
+        Iterator<Map.Entry<Path, WatchKey>> dirIt = dirs.entrySet().iterator();
+        while(dirIt.hasNext()) {
+            Map.Entry<Path, WatchKey> entry = dirIt.next();
+            if(entry.getKey().startsWith(path) && (inclusive || !entry.getKey().equals(path))) {
+                entry.getValue().cancel();
+                keys.remove(entry.getValue());
+                dirIt.remove();
+            }
+        }
+    }
+    
+    /**
+     * Remove each episode number of the episode file from the TVMap. An
+     * episode number that is mapped to the file is mapped to the next
+     * indexed file that contains it, if any.
+     */
+    private void removeFromMap(EpisodeMatch match) {
+        EpisodeNumbers numbers = match.getEpisodeNumbers();
+        for(int i = 0; i < numbers.size(); i++) {
+            int episode = numbers.getInt(i);
+            EpisodeKey key = new EpisodeKey(match.getShowId(), match.getSeason(), episode);
+            List<EpisodeMatch> files = owners.get(key);
+            if(files == null) {
+                continue;
+            }
+            files.removeIf(file -> file == match);
+            if(files.isEmpty()) {
+                owners.remove(key);
+            }
+            if(tvMap.getEpisode(match.getShow(), match.getSeason(), episode) == match) {
+                tvMap.removeEpisode(match.getShow(), match.getSeason(), episode);
+                if(!files.isEmpty()) {
+                    tvMap.addEpisode(files.get(0));
+                }
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,216 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.path;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+
+/**
+ * SeasonCache caches the season directories of each show directory. The
+ * season directories of a show are found by listing the show directory once
+ * and matching the season number of each directory with
+ * {@link StandardTVElementMatcher#matchSeason(java.lang.String)}, rather
+ * than checking whether a directory exists for each {@link StandardTVPath.SeasonFormat}.
+ * <p>
+ * The seasons of a show are listed again once the last modified time of the
+ * show directory changes, i.e. when a season directory is created, deleted
+ * or renamed. A file system with coarse timestamps (FAT, HFS+, some NFS
+ * servers) may not change the last modified time if a directory is created
+ * in the same tick as the listing, so the seasons are also listed again
+ * while the listing is within {@link #TIMESTAMP_GRANULARITY} of the last
+ * modified time. If more than one directory matches a season, a directory
+ * named exactly as a SeasonFormat is preferred, in the order the
+ * SeasonFormats are declared.
+ * <p>
+ * At most maxShows show directories are cached. The cache is cleared once
+ * it is full.
+ * <p>
+ * SeasonCache is thread safe.
+ * @author Sam Malone
+ */
+public class SeasonCache {
+    
+    /**
+     * Default maximum number of show directories to cache
+     */
+    public static final int DEFAULT_MAX_SHOWS = 4096;
+    
+    /**
+     * Coarsest last modified time granularity of a supported file system in
+     * milliseconds (FAT)
+     */
+    public static final long TIMESTAMP_GRANULARITY = 2000;
+    
+    private static final class Seasons {
+        
+        private final FileTime lastModified;
+        private final long listedAt;
+        private final Map<Integer, Path> paths;
+
+        private Seasons(FileTime lastModified, long listedAt, Map<Integer, Path> paths) {
+            this.lastModified = lastModified;
+            this.listedAt = listedAt;
+            this.paths = paths;
+        }
+        
+        /**
+         * Check if the listing is still valid for the last modified time
+         * given. A listing made within the timestamp granularity of the last
+         * modified time may have missed a directory created in the same tick.
+         */
+        private boolean isValid(FileTime lastModified) {
+            return this.lastModified.equals(lastModified) && listedAt - lastModified.toMillis() > TIMESTAMP_GRANULARITY;
+        }
+        
+    }
+    
+    private final Map<Path, Seasons> cache = new ConcurrentHashMap<>();
+    private final int maxShows;
+
+    /**
+     * Create a new SeasonCache that caches at most {@link #DEFAULT_MAX_SHOWS}
+     * show directories
+     */
+    public SeasonCache() {
+        this(DEFAULT_MAX_SHOWS);
+    }
+
+    /**
+     * Create a new SeasonCache
+     * @param maxShows maximum number of show directories to cache
+     * @throws IllegalArgumentException if maxShows is not positive
+     */
+    public SeasonCache(int maxShows) {
+        if(maxShows <= 0) {
+            throw new IllegalArgumentException("Invalid maximum number of shows: " + maxShows);
+        }
+        this.maxShows = maxShows;
+    }
+    
+    /**
+     * Get the path of the season directory in the given show directory
+     * @param seasonsPath show directory containing the season directories
+     * @param season season number
+     * @return episodes path or null if not found
+     */
+    public Path getEpisodesPath(Path seasonsPath, int season) {
+        return getSeasons(seasonsPath).get(season);
+    }
+    
+    /**
+     * Get the season directories in the given show directory
+     * @param seasonsPath show directory containing the season directories
+     * @return unmodifiable map of season number to episodes path. The map is
+     * empty if the show directory cannot be read.
+     */
+    public Map<Integer, Path> getSeasons(Path seasonsPath) {
+        FileTime lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(seasonsPath);
+        } catch(IOException ex) {
+            cache.remove(seasonsPath);
+            return Collections.emptyMap();
+        }
+        Seasons seasons = cache.get(seasonsPath);
+        if(seasons == null || !seasons.isValid(lastModified)) {
+            long listedAt = System.currentTimeMillis();
+            seasons = new Seasons(lastModified, listedAt, listSeasons(seasonsPath));
+            if(cache.size() >= maxShows && !cache.containsKey(seasonsPath)) {
+                cache.clear();
+            }
+            cache.put(seasonsPath, seasons);
+        }
+        return seasons.paths;
+    }
+    
+    /**
+     * Remove the cached seasons of the given show directory
+     * @param seasonsPath show directory
+     */
+    public void invalidate(Path seasonsPath) {
+        cache.remove(seasonsPath);
+    }
+    
+    /**
+     * Remove the cached seasons of every show directory
+     */
+    public void clear() {
+        cache.clear();
+    }
+    
+    /**
+     * Get the number of show directories cached
+     * @return cache size
+     */
+    public int size() {
+        return cache.size();
+    }
+    
+    private static Map<Integer, Path> listSeasons(Path seasonsPath) {
+        Map<Integer, Path> seasons = new HashMap<>();
+        Map<Integer, Integer> ranks = new HashMap<>();
+        try(DirectoryStream<Path> stream = Files.newDirectoryStream(seasonsPath, Files::isDirectory)) {
+            for(Path seasonDir : stream) {
+                String name = seasonDir.getFileName().toString();
+                int season = StandardTVElementMatcher.matchSeason(name);
+                if(season == EpisodeMatch.NO_SEASON) {
+                    continue;
+                }
+                int rank = rank(name, season);
+                Integer previous = ranks.get(season);
+                if(previous == null || rank < previous) {
+                    seasons.put(season, seasonDir);
+                    ranks.put(season, rank);
+                }
+            }
+        } catch(IOException ex) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(seasons);
+    }
+    
+    private static int rank(String name, int season) {
+        StandardTVPath.SeasonFormat[] formats = StandardTVPath.SeasonFormat.values();
+        for(int i = 0; i < formats.length; i++) {
+            if(formats[i].format(season).equals(name)) {
+                return i;
+            }
+        }
+        return formats.length;
+    }
+    
+}
@@ -0,0 +1,238 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.path;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import uk.co.samicemalone.libtv.model.ShowDictionary;
+
+/**
+ * ShowIndex is an in memory index of the show directories of one or more
+ * {@link StandardTVPath} sources. Each source root is listed once when the
+ * index is built, and each show directory is keyed by its normalized show
+ * key (see {@link ShowDictionary#getKey(java.lang.String)}), so finding the
+ * seasons path of a show is a single hash lookup rather than a stat of the
+ * show directory in every source.
+ * <p>
+ * If more than one source contains a show, the show directory in the first
+ * source given is indexed. Shows created after the index was built are not
+ * found until the index is refreshed, either explicitly with
+ * {@link #refresh()} or once the time to live of the index has elapsed.
+ * <p>
+ * ShowIndex is thread safe. Once the index has been built, a lookup that
+ * finds the time to live has elapsed starts the refresh on a background
+ * thread and is served from the previous index, so lookups never wait for
+ * the sources to be listed. Only a lookup that finds the index has never
+ * been built lists the sources on the calling thread.
+ * @author Sam Malone
+ */
+public class ShowIndex {
+    
+    /**
+     * Indexed show directory
+     */
+    public static final class Entry {
+        
+        private final StandardTVPath source;
+        private final Path seasonsPath;
+
+        private Entry(StandardTVPath source, Path seasonsPath) {
+            this.source = source;
+            this.seasonsPath = seasonsPath;
+        }
+        
+        /**
+         * Get the source containing the show directory
+         * @return source
+         */
+        public StandardTVPath getSource() {
+            return source;
+        }
+        
+        /**
+         * Get the show directory
+         * @return seasons path
+         */
+        public Path getSeasonsPath() {
+            return seasonsPath;
+        }
+        
+        /**
+         * Get the name of the show directory
+         * @return show directory name
+         */
+        public String getShowDirectory() {
+            return seasonsPath.getFileName().toString();
+        }
+        
+    }
+    
+    private final List<StandardTVPath> sources;
+    private final long ttlNanos;
+    private volatile Map<String, Entry> shows = Collections.emptyMap();
+    private volatile long builtAt;
+    private volatile boolean isBuilt;
+    private boolean isRefreshing;
+
+    /**
+     * Create a new ShowIndex of the given sources that is only refreshed
+     * explicitly. The index is empty until {@link #refresh()} is called.
+     * @param sources sources to index in order of precedence
+     */
+    public ShowIndex(Collection<StandardTVPath> sources) {
+        this(sources, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create a new ShowIndex of the given sources that is refreshed in the
+     * background by the first lookup after the time to live has elapsed
+     * since it was last built. The index is built by the first lookup if
+     * {@link #refresh()} has not been called.
+     * @param sources sources to index in order of precedence
+     * @param ttl time to live of the index or 0 to only refresh explicitly
+     * @param unit unit of ttl
+     * @throws IllegalArgumentException if ttl is negative
+     */
+    public ShowIndex(Collection<StandardTVPath> sources, long ttl, TimeUnit unit) {
+        if(ttl < 0) {
+            throw new IllegalArgumentException("ttl cannot be negative");
+        }
+        this.sources = new ArrayList<>(sources);
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+    
+    /**
+     * Rebuild the index by listing the root of each source once. Lookups use
+     * the previous index until the new index has been built.
+     * @throws IOException if unable to list a source root
+     */
+    public void refresh() throws IOException {
+        Map<String, Entry> index = new HashMap<>();
+        ShowDictionary dictionary = ShowDictionary.getDefault();
+        for(StandardTVPath source : sources) {
+            Path root = source.getShowsPath();
+            if(!Files.isDirectory(root)) {
+                continue;
+            }
+            try(DirectoryStream<Path> stream = Files.newDirectoryStream(root, Files::isDirectory)) {
+                for(Path showDir : stream) {
+                    String key = dictionary.getKey(showDir.getFileName().toString());
+                    index.putIfAbsent(key, new Entry(source, showDir));
+                }
+            } catch(DirectoryIteratorException ex) {
+                throw ex.getCause();
+            }
+        }
+        shows = index;
+        builtAt = System.nanoTime();
+        isBuilt = true;
+    }
+    
+    /**
+     * Get the indexed show directory of the given show. If the time to live
+     * has elapsed, a background refresh is started and the previous index is
+     * used until it completes. If the refresh fails, the previous index is
+     * used until the time to live elapses again.
+     * @param show TV show
+     * @return Entry or null if the show is not indexed
+     */
+    public Entry get(String show) {
+        if(isExpired()) {
+            refreshExpired();
+        }
+        return shows.get(ShowDictionary.getDefault().getKey(show));
+    }
+    
+    /**
+     * Get the seasons path of the given show
+     * @param show TV show
+     * @return seasons path or null if the show is not indexed
+     */
+    public Path getSeasonsPath(String show) {
+        Entry entry = get(show);
+        return entry == null ? null : entry.seasonsPath;
+    }
+    
+    /**
+     * Get the number of shows indexed
+     * @return number of shows
+     */
+    public int size() {
+        return shows.size();
+    }
+    
+    private boolean isExpired() {
+        return ttlNanos > 0 && (!isBuilt || System.nanoTime() - builtAt > ttlNanos);
+    }
+    
+    /**
+     * Refresh the index unless another thread is already refreshing it. The
+     * index is built on the calling thread if it has never been built,
+     * otherwise it is refreshed on a background thread.
+     */
+    private void refreshExpired() {
+        synchronized(this) {
+            if(isRefreshing || !isExpired()) {
+                return;
+            }
+            isRefreshing = true;
+        }
+        if(!isBuilt) {
+            refreshQuietly();
+            return;
+        }
+        Thread thread = new Thread(this::refreshQuietly, "ShowIndex refresh");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch(IOException ex) {
+            builtAt = System.nanoTime();
+            isBuilt = true;
+        } finally {
+            synchronized(this) {
+                isRefreshing = false;
+            }
+        }
+    }
+    
+}
@@ -33,6 +33,7 @@ import java.nio.file.Path;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.util.StringUtil;
 
 /**
  * StandardTVElementMatcher is an implementation of TVElementMatcher used to 
@@ -79,7 +80,8 @@ public class StandardTVElementMatcher implements TVElementMatcher {
     public static int matchSeason(String directoryName) {
         Matcher m = SEASON_PATTERN.matcher(directoryName);
         if(m.find()) {
-            return Integer.valueOf(m.group(1));
+            int season = StringUtil.parseInt(m.group(1));
+            return season < 0 ? EpisodeMatch.NO_SEASON : season;
         }
         return EpisodeMatch.NO_SEASON;
     }
@@ -30,23 +30,29 @@
 package uk.co.samicemalone.libtv.matcher.path;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import uk.co.samicemalone.libtv.exception.SeasonsPathNotFoundException;
 
 /**
  * StandardTVLibrary models a standard TV library structure. It consists of the
  * specified TV source directories that follow the directory structure of
  * {@link StandardTVPath}.
+ * <p>
+ * The show directories of the sources can be indexed in memory with
+ * {@link #indexShows(long, java.util.concurrent.TimeUnit)} so that finding
+ * the seasons path of a show does not stat the show directory in each source.
  * @author Sam Malone
  */
 public class StandardTVLibrary extends TVPath {
     
     private final Map<String, StandardTVPath> sourceMap;
+    private final SeasonCache seasonCache = new SeasonCache();
+    private volatile ShowIndex showIndex;
 
     /**
      * Create a new instance of StandardTVLibrary with the specified collection
@@ -54,14 +60,53 @@ public class StandardTVLibrary extends TVPath {
      * @param tvSources tv sources that use a {@link StandardTVPath} e.g [/mnt/TV, /media/TV]
      */
     public StandardTVLibrary(Collection<String> tvSources) {
-        sourceMap = new HashMap<>(tvSources.size());
+        sourceMap = new LinkedHashMap<>(tvSources.size());
         for(String source : tvSources) {
             sourceMap.put(source, new StandardTVPath(Paths.get(source)));
         }
     }
 
+    /**
+     * Index the show directories of each source by listing each source once.
+     * Once indexed, the seasons path of a show is found with a single lookup
+     * of its normalized show name, see {@link ShowIndex}. Shows added to a
+     * source are found once the index is refreshed.
+     * @param ttl time to live of the index after which the next lookup
+     * refreshes it in the background, or 0 to only refresh with {@link #refreshShowIndex()}
+     * @param unit unit of ttl
+     * @throws IOException if unable to list a source
+     */
+    public void indexShows(long ttl, TimeUnit unit) throws IOException {
+        ShowIndex index = new ShowIndex(sourceMap.values(), ttl, unit);
+        index.refresh();
+        showIndex = index;
+    }
+    
+    /**
+     * Refresh the show index if the shows have been indexed
+     * @throws IOException if unable to list a source
+     */
+    public void refreshShowIndex() throws IOException {
+        ShowIndex index = showIndex;
+        if(index != null) {
+            index.refresh();
+        }
+    }
+    
+    /**
+     * Get the show index
+     * @return ShowIndex or null if the shows have not been indexed
+     */
+    public ShowIndex getShowIndex() {
+        return showIndex;
+    }
+
     @Override
     public Path getSeasonsPath(String show) {
+        ShowIndex index = showIndex;
+        if(index != null) {
+            return index.getSeasonsPath(show);
+        }
         for(StandardTVPath tvPath : sourceMap.values()) {
             Path p = tvPath.getSeasonsPath(show);
             if(p != null) {
@@ -71,18 +116,19 @@ public class StandardTVLibrary extends TVPath {
         return null;
     }
 
+    /**
+     * Get the path to the directory containing the episodes for the given show
+     * and season. The seasons path of the show is found once and its season
+     * directories are listed once and cached until the show directory is
+     * modified, see {@link SeasonCache}.
+     * @param show TV show
+     * @param season season
+     * @return episodes path or null if not found
+     */
     @Override
     public Path getEpisodesPath(String show, int season) {
-        for(StandardTVPath.SeasonFormat seasonFormat : StandardTVPath.SeasonFormat.values()) {
-            Path p = getSeasonsPath(show);
-            if(p != null) {
-                p = p.resolve(seasonFormat.format(season));
-                if(Files.exists(p)) {
-                    return p;
-                }
-            }
-        }
-        return null;
+        Path p = getSeasonsPath(show);
+        return p == null ? null : seasonCache.getEpisodesPath(p, season);
     }
 
     @Override
@@ -103,15 +149,29 @@ public class StandardTVLibrary extends TVPath {
      * @throws SeasonsPathNotFoundException if unable to find the seasons path
      */
     public Path newEpisodesPath(String show, int season, StandardTVPath.SeasonFormat format) throws IOException {
+        ShowIndex index = showIndex;
+        if(index != null) {
+            ShowIndex.Entry entry = index.get(show);
+            if(entry != null) {
+                return newEpisodesPath(entry.getSource(), entry.getShowDirectory(), season);
+            }
+            throw new SeasonsPathNotFoundException(show);
+        }
         for(StandardTVPath tvPath : sourceMap.values()) {
             Path p = tvPath.getSeasonsPath(show);
             if(p != null) {
-                return tvPath.newEpisodesPath(show, season, null);
+                return newEpisodesPath(tvPath, show, season);
             }
         }
         throw new SeasonsPathNotFoundException(show);
     }
     
+    private Path newEpisodesPath(StandardTVPath tvPath, String show, int season) throws IOException {
+        Path episodesPath = tvPath.newEpisodesPath(show, season, null);
+        seasonCache.invalidate(episodesPath.getParent());
+        return episodesPath;
+    }
+    
     /**
      * Create a new directory to store the episodes for the given show and season.
      * It is a wrapper for {@code #newEpisodesPath(show, season, null)}.
@@ -91,6 +91,7 @@ public class StandardTVPath extends TVPath {
     }
     
     private final Path tvRoot;
+    private final SeasonCache seasonCache = new SeasonCache();
     
     /**
      * Create a new instance of StandardTVPath with the given tv directory
@@ -115,18 +116,18 @@ public class StandardTVPath extends TVPath {
         return Files.exists(p) ? p : null;
     }
 
+    /**
+     * Get the path to the directory containing the episodes for the given show
+     * and season. The season directories of the show are listed once and
+     * cached until the show directory is modified, see {@link SeasonCache}.
+     * @param show TV show
+     * @param season season
+     * @return episodes path or null if not found
+     */
     @Override
     public Path getEpisodesPath(String show, int season) {
         Path p = getSeasonsPath(show);
-        if(p != null) {
-            for(SeasonFormat seasonFormat : SeasonFormat.values()) {
-                p = p.resolve(seasonFormat.format(season));
-                if(Files.exists(p)) {
-                    return p;
-                }
-            }
-        }
-        return null;
+        return p == null ? null : seasonCache.getEpisodesPath(p, season);
     }
 
     @Override
@@ -189,7 +190,12 @@ public class StandardTVPath extends TVPath {
         if(p != null) {
             SeasonFormat sf = format == null ? detectSeasonFormat(show) : format;
             Path episodesPath = p.resolve(sf == null ? SeasonFormat.SEASON.format(season) : sf.format(season));
-            return Files.exists(episodesPath) ? episodesPath : Files.createDirectory(episodesPath);
+            if(Files.exists(episodesPath)) {
+                return episodesPath;
+            }
+            Files.createDirectory(episodesPath);
+            seasonCache.invalidate(p);
+            return episodesPath;
         }
         throw new SeasonsPathNotFoundException(show);
     }
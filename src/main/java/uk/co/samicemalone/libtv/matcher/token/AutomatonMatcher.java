@@ -0,0 +1,130 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * AutomatonMatcher combines the SE, X, word, no delimiter and part formats
+ * into a single matcher. The tokens of a file name are scanned once, left to
+ * right, and each token moves the scan into the formats it can start, so the
+ * formats present are known after a single pass without backtracking. The
+ * scan stops as soon as the highest priority format (SE) is found.
+ * <p>
+ * The episode is then matched by the token matcher of the highest priority
+ * format found, so the result is identical to checking {@link TokenSEDelimitedMatcher},
+ * {@link TokenXDelimitedMatcher}, {@link TokenWordDelimitedMatcher},
+ * {@link TokenNoDelimiterMatcher} and {@link TokenPartMatcher} in order, without
+ * running the matchers of the formats that are not present.
+ * @author Sam Malone
+ */
+public class AutomatonMatcher extends TokenMatcher {
+
+    /** format bits in priority order **/
+    private static final int SE = 1;
+    private static final int X = 1 << 1;
+    private static final int WORD = 1 << 2;
+    private static final int NO_DELIMITER = 1 << 3;
+    private static final int PART = 1 << 4;
+
+    private final TokenMatcher[] formats;
+
+    public AutomatonMatcher(TVMatcherOptions options) {
+        super(options);
+        formats = new TokenMatcher[] {
+            new TokenSEDelimitedMatcher(options),
+            new TokenXDelimitedMatcher(options),
+            new TokenWordDelimitedMatcher(options),
+            new TokenNoDelimiterMatcher(options),
+            new TokenPartMatcher(options)
+        };
+    }
+
+    @Override
+    public EpisodeMatch match(EpisodeName episodeName, FilenameTokens tokens) {
+        int found = scan(tokens);
+        for(int i = 0; found != 0; i++, found >>>= 1) {
+            if((found & 1) != 0) {
+                EpisodeMatch m = formats[i].match(episodeName, tokens);
+                if(m != null) {
+                    return m;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scan the tokens once to find the formats present
+     * @return format bits of each format found
+     */
+    static int scan(FilenameTokens tokens) {
+        CharSequence name = tokens.getText();
+        int[] m = new int[4];
+        int found = 0;
+        for(int i = 0; i < tokens.size(); i++) {
+            int start = tokens.getStart(i);
+            int end = tokens.getEnd(i);
+            switch(tokens.getType(i)) {
+                case DIGITS:
+                    if(isLetter(name, start - 1, 's') && TokenSEDelimitedMatcher.episodeStart(name, end) >= 0) {
+                        return found | SE;
+                    }
+                    if((found & X) == 0 && TokenXDelimitedMatcher.episodeStart(name, end) >= 0) {
+                        found |= X;
+                    }
+                    if((found & NO_DELIMITER) == 0 && TokenNoDelimiterMatcher.isSeasonEpisode(tokens, i, m)) {
+                        found |= NO_DELIMITER;
+                    }
+                    break;
+                case SEPARATOR:
+                    if((found & WORD) == 0 && TokenWordDelimitedMatcher.matchWord(name, start, m)) {
+                        found |= WORD;
+                    }
+                    break;
+                case LETTERS:
+                    for(int j = start; j < end && (found & (WORD | PART)) != (WORD | PART); j++) {
+                        if((found & WORD) == 0 && isLetter(name, j, 's') && TokenWordDelimitedMatcher.matchWord(name, j, m)) {
+                            found |= WORD;
+                        }
+                        if((found & PART) == 0 && isLetter(name, j, 'p') && TokenPartMatcher.matchPart(name, j, m)) {
+                            found |= PART;
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return found;
+    }
+
+}
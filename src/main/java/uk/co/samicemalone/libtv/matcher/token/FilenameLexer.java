@@ -0,0 +1,119 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import uk.co.samicemalone.libtv.matcher.TagStripper;
+import uk.co.samicemalone.libtv.matcher.token.FilenameTokens.Type;
+
+/**
+ * FilenameLexer tokenizes an episode file name in a single pass into runs of
+ * separators (_-. +), digits, letters, roman numerals and any other characters.
+ * <p>
+ * For example, {@code the.league.s01e02.mkv} is tokenized into:
+ * LETTERS(the) SEPARATOR(.) LETTERS(league) SEPARATOR(.) LETTERS(s) DIGITS(01)
+ * LETTERS(e) DIGITS(02) SEPARATOR(.) LETTERS(mkv)
+ * @author Sam Malone
+ */
+public final class FilenameLexer {
+
+    private FilenameLexer() {
+
+    }
+
+    /**
+     * Tokenize the file name given
+     * @param fileName file name
+     * @return file name tokens
+     */
+    public static FilenameTokens lex(CharSequence fileName) {
+        return lex(fileName, fileName);
+    }
+
+    /**
+     * Tokenize the filtered file name given. The unfiltered file name will be
+     * tokenized on demand by {@link FilenameTokens#getUnfiltered()}
+     * @param unfilteredFileName file name before common tags were stripped
+     * @param filteredFileName file name after common tags were stripped
+     * @return filtered file name tokens
+     */
+    public static FilenameTokens lex(CharSequence unfilteredFileName, CharSequence filteredFileName) {
+        int length = filteredFileName.length();
+        Type[] types = new Type[length];
+        int[] starts = new int[length];
+        int[] ends = new int[length];
+        int size = 0;
+        int i = 0;
+        while(i < length) {
+            Type type = typeOf(filteredFileName.charAt(i));
+            int start = i;
+            boolean isRoman = type == Type.LETTERS;
+            while(i < length) {
+                char c = filteredFileName.charAt(i);
+                if(typeOf(c) != type) {
+                    break;
+                }
+                if(isRoman && !isRomanNumeral(c)) {
+                    isRoman = false;
+                }
+                i++;
+            }
+            types[size] = isRoman ? Type.ROMAN_NUMERAL : type;
+            starts[size] = start;
+            ends[size++] = i;
+        }
+        return new FilenameTokens(filteredFileName, unfilteredFileName, types, starts, ends, size);
+    }
+
+    /**
+     * Check if the character given is a roman numeral: MDCLXVI (case insensitive)
+     * @param c character
+     * @return true if c is a roman numeral
+     */
+    public static boolean isRomanNumeral(char c) {
+        switch(c) {
+            case 'M': case 'D': case 'C': case 'L': case 'X': case 'V': case 'I':
+            case 'm': case 'd': case 'c': case 'l': case 'x': case 'v': case 'i':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Type typeOf(char c) {
+        if(c >= '0' && c <= '9') {
+            return Type.DIGITS;
+        } else if(TagStripper.isSeparator(c)) {
+            return Type.SEPARATOR;
+        } else if(Character.isLetter(c)) {
+            return Type.LETTERS;
+        }
+        return Type.OTHER;
+    }
+
+}
@@ -0,0 +1,197 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+/**
+ * FilenameTokens is the result of tokenizing a file name with
+ * {@link FilenameLexer}. Each token is a maximal run of characters of the same
+ * {@link Type} and is described by its type and its start and end index in
+ * the file name.
+ * <p>
+ * The tokens of the unfiltered file name (the file name before common tags
+ * were stripped) are available from {@link #getUnfiltered()}. They are only
+ * tokenized if requested. Instances are not thread safe.
+ * @author Sam Malone
+ */
+public final class FilenameTokens {
+
+    /**
+     * Type of a token
+     */
+    public static enum Type {
+        /** A run of the separators _-. + **/
+        SEPARATOR,
+        /** A run of the digits 0-9 **/
+        DIGITS,
+        /** A run of letters **/
+        LETTERS,
+        /** A run of letters that only contains the roman numerals MDCLXVI **/
+        ROMAN_NUMERAL,
+        /** A run of any other characters e.g. brackets **/
+        OTHER
+    }
+
+    private final CharSequence text;
+    private final CharSequence unfilteredText;
+    private final Type[] types;
+    private final int[] starts;
+    private final int[] ends;
+    private final int size;
+    private FilenameTokens unfiltered;
+
+    FilenameTokens(CharSequence text, CharSequence unfilteredText, Type[] types, int[] starts, int[] ends, int size) {
+        this.text = text;
+        this.unfilteredText = unfilteredText;
+        this.types = types;
+        this.starts = starts;
+        this.ends = ends;
+        this.size = size;
+        if(unfilteredText == text) {
+            unfiltered = this;
+        }
+    }
+
+    /**
+     * Get the text that was tokenized
+     * @return file name
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Get the tokens of the unfiltered file name. If the file name was not
+     * filtered, this instance is returned.
+     * @return unfiltered file name tokens
+     */
+    public FilenameTokens getUnfiltered() {
+        if(unfiltered == null) {
+            unfiltered = FilenameLexer.lex(unfilteredText);
+        }
+        return unfiltered;
+    }
+
+    /**
+     * Get the number of tokens
+     * @return number of tokens
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the type of the token at the given index
+     * @param token token index
+     * @return token type
+     */
+    public Type getType(int token) {
+        return types[token];
+    }
+
+    /**
+     * Check if the token at the given index is a run of digits
+     * @param token token index
+     * @return true if the token is a run of digits
+     */
+    public boolean isDigits(int token) {
+        return types[token] == Type.DIGITS;
+    }
+
+    /**
+     * Check if the token at the given index is a run of letters, including
+     * roman numerals
+     * @param token token index
+     * @return true if the token is a run of letters
+     */
+    public boolean isLetters(int token) {
+        return types[token] == Type.LETTERS || types[token] == Type.ROMAN_NUMERAL;
+    }
+
+    /**
+     * Get the index of the first character of the token
+     * @param token token index
+     * @return start index (inclusive) in the file name
+     */
+    public int getStart(int token) {
+        return starts[token];
+    }
+
+    /**
+     * Get the index after the last character of the token
+     * @param token token index
+     * @return end index (exclusive) in the file name
+     */
+    public int getEnd(int token) {
+        return ends[token];
+    }
+
+    /**
+     * Get the length of the token
+     * @param token token index
+     * @return number of characters in the token
+     */
+    public int length(int token) {
+        return ends[token] - starts[token];
+    }
+
+    /**
+     * Get the index of the token containing the character at the given index
+     * @param charIndex index in the file name
+     * @return token index or {@link #size()} if charIndex is past the end of
+     * the file name
+     */
+    public int indexOf(int charIndex) {
+        int low = 0;
+        int high = size - 1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            if(ends[mid] <= charIndex) {
+                low = mid + 1;
+            } else if(starts[mid] > charIndex) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < size; i++) {
+            sb.append(types[i]).append('(').append(text, starts[i], ends[i]).append(')');
+            if(i + 1 < size) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+}
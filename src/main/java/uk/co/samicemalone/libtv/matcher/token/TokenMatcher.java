@@ -0,0 +1,176 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import java.nio.file.Path;
+import uk.co.samicemalone.libtv.matcher.EpisodeOverflow;
+import uk.co.samicemalone.libtv.matcher.TagStripper;
+import uk.co.samicemalone.libtv.matcher.tv.TVGroupMatcher;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+import uk.co.samicemalone.libtv.util.StringUtil;
+
+/**
+ * TokenMatcher is a TVGroupMatcher that matches an episode from the tokens of
+ * a file name produced by {@link FilenameLexer} instead of a regex. The file
+ * name is tokenized once and the same tokens can be shared by each
+ * TokenMatcher in a {@link uk.co.samicemalone.libtv.matcher.TVMatcher.Pipeline}.
+ * <p>
+ * Each implementation matches the same file names and returns the same
+ * EpisodeMatch as its regex equivalent in {@link uk.co.samicemalone.libtv.matcher.tv}
+ * @author Sam Malone
+ */
+public abstract class TokenMatcher extends TVGroupMatcher {
+
+    public TokenMatcher(TVMatcherOptions options) {
+        super(options);
+    }
+
+    @Override
+    public EpisodeMatch match(Path path, String filteredFileName) {
+        return matchWithinBudget(path, filteredFileName);
+    }
+
+    @Override
+    public EpisodeMatch match(EpisodeName name, String filteredFileName) {
+        return match(name, FilenameLexer.lex(name.getFileName(), filteredFileName));
+    }
+
+    /**
+     * Match the tokens of a file name to an episode to determine the episode
+     * number(s). The show and season will be matched if found.
+     * @param path absolute episode path
+     * @param tokens tokens of the filtered file name
+     * @return EpisodeMatch if found, otherwise null
+     */
+    public EpisodeMatch match(Path path, FilenameTokens tokens) {
+        try {
+            return match(new EpisodeName(path), tokens);
+        } catch(EpisodeOverflow e) {
+            return null;
+        }
+    }
+
+    /**
+     * Match the tokens of a file name to an episode to determine the episode
+     * number(s). The show and season will be matched if found. The path of
+     * the episode is only created if needed to match the show or season.
+     * If the episode number overflows an int, {@link EpisodeOverflow} is
+     * thrown so a {@link uk.co.samicemalone.libtv.matcher.TVMatcher.Pipeline}
+     * stops.
+     * @param name episode name
+     * @param tokens tokens of the filtered file name
+     * @return EpisodeMatch if found, otherwise null
+     */
+    public abstract EpisodeMatch match(EpisodeName name, FilenameTokens tokens);
+
+    static boolean isDigit(CharSequence s, int i) {
+        if(i < 0 || i >= s.length()) {
+            return false;
+        }
+        char c = s.charAt(i);
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isSeparator(CharSequence s, int i) {
+        return i >= 0 && i < s.length() && TagStripper.isSeparator(s.charAt(i));
+    }
+
+    /**
+     * Check if the character at index i is the lowercase ASCII letter given,
+     * ignoring case
+     */
+    static boolean isLetter(CharSequence s, int i, char lowerCase) {
+        if(i < 0 || i >= s.length()) {
+            return false;
+        }
+        char c = s.charAt(i);
+        return c == lowerCase || c == lowerCase - ('a' - 'A');
+    }
+
+    /**
+     * Check if the lowercase ASCII word given starts at index i, ignoring case
+     */
+    static boolean startsWith(CharSequence s, int i, String lowerCaseWord) {
+        if(i + lowerCaseWord.length() > s.length()) {
+            return false;
+        }
+        for(int j = 0; j < lowerCaseWord.length(); j++) {
+            if(!isLetter(s, i + j, lowerCaseWord.charAt(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the index of the first non separator character at or after index i
+     */
+    static int skipSeparators(CharSequence s, int i) {
+        while(isSeparator(s, i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Get the index after the run of digits starting at index i
+     */
+    static int digitsEnd(CharSequence s, int i) {
+        while(isDigit(s, i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Get the index of the first character of the trailing separators before
+     * index end
+     */
+    static int trimSeparators(CharSequence s, int end) {
+        while(end > 0 && TagStripper.isSeparator(s.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Parse the digits in the region given
+     * @return parsed number or -1 if it overflows an int
+     */
+    static int parseInt(CharSequence s, int start, int end) {
+        return StringUtil.parseInt(s, start, end);
+    }
+
+    static String substring(CharSequence s, int start, int end) {
+        return s.subSequence(start, end).toString();
+    }
+
+}
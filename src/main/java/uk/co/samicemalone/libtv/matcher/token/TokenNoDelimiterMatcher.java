@@ -0,0 +1,132 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import uk.co.samicemalone.libtv.matcher.AirDateParser;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * Token based equivalent of {@link uk.co.samicemalone.libtv.matcher.tv.NoDelimiterMatcher}
+ * Matches: (with variants of separators)
+ * the.league 101 pilot.mkv
+ * the.league 1.01 pilot.mkv
+ * <p>
+ * Dates e.g. 2014.05.12 are stripped before the season and episode are
+ * found, so the.daily.show.2014.05.12.mkv is not misread as a season and
+ * episode. Episodes named only by air date are matched by
+ * {@link uk.co.samicemalone.libtv.matcher.AirDateMatcher}.
+ * @author Sam Malone
+ */
+public class TokenNoDelimiterMatcher extends TokenMatcher {
+
+    /** indexes of the match array populated by findSeasonEpisode **/
+    private static final int SEASON = 0;
+    private static final int SEASON_END = 1;
+    private static final int EPISODE = 2;
+
+    public TokenNoDelimiterMatcher(TVMatcherOptions options) {
+        super(options);
+    }
+    
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.THREE_DIGITS;
+    }
+
+    @Override
+    public EpisodeMatch match(EpisodeName episodeName, FilenameTokens tokens) {
+        CharSequence name = tokens.getText();
+        int[] m = new int[3];
+        if(!findSeasonEpisode(tokens, m)) {
+            return null;
+        }
+        String show = matchShow(episodeName, substring(name, 0, m[SEASON]));
+        if(show != null) {
+            show = substring(show, 0, trimSeparators(show, show.length()));
+        }
+        StringBuilder dateless = new StringBuilder(name.length());
+        if(AirDateParser.stripDates(name, dateless)) {
+            tokens = FilenameLexer.lex(dateless);
+            name = dateless;
+            if(!findSeasonEpisode(tokens, m)) {
+                return null;
+            }
+        }
+        int season = matchSeason(episodeName, substring(name, m[SEASON], m[SEASON_END]));
+        int episode = parseInt(name, m[EPISODE], m[EPISODE] + 2);
+        return new EpisodeMatch(show, season, episode);
+    }
+
+    /**
+     * Find the last season and two digit episode e.g. 102, 1.02, 10_02.
+     * The season is the last digit of the run of digits before the episode,
+     * unless the episode is the last two digits of a run of at least three
+     * digits, in which case the season is the digit before the episode.
+     * If found, the season indexes and episode index are stored in m
+     * @return true if found
+     */
+    private static boolean findSeasonEpisode(FilenameTokens tokens, int[] m) {
+        for(int i = tokens.size() - 1; i >= 0; i--) {
+            if(isSeasonEpisode(tokens, i, m)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if the token at index i is the season of a season and two digit
+     * episode. If so, the season indexes and episode index are stored in m
+     * @return true if the token is a season
+     */
+    static boolean isSeasonEpisode(FilenameTokens tokens, int i, int[] m) {
+        if(!tokens.isDigits(i)) {
+            return false;
+        }
+        int next = i + 1;
+        if(next < tokens.size() && tokens.getType(next) == FilenameTokens.Type.SEPARATOR) {
+            next++;
+        }
+        if(next < tokens.size() && tokens.isDigits(next) && tokens.length(next) >= 2) {
+            m[SEASON] = tokens.getEnd(i) - 1;
+            m[SEASON_END] = tokens.getEnd(i);
+            m[EPISODE] = tokens.getStart(next);
+            return true;
+        } else if(tokens.length(i) >= 3) {
+            m[SEASON] = tokens.getEnd(i) - 3;
+            m[SEASON_END] = m[EPISODE] = tokens.getEnd(i) - 2;
+            return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,165 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
+import uk.co.samicemalone.libtv.matcher.SeasonMatcher;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.RomanNumeral;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * Token based equivalent of {@link uk.co.samicemalone.libtv.matcher.tv.PartMatcher}
+ * Matches: (with variants of separators)
+ * the pacific part i pilot.mkv
+ * the.pacific.pt.i.pt.ii.pilot.mkv
+ * the_pacific_part1_name_part2_name.mkv
+ * the pacific part 2 name.mkv
+ * etc...
+ * @author Sam Malone
+ */
+public class TokenPartMatcher extends TokenMatcher {
+
+    /** indexes of the match array populated by findPart **/
+    private static final int PART = 0;
+    private static final int NUMBER = 1;
+    private static final int NUMBER_END = 2;
+    private static final int IS_ROMAN = 3;
+
+    public TokenPartMatcher(TVMatcherOptions options) {
+        super(options);
+    }
+    
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.PART;
+    }
+
+    @Override
+    public EpisodeMatch match(EpisodeName episodeName, FilenameTokens tokens) {
+        CharSequence name = tokens.getText();
+        int[] m = new int[4];
+        if(!findPart(name, 0, m)) {
+            return null;
+        }
+        EpisodeMatch em = new EpisodeMatch();
+        do {
+            if(m[IS_ROMAN] == 0) {
+                int episode = parseInt(name, m[NUMBER], m[NUMBER_END]);
+                if(episode >= 0) {
+                    em.addEpisodeNo(episode);
+                }
+            } else {
+                int romanDec = RomanNumeral.parse(name, m[NUMBER], m[NUMBER_END]);
+                if(romanDec > 0) {
+                    em.addEpisodeNo(romanDec);
+                }
+            }
+        } while(findPart(name, m[NUMBER_END], m));
+        if(em.getEpisodeNumbers().isEmpty()) {
+            return null;
+        }
+        em.setShow(matchShow(episodeName, isShowMatchRequired() ? matchShow(tokens.getUnfiltered()) : null));
+        em.setSeason(matchSeason(episodeName));
+        return em;
+    }
+
+    /**
+     * Find the first part at or after index from e.g. part 1, pt.ii, part2.
+     * A roman numeral must be separated from the part word.
+     * If found, the part index, number indexes and whether the number is a
+     * roman numeral (1) or digits (0) are stored in m
+     * @return true if found
+     */
+    private static boolean findPart(CharSequence name, int from, int[] m) {
+        for(int i = from; i < name.length(); i++) {
+            if(matchPart(name, i, m)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Match a part starting at index i e.g. part 1, pt.ii, part2.
+     * If matched, the match is stored in m as per {@link #findPart}
+     * @return true if matched
+     */
+    static boolean matchPart(CharSequence name, int i, int[] m) {
+        int wordEnd;
+        if(startsWith(name, i, "pt")) {
+            wordEnd = i + 2;
+        } else if(startsWith(name, i, "part")) {
+            wordEnd = i + 4;
+        } else {
+            return false;
+        }
+        int j = skipSeparators(name, wordEnd);
+        if(j > wordEnd && j < name.length() && FilenameLexer.isRomanNumeral(name.charAt(j))) {
+            int end = j;
+            while(end < name.length() && FilenameLexer.isRomanNumeral(name.charAt(end))) {
+                end++;
+            }
+            m[IS_ROMAN] = 1;
+            m[NUMBER_END] = end;
+        } else if(isDigit(name, j)) {
+            m[IS_ROMAN] = 0;
+            m[NUMBER_END] = digitsEnd(name, j);
+        } else {
+            return false;
+        }
+        m[PART] = i;
+        m[NUMBER] = j;
+        return true;
+    }
+
+    /**
+     * Match the show from the unfiltered file name. The show is the text
+     * before the first part
+     * @return show or null if not found
+     */
+    private static String matchShow(FilenameTokens unfiltered) {
+        CharSequence name = unfiltered.getText();
+        int[] m = new int[4];
+        return findPart(name, 0, m) ? substring(name, 0, trimSeparators(name, m[PART])) : null;
+    }
+
+    private int matchSeason(EpisodeName episodeName) {
+        if(getOptions().getSeasonMatcher() != null) {
+            int season = getOptions().getSeasonMatcher().matchSeason(episodeName.getPath());
+            if(season != EpisodeMatch.NO_SEASON) {
+                return season;
+            }
+        }
+        SeasonMatcher m = getOptions().getFallbackSeasonMatcher();
+        return m == null ? EpisodeMatch.NO_SEASON : m.matchSeason(episodeName.getPath());
+    }
+
+}
@@ -0,0 +1,131 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import uk.co.samicemalone.libtv.matcher.EpisodeOverflow;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
+import uk.co.samicemalone.libtv.matcher.MultiEpisodeParser;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * Token based equivalent of {@link uk.co.samicemalone.libtv.matcher.tv.SEDelimitedMatcher}
+ * Matches: (with variants of separators)
+ * the.league.s01e01.pilot.mkv
+ * the league s01e01e02 pilot.mkv
+ * the.league.S01xE01xE02.pilot.mkv
+ * the_league_s01e01-s01e02_pilot.mkv
+ * the.league.s01e01.pilot.s01e02.pilot.cont.mkv
+ * etc...
+ * @author Sam Malone
+ */
+public class TokenSEDelimitedMatcher extends TokenMatcher {
+
+    public TokenSEDelimitedMatcher(TVMatcherOptions options) {
+        super(options);
+    }
+    
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.S_DIGIT | FilenameFeatures.E_DIGIT;
+    }
+
+    @Override
+    public EpisodeMatch match(EpisodeName episodeName, FilenameTokens tokens) {
+        CharSequence name = tokens.getText();
+        int seasonToken = findSeasonEpisode(tokens, 0, 0);
+        if(seasonToken < 0) {
+            return null;
+        }
+        int seasonStart = tokens.getStart(seasonToken);
+        int seasonEnd = tokens.getEnd(seasonToken);
+        int episodeStart = episodeStart(name, seasonEnd);
+        int episodeEnd = digitsEnd(name, episodeStart);
+        String show = matchShow(episodeName, substring(name, 0, trimSeparators(name, seasonStart - 1)));
+        int season = matchSeason(episodeName, substring(name, seasonStart, seasonEnd));
+        int episode = EpisodeOverflow.check(parseInt(name, episodeStart, episodeEnd));
+        EpisodeMatch em = new EpisodeMatch(show, season, episode);
+        addMultiEpisodes(em, tokens, seasonToken, episodeEnd);
+        return em;
+    }
+
+    /**
+     * Add each episode in the multi episode range that follows the episode
+     * ending at index episodeEnd e.g. e02e03, _e02_e03, -s01e02 or -e05
+     */
+    private void addMultiEpisodes(EpisodeMatch em, FilenameTokens tokens, int fromToken, int episodeEnd) {
+        CharSequence name = tokens.getText();
+        int end = skipSeparatorsOrX(name, episodeEnd);
+        int seasonToken = fromToken;
+        while((seasonToken = findSeasonEpisode(tokens, seasonToken + 1, end)) >= 0) {
+            end = skipSeparatorsOrX(name, digitsEnd(name, episodeStart(name, tokens.getEnd(seasonToken))));
+        }
+        while(isLetter(name, end, 'e') && isDigit(name, end + 1)) {
+            end = skipSeparatorsOrX(name, digitsEnd(name, end + 1));
+        }
+        MultiEpisodeParser.parse(name, episodeEnd, end, MultiEpisodeParser.EPISODE_MARKER_E, em);
+    }
+
+    /**
+     * Find the first season token, at or after fromToken, that is preceded by
+     * s at or after index from and followed by an episode e.g. s01e02, S1xE2
+     * @return season token index or -1 if not found
+     */
+    private static int findSeasonEpisode(FilenameTokens tokens, int fromToken, int from) {
+        CharSequence name = tokens.getText();
+        for(int i = fromToken; i < tokens.size(); i++) {
+            int prefix = tokens.getStart(i) - 1;
+            if(tokens.isDigits(i) && prefix >= from && isLetter(name, prefix, 's')) {
+                if(episodeStart(name, tokens.getEnd(i)) >= 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the index of the episode digits following the season that ends at
+     * index seasonEnd e.g. the index of 02 in 01_e02
+     * @return episode index or -1 if not found
+     */
+    static int episodeStart(CharSequence name, int seasonEnd) {
+        int i = skipSeparatorsOrX(name, seasonEnd);
+        return isLetter(name, i, 'e') && isDigit(name, i + 1) ? i + 1 : -1;
+    }
+
+    private static int skipSeparatorsOrX(CharSequence name, int i) {
+        while(isSeparator(name, i) || isLetter(name, i, 'x')) {
+            i++;
+        }
+        return i;
+    }
+
+}
@@ -0,0 +1,221 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import uk.co.samicemalone.libtv.matcher.EpisodeOverflow;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * Token based equivalent of {@link uk.co.samicemalone.libtv.matcher.tv.WordDelimitedMatcher}
+ * Matches: (with variants of separators)
+ * the.league ep01 pilot.mkv
+ * the.league.ep.01.pilot.mkv
+ * the.league ep01ep02 pilot.mkv
+ * the league season 1 episode 1 pilot.mkv
+ * the league season 1 ep 1 ep 2 pilot.mkv
+ * etc...
+ * @author Sam Malone
+ */
+public class TokenWordDelimitedMatcher extends TokenMatcher {
+
+    private static final String[] EP_WORDS = new String[] { "episode", "ep", "e" };
+    
+    /** indexes of the match array populated by matchWord **/
+    private static final int SEASON = 0;
+    private static final int SEASON_END = 1;
+    private static final int EPISODE = 2;
+    private static final int END = 3;
+
+    public TokenWordDelimitedMatcher(TVMatcherOptions options) {
+        super(options);
+    }
+    
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.SEPARATOR_E | FilenameFeatures.DIGIT;
+    }
+
+    @Override
+    public EpisodeMatch match(EpisodeName episodeName, FilenameTokens tokens) {
+        CharSequence name = tokens.getText();
+        int[] m = new int[4];
+        for(int i = 0; i < name.length(); i++) {
+            if(matchWord(name, i, m) && consecutiveEnd(name, m[END]) > m[END]) {
+                EpisodeMatch em = newEpisodeMatch(episodeName, tokens, m);
+                if(em == null) {
+                    return null;
+                }
+                int end = m[END];
+                int episodeStart;
+                while((episodeStart = consecutiveEpisode(name, end)) >= 0) {
+                    end = digitsEnd(name, episodeStart);
+                    addEpisodeNo(em, parseInt(name, episodeStart, end));
+                }
+                return em;
+            }
+        }
+        for(int i = 0; i < name.length(); i++) {
+            if(matchWord(name, i, m)) {
+                EpisodeMatch em = newEpisodeMatch(episodeName, tokens, m);
+                if(em == null) {
+                    return null;
+                }
+                for(i = m[END]; i < name.length(); i++) {
+                    if(matchWord(name, i, m)) {
+                        addEpisodeNo(em, parseInt(name, m[EPISODE], m[END]));
+                        i = m[END] - 1;
+                    }
+                }
+                return em;
+            }
+        }
+        return null;
+    }
+
+    private EpisodeMatch newEpisodeMatch(EpisodeName episodeName, FilenameTokens tokens, int[] m) {
+        CharSequence name = tokens.getText();
+        String show = matchShow(episodeName, isShowMatchRequired() ? matchShow(tokens.getUnfiltered()) : null);
+        int season = matchSeason(episodeName, m[SEASON] < 0 ? null : substring(name, m[SEASON], m[SEASON_END]));
+        int episode = EpisodeOverflow.check(parseInt(name, m[EPISODE], m[END]));
+        return new EpisodeMatch(show, season, episode);
+    }
+    
+    private static void addEpisodeNo(EpisodeMatch em, int episode) {
+        if(episode >= 0) {
+            em.addEpisodeNo(episode);
+        }
+    }
+
+    /**
+     * Match an episode starting at index i e.g. _ep01, .e1, season 1 episode 1.
+     * If matched, the season digit indexes (-1 if no season), episode digits
+     * index and end index are stored in m
+     * @return true if matched
+     */
+    static boolean matchWord(CharSequence name, int i, int[] m) {
+        if(startsWith(name, i, "season")) {
+            int seasonStart = skipSeparators(name, i + 6);
+            if(isDigit(name, seasonStart)) {
+                int seasonEnd = digitsEnd(name, seasonStart);
+                int episodeStart = separatedEpisode(name, seasonEnd);
+                if(episodeStart >= 0) {
+                    m[SEASON] = seasonStart;
+                    m[SEASON_END] = seasonEnd;
+                    m[EPISODE] = episodeStart;
+                    m[END] = digitsEnd(name, episodeStart);
+                    return true;
+                }
+            }
+            return false;
+        }
+        int episodeStart = separatedEpisode(name, i);
+        if(episodeStart >= 0) {
+            m[SEASON] = m[SEASON_END] = -1;
+            m[EPISODE] = episodeStart;
+            m[END] = digitsEnd(name, episodeStart);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the index of the episode digits of one or more separators followed
+     * by an episode word and the episode digits starting at index i
+     * e.g. _ep01, .e.1, - episode 1
+     * @return episode digits index or -1 if not found
+     */
+    private static int separatedEpisode(CharSequence name, int i) {
+        int j = skipSeparators(name, i);
+        return j == i ? -1 : episode(name, j);
+    }
+
+    /**
+     * Get the index of the episode digits of an episode word followed by the
+     * episode digits starting at index i e.g. ep01, e.1, episode 1
+     * @return episode digits index or -1 if not found
+     */
+    private static int episode(CharSequence name, int i) {
+        for(String word : EP_WORDS) {
+            if(startsWith(name, i, word)) {
+                int j = skipSeparators(name, i + word.length());
+                if(isDigit(name, j)) {
+                    return j;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the index of the episode digits of an episode word immediately
+     * followed by the episode digits starting at index i e.g. ep02, e2
+     * @return episode digits index or -1 if not found
+     */
+    private static int consecutiveEpisode(CharSequence name, int i) {
+        for(String word : EP_WORDS) {
+            if(startsWith(name, i, word) && isDigit(name, i + word.length())) {
+                return i + word.length();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the end index of the consecutive episodes starting at index i
+     * e.g. ep02ep03 in ep01ep02ep03
+     */
+    private static int consecutiveEnd(CharSequence name, int i) {
+        int episodeStart;
+        while((episodeStart = consecutiveEpisode(name, i)) >= 0) {
+            i = digitsEnd(name, episodeStart);
+        }
+        return i;
+    }
+
+    /**
+     * Match the show from the unfiltered file name. The show is the text
+     * before the first episode
+     * @return show or null if not found
+     */
+    private static String matchShow(FilenameTokens unfiltered) {
+        CharSequence name = unfiltered.getText();
+        int[] m = new int[4];
+        for(int i = 0; i < name.length(); i++) {
+            boolean isSeason = startsWith(name, i, "season");
+            if(isSeason ? matchWord(name, i, m) : (i > 0 && isSeparator(name, i - 1) && episode(name, i) >= 0)) {
+                return substring(name, 0, trimSeparators(name, i));
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,120 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import uk.co.samicemalone.libtv.matcher.EpisodeOverflow;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
+import uk.co.samicemalone.libtv.matcher.MultiEpisodeParser;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * Token based equivalent of {@link uk.co.samicemalone.libtv.matcher.tv.XDelimitedMatcher}
+ * Matches: (with variants of separators)
+ * the.league - 1x01 - pilot.mkv
+ * the.league - 1x01x02x03x04 - pilot.mkv
+ * the.league.1x01_1x02.pilot.mkv
+ * the.league.1x01.pilot.1x02.pilot.cont.mkv
+ * etc...
+ * @author Sam Malone
+ */
+public class TokenXDelimitedMatcher extends TokenMatcher {
+
+    public TokenXDelimitedMatcher(TVMatcherOptions options) {
+        super(options);
+    }
+    
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.X_DIGIT;
+    }
+
+    @Override
+    public EpisodeMatch match(EpisodeName episodeName, FilenameTokens tokens) {
+        CharSequence name = tokens.getText();
+        int seasonToken = findSeasonEpisode(tokens, 0, 0);
+        if(seasonToken < 0) {
+            return null;
+        }
+        int seasonStart = tokens.getStart(seasonToken);
+        int seasonEnd = tokens.getEnd(seasonToken);
+        int episodeStart = episodeStart(name, seasonEnd);
+        int episodeEnd = digitsEnd(name, episodeStart);
+        String show = matchShow(episodeName, substring(name, 0, trimSeparators(name, seasonStart)));
+        int season = matchSeason(episodeName, substring(name, seasonStart, seasonEnd));
+        int episode = EpisodeOverflow.check(parseInt(name, episodeStart, episodeEnd));
+        EpisodeMatch em = new EpisodeMatch(show, season, episode);
+        addMultiEpisodes(em, tokens, seasonToken, episodeEnd);
+        return em;
+    }
+
+    /**
+     * Add each episode in the multi episode range that follows the episode
+     * ending at index episodeEnd e.g. x02x03, _x02_x03 or -1x02
+     */
+    private void addMultiEpisodes(EpisodeMatch em, FilenameTokens tokens, int fromToken, int episodeEnd) {
+        CharSequence name = tokens.getText();
+        int end = skipSeparators(name, episodeEnd);
+        int seasonToken = fromToken;
+        while((seasonToken = findSeasonEpisode(tokens, seasonToken + 1, end)) >= 0) {
+            end = skipSeparators(name, digitsEnd(name, episodeStart(name, tokens.getEnd(seasonToken))));
+        }
+        while(isLetter(name, end, 'x') && isDigit(name, end + 1)) {
+            end = skipSeparators(name, digitsEnd(name, end + 1));
+        }
+        MultiEpisodeParser.parse(name, episodeEnd, end, MultiEpisodeParser.EPISODE_MARKER_X, em);
+    }
+
+    /**
+     * Find the first season token, at or after fromToken, that starts at or
+     * after index from and is followed by an episode e.g. 1x02, 1 x 2
+     * @return season token index or -1 if not found
+     */
+    private static int findSeasonEpisode(FilenameTokens tokens, int fromToken, int from) {
+        CharSequence name = tokens.getText();
+        for(int i = fromToken; i < tokens.size(); i++) {
+            if(tokens.isDigits(i) && tokens.getStart(i) >= from && episodeStart(name, tokens.getEnd(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the index of the episode digits following the season that ends at
+     * index seasonEnd e.g. the index of 02 in 1_x02
+     * @return episode index or -1 if not found
+     */
+    static int episodeStart(CharSequence name, int seasonEnd) {
+        int i = skipSeparators(name, seasonEnd);
+        return isLetter(name, i, 'x') && isDigit(name, i + 1) ? i + 1 : -1;
+    }
+
+}
@@ -29,9 +29,13 @@
 package uk.co.samicemalone.libtv.matcher.tv;
 
 import java.nio.file.Path;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import uk.co.samicemalone.libtv.matcher.AirDateParser;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
 import uk.co.samicemalone.libtv.model.TVMatcherOptions;
 import uk.co.samicemalone.libtv.util.StringUtil;
 
@@ -39,15 +43,16 @@ import uk.co.samicemalone.libtv.util.StringUtil;
  * Matches: (with variants of separators)
  * the.league 101 pilot.mkv
  * the.league 1.01 pilot.mkv
+ * <p>
+ * Dates e.g. 2014.05.12 are stripped before the season and episode are
+ * found, so the.daily.show.2014.05.12.mkv is not misread as a season and
+ * episode. Episodes named only by air date are matched by
+ * {@link uk.co.samicemalone.libtv.matcher.AirDateMatcher}.
  * @author Sam Malone
  */
 public class NoDelimiterMatcher extends TVGroupMatcher {
 
     private final String separator = "[_\\-. +]*";
-    private final String yearRegex = "(19|20)?\\d\\d";
-    private final String dateRegex = StringUtil.join(separator, 
-        yearRegex,"\\d\\d", "\\d\\d|\\d\\d", "\\d\\d", yearRegex, "|(19|20)\\d\\d"
-    );
     private final Pattern pattern = Pattern.compile(
         "^(.*)"+separator+"(\\d+)"+separator+"(\\d\\d)", Pattern.CASE_INSENSITIVE
     );
@@ -56,20 +61,39 @@ public class NoDelimiterMatcher extends TVGroupMatcher {
         super(options);
     }
     
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.THREE_DIGITS;
+    }
+    
     @Override
     public EpisodeMatch match(Path path, String filteredFileName) {
-        Matcher showMatcher = pattern.matcher(filteredFileName);
+        return matchWithinBudget(path, filteredFileName);
+    }
+    
+    @Override
+    public EpisodeMatch match(EpisodeName name, String filteredFileName) {
+        Matcher showMatcher = pattern.matcher(guard(filteredFileName));
         if(showMatcher.find()) {
-            String show = matchShow(path, showMatcher.toMatchResult(), 1);
+            String show = matchShow(name, showMatcher.toMatchResult(), 1);
             if(show != null) {
                 show = show.replaceAll(separator + '$', "");
             }
-            Matcher m = pattern.matcher(filteredFileName.replaceAll(dateRegex, ""));
-            if(m.find()) {
-                int season = matchSeason(path, m.toMatchResult(), 2);
-                int episode = Integer.valueOf(m.group(3));
-                return new EpisodeMatch(show, season, episode);
+            MatchResult r = showMatcher.toMatchResult();
+            StringBuilder dateless = new StringBuilder(filteredFileName.length());
+            if(AirDateParser.stripDates(filteredFileName, dateless)) {
+                Matcher m = pattern.matcher(guard(dateless));
+                if(!m.find()) {
+                    return null;
+                }
+                r = m.toMatchResult();
+            }
+            int season = matchSeason(name, r, 2);
+            int episode = StringUtil.parseInt(r.group(3));
+            if(episode < 0) {
+                return null;
             }
+            return new EpisodeMatch(show, season, episode);
         }
         return null;
     }
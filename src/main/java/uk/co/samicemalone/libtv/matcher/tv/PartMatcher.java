@@ -31,10 +31,13 @@ package uk.co.samicemalone.libtv.matcher.tv;
 import java.nio.file.Path;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
 import uk.co.samicemalone.libtv.matcher.SeasonMatcher;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
 import uk.co.samicemalone.libtv.model.RomanNumeral;
 import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+import uk.co.samicemalone.libtv.util.StringUtil;
 
 /**
  * Matches: (with variants of separators)
@@ -51,7 +54,6 @@ import uk.co.samicemalone.libtv.model.TVMatcherOptions;
  */
 public class PartMatcher extends TVGroupMatcher {
     
-    private static final String romanNumeralsStrict = "^M{0,4}(CM|CD|D?C{0,3})(XC|XL|L?X{0,3})(IX|IV|V?I{0,3})$";
     private static final String romanNumerals = "[MDCLXVI]+";
     private static final String separator = "[_\\-. +]";
     private static final String epSeparator = "(?:pt|part)";
@@ -70,44 +72,51 @@ public class PartMatcher extends TVGroupMatcher {
         super(options);
     }
     
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.PART;
+    }
+    
     @Override
     public EpisodeMatch match(Path path, String filteredFileName) {
-        Matcher m = pattern.matcher(filteredFileName);
+        return matchWithinBudget(path, filteredFileName);
+    }
+    
+    @Override
+    public EpisodeMatch match(EpisodeName name, String filteredFileName) {
+        Matcher m = pattern.matcher(guard(filteredFileName));
         EpisodeMatch em = new EpisodeMatch();
-        boolean hasMatched = false;
         while(m.find()) {
-            hasMatched = true;
             if(m.group(1) == null && m.group(2) != null) {
-                em.getEpisodes().add(Integer.valueOf(m.group(2)));
+                int episode = StringUtil.parseInt(filteredFileName, m.start(2), m.end(2));
+                if(episode >= 0) {
+                    em.addEpisodeNo(episode);
+                }
             } else if (m.group(1) != null && m.group(2) == null) {
-                int romanDec = fromRomanNumeral(m.group(1));
+                int romanDec = RomanNumeral.parse(filteredFileName, m.start(1), m.end(1));
                 if(romanDec > 0) {
-                    em.getEpisodes().add(romanDec);
+                    em.addEpisodeNo(romanDec);
                 }
             }
         }
-        if(hasMatched) {
-            m = showPattern.matcher(path.getFileName().toString());
-            em.setShow(matchShow(path, m, 1));
-            em.setSeason(matchSeason(path));
+        if(em.getEpisodeNumbers().isEmpty()) {
+            return null;
         }
-        return hasMatched ? em : null;
-    }
-    
-    private int fromRomanNumeral(String roman) {
-        Pattern p = Pattern.compile(romanNumeralsStrict, Pattern.CASE_INSENSITIVE);
-        return p.matcher(roman).matches() ? RomanNumeral.valueOf(roman) : 0;
+        m = showPattern.matcher(guard(name.getFileName()));
+        em.setShow(matchShow(name, m, 1));
+        em.setSeason(matchSeason(name));
+        return em;
     }
     
-    private int matchSeason(Path path) {
+    private int matchSeason(EpisodeName name) {
         if(getOptions().getSeasonMatcher() != null) {
-            int season = getOptions().getSeasonMatcher().matchSeason(path);
+            int season = getOptions().getSeasonMatcher().matchSeason(name.getPath());
             if(season != EpisodeMatch.NO_SEASON) {
                 return season;
             }
         }
         SeasonMatcher m = getOptions().getFallbackSeasonMatcher();
-        return m == null ? EpisodeMatch.NO_SEASON : m.matchSeason(path);
+        return m == null ? EpisodeMatch.NO_SEASON : m.matchSeason(name.getPath());
     }
     
 }
@@ -29,13 +29,16 @@
 package uk.co.samicemalone.libtv.matcher.tv;
 
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import uk.co.samicemalone.libtv.matcher.EpisodeOverflow;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
+import uk.co.samicemalone.libtv.matcher.MultiEpisodeParser;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
 import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+import uk.co.samicemalone.libtv.util.StringUtil;
 
 /**
  * Matches: (with variants of separators)
@@ -64,33 +67,30 @@ public class SEDelimitedMatcher extends TVGroupMatcher {
     public SEDelimitedMatcher(TVMatcherOptions options) {
         super(options);
     }
+    
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.S_DIGIT | FilenameFeatures.E_DIGIT;
+    }
 
     @Override
     public EpisodeMatch match(Path path, String filteredFileName) {
-        Matcher m = pattern.matcher(filteredFileName);
+        return matchWithinBudget(path, filteredFileName);
+    }
+    
+    @Override
+    public EpisodeMatch match(EpisodeName name, String filteredFileName) {
+        Matcher m = pattern.matcher(guard(filteredFileName));
         if(m.find()) {
             MatchResult r = m.toMatchResult();
-            String show = matchShow(path, r, 1);
-            int season = matchSeason(path, r, 2);
-            int episode = Integer.valueOf(m.group(3));
+            String show = matchShow(name, r, 1);
+            int season = matchSeason(name, r, 2);
+            int episode = EpisodeOverflow.check(StringUtil.parseInt(filteredFileName, m.start(3), m.end(3)));
             EpisodeMatch em = new EpisodeMatch(show, season, episode);
-            em.addEpisodeNo(parseMultiEpisodes(m.group(4)));
+            MultiEpisodeParser.parse(filteredFileName, m.end(3), m.end(4), MultiEpisodeParser.EPISODE_MARKER_E, em);
             return em;
         }
         return null;
     }
-        
-    private List<Integer> parseMultiEpisodes(String multiEpisodes) {
-        List<Integer> list = new ArrayList<>();
-        if(multiEpisodes == null || multiEpisodes.isEmpty()) {
-            return list;
-        }
-        Pattern p = Pattern.compile("(?:s\\d+)?[_\\-. +x]*e(\\d+)", Pattern.CASE_INSENSITIVE);
-        Matcher m = p.matcher(multiEpisodes);
-        while(m.find()) {
-            list.add(Integer.valueOf(m.group(1)));
-        }
-        return list;
-    }
     
 }
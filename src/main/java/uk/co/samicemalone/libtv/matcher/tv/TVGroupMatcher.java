@@ -32,22 +32,27 @@ import java.nio.file.Path;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import uk.co.samicemalone.libtv.matcher.EpisodeOverflow;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
+import uk.co.samicemalone.libtv.matcher.MatchBudget;
 import uk.co.samicemalone.libtv.matcher.SeasonMatcher;
 import uk.co.samicemalone.libtv.matcher.ShowMatcher;
 import uk.co.samicemalone.libtv.matcher.TVMatcher;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
 import uk.co.samicemalone.libtv.model.TVMatcherOptions;
 import uk.co.samicemalone.libtv.util.ShowCase;
+import uk.co.samicemalone.libtv.util.StringUtil;
 
 /**
  * TVGroupMatcher provides methods to match a TV show name and season number
- * from a {@link Matcher} or {@link MatchResult} using the TVMatcherOptions
+ * from a {@link Matcher}, {@link MatchResult} or String using the TVMatcherOptions
  * supplied. This allows extending classes to define a regex {@link Pattern} and 
  * pass the matcher/result and group number to TVGroupMatcher to conform to the
  * TVMatcherOptions
  * @author Sam Malone
  */
-public abstract class TVGroupMatcher implements TVMatcher.Matcher {
+public abstract class TVGroupMatcher implements TVMatcher.Matcher, FilenameFeatures.Prefiltered {
     
     private final TVMatcherOptions options;
 
@@ -60,9 +65,65 @@ public abstract class TVGroupMatcher implements TVMatcher.Matcher {
         return options;
     }
     
-    private int getSeasonInt(MatchResult result, int group) {
-        String match = result.group(group);
-        return match == null ? EpisodeMatch.NO_SEASON : Integer.valueOf(match);
+    /**
+     * Match an episode name to an episode to determine the episode number(s).
+     * The show and season will be matched if found. The path of the episode
+     * is only created if needed to match the show or season as per the
+     * TVMatcherOptions. By default, the path is created and passed to
+     * {@link #match(java.nio.file.Path, java.lang.String)}.
+     * <p>
+     * If the {@link MatchBudget} of the TVMatcherOptions is exceeded,
+     * {@link MatchBudget.Exceeded} is thrown so a {@link TVMatcher.Pipeline}
+     * can report it. If the episode number overflows an int,
+     * {@link EpisodeOverflow} is thrown so the Pipeline stops.
+     * @param name episode name
+     * @param filteredFileName filtered file name. see {@link uk.co.samicemalone.libtv.matcher.TagStripper}
+     * @return EpisodeMatch if found, otherwise null
+     */
+    public EpisodeMatch match(EpisodeName name, String filteredFileName) {
+        return match(name.getPath(), filteredFileName);
+    }
+    
+    /**
+     * Match an episode path with {@link #match(uk.co.samicemalone.libtv.model.EpisodeName, java.lang.String)},
+     * reporting an exceeded {@link MatchBudget} or an {@link EpisodeOverflow}
+     * as no match.
+     * @param path absolute episode path
+     * @param filteredFileName filtered file name
+     * @return EpisodeMatch if found, otherwise null
+     */
+    protected EpisodeMatch matchWithinBudget(Path path, String filteredFileName) {
+        try {
+            return match(new EpisodeName(path), filteredFileName);
+        } catch(MatchBudget.Exceeded | EpisodeOverflow e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Get the features a filtered file name must have for this matcher to
+     * match it. By default, every file name is checked.
+     * @return feature mask
+     */
+    @Override
+    public int getRequiredFeatures() {
+        return 0;
+    }
+    
+    /**
+     * Guard the text given with the {@link MatchBudget} of the TVMatcherOptions
+     * so a regex run over the text stops once the budget is exceeded.
+     * @param text text to match e.g. the filtered file name
+     * @return guarded text or text if the options have no match budget
+     */
+    protected CharSequence guard(CharSequence text) {
+        MatchBudget budget = options.getMatchBudget();
+        return budget == null ? text : budget.guard(text);
+    }
+    
+    private int getSeasonInt(String seasonMatch) {
+        int season = StringUtil.parseInt(seasonMatch);
+        return season < 0 ? EpisodeMatch.NO_SEASON : season;
     }
     
     private String getShow(String showMatch) {
@@ -78,13 +139,50 @@ public abstract class TVGroupMatcher implements TVMatcher.Matcher {
      * @return season number or {@link EpisodeMatch#NO_SEASON}
      */
     public int matchSeason(Path path, MatchResult result, int group) {
+        return matchSeason(new EpisodeName(path), result.group(group));
+    }
+    
+    /**
+     * Match the season from the episode name given as per the TVMatcherOptions
+     * specified.
+     * @param name episode name
+     * @param result MatchResult containing the matches
+     * @param group group number that matches the season in result
+     * @return season number or {@link EpisodeMatch#NO_SEASON}
+     */
+    public int matchSeason(EpisodeName name, MatchResult result, int group) {
+        return matchSeason(name, result.group(group));
+    }
+    
+    /**
+     * Match the season from the episode path given as per the TVMatcherOptions
+     * specified.
+     * @param path absolute episode path
+     * @param seasonMatch season digits matched from the file name or null if
+     * the season was not matched
+     * @return season number or {@link EpisodeMatch#NO_SEASON}
+     */
+    public int matchSeason(Path path, String seasonMatch) {
+        return matchSeason(new EpisodeName(path), seasonMatch);
+    }
+    
+    /**
+     * Match the season from the episode name given as per the TVMatcherOptions
+     * specified. The path of the episode is only created if needed by a
+     * SeasonMatcher.
+     * @param name episode name
+     * @param seasonMatch season digits matched from the file name or null if
+     * the season was not matched
+     * @return season number or {@link EpisodeMatch#NO_SEASON}
+     */
+    public int matchSeason(EpisodeName name, String seasonMatch) {
         SeasonMatcher s = options.getSeasonMatcher();
-        int season = s == null ? getSeasonInt(result, group) : s.matchSeason(path);
+        int season = s == null ? getSeasonInt(seasonMatch) : s.matchSeason(name.getPath());
         if(season == EpisodeMatch.NO_SEASON) {
             if(options.getFallbackSeasonMatcher() != null) {
-                return options.getFallbackSeasonMatcher().matchSeason(path);
+                return options.getFallbackSeasonMatcher().matchSeason(name.getPath());
             } else if(options.isFallbackTVMatcherSeason()) {
-                return getSeasonInt(result, group);
+                return getSeasonInt(seasonMatch);
             }
         }
         return season;
@@ -99,10 +197,22 @@ public abstract class TVGroupMatcher implements TVMatcher.Matcher {
      * @return TV show or null if not found
      */
     public String matchShow(Path path, Matcher matcher, int group) {
+        return matchShow(new EpisodeName(path), matcher, group);
+    }
+    
+    /**
+     * Match the show from the episode name given as per the TVMatcherOptions
+     * specified. The matcher given, will be used once to find the show match.
+     * @param name episode name
+     * @param matcher Matcher to use to find a show match
+     * @param group group number that matches the show in matcher
+     * @return TV show or null if not found
+     */
+    public String matchShow(EpisodeName name, Matcher matcher, int group) {
         ShowMatcher showMatcher = options.getShowMatcher();
         String show = null;
         if(showMatcher != null) {
-            show = showMatcher.matchShow(path);
+            show = showMatcher.matchShow(name.getPath());
         } else if(showMatcher == null && matcher.find()) {
             show = getShow(matcher.group(group));
         }
@@ -110,7 +220,7 @@ public abstract class TVGroupMatcher implements TVMatcher.Matcher {
             return show;
         }
         if(getOptions().getFallbackShowMatcher() != null) {
-            show = getOptions().getFallbackShowMatcher().matchShow(path);
+            show = getOptions().getFallbackShowMatcher().matchShow(name.getPath());
         } else if(getOptions().isFallbackTVMatcherShow()) {
             if(showMatcher != null) {
                 matcher.find();
@@ -129,16 +239,63 @@ public abstract class TVGroupMatcher implements TVMatcher.Matcher {
      * @return TV show or null if not found
      */
     public String matchShow(Path path, MatchResult result, int group) {
+        return matchShow(new EpisodeName(path), result.group(group));
+    }
+    
+    /**
+     * Match the show from the episode name given as per the TVMatcherOptions
+     * specified.
+     * @param name episode name
+     * @param result MatchResult containing the matches
+     * @param group group number that matches the show in result
+     * @return TV show or null if not found
+     */
+    public String matchShow(EpisodeName name, MatchResult result, int group) {
+        return matchShow(name, result.group(group));
+    }
+    
+    /**
+     * Match the show from the episode path given as per the TVMatcherOptions
+     * specified.
+     * @param path absolute episode path
+     * @param showMatch show matched from the file name or null if the show
+     * was not matched
+     * @return TV show or null if not found
+     */
+    public String matchShow(Path path, String showMatch) {
+        return matchShow(new EpisodeName(path), showMatch);
+    }
+    
+    /**
+     * Match the show from the episode name given as per the TVMatcherOptions
+     * specified. The path of the episode is only created if needed by a
+     * ShowMatcher.
+     * @param name episode name
+     * @param showMatch show matched from the file name or null if the show
+     * was not matched
+     * @return TV show or null if not found
+     */
+    public String matchShow(EpisodeName name, String showMatch) {
         ShowMatcher showMatcher = options.getShowMatcher();
-        String show = showMatcher == null ? getShow(result.group(group)) : showMatcher.matchShow(path);
+        String show = showMatcher == null ? getShow(showMatch) : showMatcher.matchShow(name.getPath());
         if(show != null && !show.isEmpty()) {
             return show;
         } else if(options.getFallbackShowMatcher() != null) {
-            return options.getFallbackShowMatcher().matchShow(path);
+            return options.getFallbackShowMatcher().matchShow(name.getPath());
         } else if(options.isFallbackTVMatcherShow()) {
-            return getShow(result.group(group));
+            return getShow(showMatch);
         }
         return null;
     }
     
+    /**
+     * Check if the show matched from the file name is required to match the
+     * show as per the TVMatcherOptions specified. If not, the show does not
+     * need to be matched from the file name.
+     * @return true if {@link #matchShow(EpisodeName, String)} requires the show match
+     */
+    protected boolean isShowMatchRequired() {
+        return options.getShowMatcher() == null || options.isFallbackTVMatcherShow();
+    }
+    
 }
@@ -31,8 +31,12 @@ package uk.co.samicemalone.libtv.matcher.tv;
 import java.nio.file.Path;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import uk.co.samicemalone.libtv.matcher.EpisodeOverflow;
+import uk.co.samicemalone.libtv.matcher.FilenameFeatures;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.EpisodeName;
 import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+import uk.co.samicemalone.libtv.util.StringUtil;
 
 /**
  * Matches: (with variants of separators)
@@ -62,6 +66,8 @@ public class WordDelimitedMatcher extends TVGroupMatcher {
         Pattern.CASE_INSENSITIVE
     );
     
+    private final static Pattern epSeparatorPattern = Pattern.compile(epSeparator, Pattern.CASE_INSENSITIVE);
+    
     private final static Pattern showPattern = Pattern.compile(
         "^(.*?)"+separator+pattern.pattern(),
         Pattern.CASE_INSENSITIVE
@@ -70,30 +76,46 @@ public class WordDelimitedMatcher extends TVGroupMatcher {
     public WordDelimitedMatcher(TVMatcherOptions options) {
         super(options);
     }
+    
+    @Override
+    public int getRequiredFeatures() {
+        return FilenameFeatures.SEPARATOR_E | FilenameFeatures.DIGIT;
+    }
 
     @Override
     public EpisodeMatch match(Path path, String filteredFileName) {
-        Matcher m = patternMultiConsecutive.matcher(filteredFileName);
-        Matcher showMatcher = showPattern.matcher(path.getFileName().toString());
+        return matchWithinBudget(path, filteredFileName);
+    }
+    
+    @Override
+    public EpisodeMatch match(EpisodeName name, String filteredFileName) {
+        Matcher m = patternMultiConsecutive.matcher(guard(filteredFileName));
+        Matcher showMatcher = showPattern.matcher(guard(name.getFileName()));
         if(m.find()) {
-            String show = matchShow(path, showMatcher, 1);
-            int season = matchSeason(path, m.toMatchResult(), 1);
-            int episode = Integer.valueOf(m.group(2));
+            String show = matchShow(name, showMatcher, 1);
+            int season = matchSeason(name, m.toMatchResult(), 1);
+            int episode = EpisodeOverflow.check(StringUtil.parseInt(filteredFileName, m.start(2), m.end(2)));
             EpisodeMatch em = new EpisodeMatch(show, season, episode);
-            String[] multi = m.group(3).split(epSeparator);
+            String[] multi = epSeparatorPattern.split(m.group(3));
             for(int i = 1; i < multi.length; i++) {
-                em.addEpisodeNo(Integer.valueOf(multi[i]));
+                int next = StringUtil.parseInt(multi[i]);
+                if(next >= 0) {
+                    em.addEpisodeNo(next);
+                }
             }
             return em;
         }
-        m = pattern.matcher(filteredFileName);
+        m = pattern.matcher(guard(filteredFileName));
         if(m.find()) {
-            String show = matchShow(path, showMatcher, 1);
-            int season = matchSeason(path, m.toMatchResult(), 1);
-            int episode = Integer.valueOf(m.group(2));
+            String show = matchShow(name, showMatcher, 1);
+            int season = matchSeason(name, m.toMatchResult(), 1);
+            int episode = EpisodeOverflow.check(StringUtil.parseInt(filteredFileName, m.start(2), m.end(2)));
             EpisodeMatch em = new EpisodeMatch(show, season, episode);
             while(m.find()) {
-                em.addEpisodeNo(Integer.valueOf(m.group(2)));
+                int next = StringUtil.parseInt(filteredFileName, m.start(2), m.end(2));
+                if(next >= 0) {
+                    em.addEpisodeNo(next);
+                }
             }
             return em;
         }
@@ -29,6 +29,7 @@
 package uk.co.samicemalone.libtv.model;
 
 import java.util.Collection;
+import java.util.function.IntPredicate;
 
 /**
  * AbstractEpisode represents an episode number or a collection of episode numbers
@@ -44,7 +45,7 @@ public abstract class AbstractEpisode {
      * @return episode no if single episode, or minimum episode if multi episode
      */
     public int getEpisode() {
-        return getEpisodesAsRange().getStart();
+        return getEpisodeNumbers().getMin();
     }
     
     /**
@@ -53,23 +54,28 @@ public abstract class AbstractEpisode {
      */
     public abstract Collection<Integer> getEpisodes();
     
+    /**
+     * Get the episodes as EpisodeNumbers. Implementations that store their
+     * episodes as EpisodeNumbers should return them directly so that the
+     * episode queries don't box each episode number.
+     * @return EpisodeNumbers
+     */
+    public EpisodeNumbers getEpisodeNumbers() {
+        Collection<Integer> episodes = getEpisodes();
+        if(episodes instanceof EpisodeNumbers) {
+            return (EpisodeNumbers) episodes;
+        }
+        return new EpisodeNumbers(episodes);
+    }
+    
     /**
      * Get the episodes as a Range. If this is a single episode, the range
      * start and end values will be the same.
      * @return Range
      */
     public Range getEpisodesAsRange() {
-        int min = Integer.MAX_VALUE;
-        int max = -1;
-        for(int ep : getEpisodes()) {
-            if(ep < min) {
-                min = ep;
-            }
-            if(ep > max) {
-                max = ep;
-            }
-        }
-        return new Range(min, max);
+        EpisodeNumbers episodes = getEpisodeNumbers();
+        return new Range(episodes.getMin(), episodes.getMax());
     }
     
     /**
@@ -86,12 +92,21 @@ public abstract class AbstractEpisode {
         return false;
     }
     
+    /**
+     * Check whether any episode number matches the given predicate.
+     * @param predicate predicate to test against each episode number
+     * @return true if at least one episode number matches the predicate
+     */
+    public boolean anyEpisodeMatches(IntPredicate predicate) {
+        return getEpisodeNumbers().anyMatch(predicate);
+    }
+    
     /**
      * Check if this episode contains multiple episode numbers.
      * @return true if this is a multi episode, false otherwise
      */
     public boolean isMultiEpisode() {
-        return getEpisodes().size() > 1;
+        return getEpisodeNumbers().size() > 1;
     }
     
     /**
@@ -100,12 +115,7 @@ public abstract class AbstractEpisode {
      * @return true if the episode number matches this episode. false otherwise
      */
     public boolean isEpisodeNo(final int episode) {
-        return episodeMatches(new MatchCondition<Integer>() {
-            @Override
-            public boolean matches(Integer toMatch) {
-                return toMatch == episode;
-            }
-        });
+        return getEpisodeNumbers().containsInt(episode);
     }
     
     /**
@@ -114,19 +124,15 @@ public abstract class AbstractEpisode {
      * @return true if every episode number is in the range given, otherwise false.
      */
     public boolean isEpisodeInRange(final Range range) {
-        return episodeMatches(new MatchCondition<Integer>() {
-            @Override
-            public boolean matches(Integer toMatch) {
-                return range.contains(toMatch);
-            }
-        });
+        return getEpisodeNumbers().anyInRange(range.getStart(), range.getEnd());
     }
 
     @Override
     public String toString() {
+        EpisodeNumbers episodes = getEpisodeNumbers();
         StringBuilder sb = new StringBuilder();
-        for(int episode : getEpisodes()) {
-            sb.append('e').append(String.format("%02d", episode));
+        for(int i = 0; i < episodes.size(); i++) {
+            sb.append('e').append(String.format("%02d", episodes.getInt(i)));
         }
         return sb.toString();
     }
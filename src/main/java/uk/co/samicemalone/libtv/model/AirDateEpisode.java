@@ -0,0 +1,117 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * AirDateEpisode represents an episode of a daily show that is identified by
+ * its air date instead of a season and episode number e.g. news and talk shows.
+ * @author Sam Malone
+ */
+public class AirDateEpisode {
+    
+    private final String show;
+    private final LocalDate airDate;
+    private final EpisodeName episodeName;
+    private File episodeFile;
+
+    /**
+     * Create a new instance of AirDateEpisode
+     * @param show TV show or null if not known
+     * @param airDate air date
+     * @param episodeName episode name or null if not known
+     */
+    public AirDateEpisode(String show, LocalDate airDate, EpisodeName episodeName) {
+        this.show = ShowDictionary.getDefault().intern(show);
+        this.airDate = Objects.requireNonNull(airDate, "airDate");
+        this.episodeName = episodeName;
+    }
+
+    /**
+     * Get the TV show
+     * @return TV show or null if not present
+     */
+    public String getShow() {
+        return show;
+    }
+
+    /**
+     * Get the air date
+     * @return air date
+     */
+    public LocalDate getAirDate() {
+        return airDate;
+    }
+
+    /**
+     * Get the EpisodeName this episode was matched from
+     * @return EpisodeName or null if not present
+     */
+    public EpisodeName getEpisodeName() {
+        return episodeName;
+    }
+    
+    /**
+     * Get the episode File. The File is created from the EpisodeName the
+     * first time this method is called.
+     * @return episode File or null if not present
+     */
+    public File getEpisodeFile() {
+        if(episodeFile == null && episodeName != null) {
+            episodeFile = episodeName.toFile();
+        }
+        return episodeFile;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 43 * hash + Objects.hashCode(show);
+        hash = 43 * hash + airDate.hashCode();
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final AirDateEpisode other = (AirDateEpisode) obj;
+        return Objects.equals(show, other.show) && airDate.equals(other.airDate);
+    }
+
+    @Override
+    public String toString() {
+        return show == null ? airDate.toString() : show + " " + airDate;
+    }
+    
+}
@@ -0,0 +1,193 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * AirDateIndex is an index of daily show episodes sorted by air date. Looking
+ * up an episode by date, or the nearest episode before or after a date, is
+ * O(log n) in the number of episodes so large daily show folders don't need
+ * to be scanned for each lookup. If more than one episode has the same air
+ * date, the first episode added is kept.
+ * @author Sam Malone
+ */
+public class AirDateIndex {
+    
+    private final NavigableMap<LocalDate, AirDateEpisode> index;
+
+    /**
+     * Create a new empty instance of AirDateIndex
+     */
+    public AirDateIndex() {
+        index = new TreeMap<>();
+    }
+
+    /**
+     * Create a new instance of AirDateIndex containing the episodes given
+     * @param episodes episodes to add
+     */
+    public AirDateIndex(Collection<AirDateEpisode> episodes) {
+        this();
+        addAll(episodes);
+    }
+    
+    /**
+     * Add the episode to the index
+     * @param episode episode to add
+     * @return true if added, false if an episode with the same air date is
+     * already present
+     */
+    public boolean add(AirDateEpisode episode) {
+        return index.putIfAbsent(episode.getAirDate(), episode) == null;
+    }
+    
+    /**
+     * Add each episode to the index
+     * @param episodes episodes to add
+     */
+    public final void addAll(Collection<AirDateEpisode> episodes) {
+        for(AirDateEpisode episode : episodes) {
+            add(episode);
+        }
+    }
+    
+    /**
+     * Get the episode that aired on the date given
+     * @param airDate air date
+     * @return episode or null if not present
+     */
+    public AirDateEpisode get(LocalDate airDate) {
+        return index.get(airDate);
+    }
+    
+    /**
+     * Check if an episode aired on the date given
+     * @param airDate air date
+     * @return true if present, false otherwise
+     */
+    public boolean contains(LocalDate airDate) {
+        return index.containsKey(airDate);
+    }
+    
+    /**
+     * Get the latest episode that aired on or before the date given
+     * @param airDate air date
+     * @return episode or null if not present
+     */
+    public AirDateEpisode getOnOrBefore(LocalDate airDate) {
+        Map.Entry<LocalDate, AirDateEpisode> e = index.floorEntry(airDate);
+        return e == null ? null : e.getValue();
+    }
+    
+    /**
+     * Get the earliest episode that aired on or after the date given
+     * @param airDate air date
+     * @return episode or null if not present
+     */
+    public AirDateEpisode getOnOrAfter(LocalDate airDate) {
+        Map.Entry<LocalDate, AirDateEpisode> e = index.ceilingEntry(airDate);
+        return e == null ? null : e.getValue();
+    }
+    
+    /**
+     * Get the episode that aired directly before the episode given
+     * @param episode episode
+     * @return previous episode or null if not present
+     */
+    public AirDateEpisode getPrevious(AirDateEpisode episode) {
+        Map.Entry<LocalDate, AirDateEpisode> e = index.lowerEntry(episode.getAirDate());
+        return e == null ? null : e.getValue();
+    }
+    
+    /**
+     * Get the episode that aired directly after the episode given
+     * @param episode episode
+     * @return next episode or null if not present
+     */
+    public AirDateEpisode getNext(AirDateEpisode episode) {
+        Map.Entry<LocalDate, AirDateEpisode> e = index.higherEntry(episode.getAirDate());
+        return e == null ? null : e.getValue();
+    }
+    
+    /**
+     * Get the episodes that aired between the dates given inclusive, sorted
+     * by air date
+     * @param from first air date
+     * @param to last air date
+     * @return list of episodes or empty list
+     */
+    public List<AirDateEpisode> getBetween(LocalDate from, LocalDate to) {
+        if(from.isAfter(to)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(index.subMap(from, true, to, true).values());
+    }
+    
+    /**
+     * Get the most recent episode
+     * @return episode or null if empty
+     */
+    public AirDateEpisode getLatest() {
+        Map.Entry<LocalDate, AirDateEpisode> e = index.lastEntry();
+        return e == null ? null : e.getValue();
+    }
+    
+    /**
+     * Remove the episode that aired on the date given
+     * @param airDate air date
+     * @return removed episode or null if not present
+     */
+    public AirDateEpisode remove(LocalDate airDate) {
+        return index.remove(airDate);
+    }
+    
+    /**
+     * Get the number of episodes in the index
+     * @return number of episodes
+     */
+    public int size() {
+        return index.size();
+    }
+    
+    /**
+     * Check whether the index is empty
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+    
+}
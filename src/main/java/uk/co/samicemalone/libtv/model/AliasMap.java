@@ -30,7 +30,6 @@ package uk.co.samicemalone.libtv.model;
 
 import java.util.HashMap;
 import java.util.Map;
-import uk.co.samicemalone.libtv.util.StringUtil;
 
 /**
  * Creates a mapping of show names to their aliases.
@@ -96,7 +95,7 @@ public class AliasMap {
     }
     
     private String formatShow(String show) {
-        return alnumCompare ? StringUtil.retainAlnum(show) : show;
+        return alnumCompare ? ShowDictionary.getDefault().getKey(show) : show;
     }
 
 }
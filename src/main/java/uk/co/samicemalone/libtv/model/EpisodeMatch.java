@@ -39,14 +39,16 @@ import java.util.List;
  */
 public class EpisodeMatch extends AbstractTVEpisode {
     
-    private String show;
+    private ShowDictionary.Entry show;
     private int season;
     private File episodeFile;
-    private List<Integer> episodes;
+    private EpisodeName episodeName;
+    private EpisodeNumbers episodes;
+    private int releaseTags;
 
     public EpisodeMatch() {
         season = NO_SEASON;
-        episodes = new ArrayList<>();
+        episodes = new EpisodeNumbers();
     }
 
     public EpisodeMatch(int episode) {
@@ -62,19 +64,24 @@ public class EpisodeMatch extends AbstractTVEpisode {
     }
 
     public EpisodeMatch(String show, int season, int episode) {
-        this(show, season, new ArrayList<Integer>());
-        episodes.add(episode);
+        this(show, season, new EpisodeNumbers(episode));
     }
 
     public EpisodeMatch(String show, int season, List<Integer> episodes) {
-        this.show = show;
+        setShow(show);
         this.season = season;
-        this.episodes = episodes;
+        if(episodes instanceof EpisodeNumbers) {
+            this.episodes = (EpisodeNumbers) episodes;
+        } else {
+            this.episodes = new EpisodeNumbers(episodes);
+        }
     }
     
     public EpisodeMatch(EpisodeMatch m) {
-        this(m.getShow(), m.getSeason(), new ArrayList<>(m.getEpisodes()));
-        episodeFile = m.getEpisodeFile();
+        this(m.getShow(), m.getSeason(), new EpisodeNumbers(m.episodes));
+        episodeFile = m.episodeFile;
+        episodeName = m.episodeName;
+        releaseTags = m.releaseTags;
     }
     
     /**
@@ -83,7 +90,7 @@ public class EpisodeMatch extends AbstractTVEpisode {
      */
     public void addEpisodeNo(int... episodes) {
         for(int e : episodes) {
-            this.episodes.add(e);
+            this.episodes.addInt(e);
         }
     }
     
@@ -93,7 +100,7 @@ public class EpisodeMatch extends AbstractTVEpisode {
      */
     public void addEpisodeNo(Collection<Integer> episodes) {
         for(int e : episodes) {
-            this.episodes.add(e);
+            this.episodes.addInt(e);
         }
     }
 
@@ -103,15 +110,26 @@ public class EpisodeMatch extends AbstractTVEpisode {
      */
     @Override
     public String getShow() {
-        return show;
+        return show == null ? null : show.getName();
     }
 
     /**
-     * Set TV show
+     * Set TV show. The show is interned in the default {@link ShowDictionary}
+     * so matches of the same show share the same String instance.
      * @param show TV show 
      */
     public void setShow(String show) {
-        this.show = show;
+        this.show = show == null ? null : ShowDictionary.getDefault().lookup(show);
+    }
+    
+    /**
+     * Get the id of the TV show in the default {@link ShowDictionary}. Shows
+     * with the same normalized name have the same id. The id is kept by the
+     * dictionary while this EpisodeMatch is reachable.
+     * @return show id or {@link ShowDictionary#NO_SHOW} if show not present
+     */
+    public int getShowId() {
+        return show == null ? ShowDictionary.NO_SHOW : show.getId();
     }
 
     @Override
@@ -131,20 +149,29 @@ public class EpisodeMatch extends AbstractTVEpisode {
     public List<Integer> getEpisodes() {
         return episodes;
     }
+
+    @Override
+    public EpisodeNumbers getEpisodeNumbers() {
+        return episodes;
+    }
     
     /**
      * Set the episodes in this match
      * @param episodes episodes to set
      */
     public void setEpisodes(Collection<Integer> episodes) {
-        this.episodes = new ArrayList<>(episodes);
+        this.episodes = new EpisodeNumbers(episodes);
     }
 
     /**
-     * Get the episode File 
+     * Get the episode File. If the match has an EpisodeName, the File is
+     * created from the EpisodeName the first time this method is called.
      * @return episode File or null if not present
      */
     public File getEpisodeFile() {
+        if(episodeFile == null && episodeName != null) {
+            episodeFile = episodeName.toFile();
+        }
         return episodeFile;
     }
 
@@ -154,6 +181,43 @@ public class EpisodeMatch extends AbstractTVEpisode {
      */
     public void setEpisodeFile(File episodeFile) {
         this.episodeFile = episodeFile;
+        this.episodeName = null;
+    }
+    
+    /**
+     * Get the EpisodeName this match was matched from
+     * @return EpisodeName or null if not present
+     */
+    public EpisodeName getEpisodeName() {
+        return episodeName;
+    }
+    
+    /**
+     * Set the EpisodeName this match was matched from. The episode File is
+     * created from the EpisodeName when it is first needed.
+     * @param episodeName EpisodeName
+     */
+    public void setEpisodeName(EpisodeName episodeName) {
+        this.episodeName = episodeName;
+        this.episodeFile = null;
+    }
+    
+    /**
+     * Get the release tags recorded from the tags stripped from the file name
+     * this match was matched from e.g. 720p, x264 and WEB-DL
+     * @return ReleaseTags or {@link ReleaseTags#NONE} if none were recorded
+     */
+    public ReleaseTags getReleaseTags() {
+        return ReleaseTags.valueOf(releaseTags);
+    }
+    
+    /**
+     * Set the release tags recorded from the file name this match was
+     * matched from
+     * @param releaseTags ReleaseTags
+     */
+    public void setReleaseTags(ReleaseTags releaseTags) {
+        this.releaseTags = releaseTags == null ? 0 : releaseTags.toBits();
     }
     
     /**
@@ -164,9 +228,11 @@ public class EpisodeMatch extends AbstractTVEpisode {
     @Override
     public List<EpisodeMatch> toSplitEpisodeList() {
         List<EpisodeMatch> list = new ArrayList<>(episodes.size());
-        for(Integer episodeNo : episodes) {
-            EpisodeMatch m = new EpisodeMatch(show, season, episodeNo);
-            m.setEpisodeFile(episodeFile);
+        for(int i = 0; i < episodes.size(); i++) {
+            EpisodeMatch m = new EpisodeMatch(getShow(), season, episodes.getInt(i));
+            m.episodeFile = episodeFile;
+            m.episodeName = episodeName;
+            m.releaseTags = releaseTags;
             list.add(m);
         }
         return list;
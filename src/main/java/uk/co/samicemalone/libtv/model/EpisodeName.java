@@ -0,0 +1,146 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+
+/**
+ * EpisodeName is the file name of an episode being matched with an optional
+ * parent directory context. The Path of the episode is only created when it
+ * is needed, e.g. when a {@link uk.co.samicemalone.libtv.matcher.ShowMatcher}
+ * or {@link uk.co.samicemalone.libtv.matcher.SeasonMatcher} matches from the
+ * path, or when {@link EpisodeMatch#getEpisodeFile()} is called. Names from a
+ * database, a manifest or a network listing can be matched without creating
+ * a Path or File for each name.
+ * <p>
+ * The parent context is resolved at most once. EpisodeName is not thread
+ * safe while its Path is being resolved, but resolving the same Path twice
+ * gives an equal result so an EpisodeName can be shared once matched.
+ * @author Sam Malone
+ */
+public final class EpisodeName {
+    
+    private final String fileName;
+    private final Supplier<Path> parentContext;
+    private Path parent;
+    private Path path;
+
+    /**
+     * Create a new EpisodeName from the path given
+     * @param path episode path
+     */
+    public EpisodeName(Path path) {
+        this.fileName = path.getFileName().toString();
+        this.parentContext = null;
+        this.path = path;
+        this.parent = path.getParent();
+    }
+    
+    /**
+     * Create a new EpisodeName with no parent directory context
+     * @param fileName episode file name
+     */
+    public EpisodeName(CharSequence fileName) {
+        this(fileName, null);
+    }
+    
+    /**
+     * Create a new EpisodeName with a parent directory context. The parent
+     * is resolved only if the path of the episode is needed
+     * @param fileName episode file name
+     * @param parentContext resolves the directory containing the episode or
+     * null if there is no parent directory context
+     */
+    public EpisodeName(CharSequence fileName, Supplier<Path> parentContext) {
+        this.fileName = fileName.toString();
+        this.parentContext = parentContext;
+    }
+    
+    /**
+     * Get the episode file name
+     * @return file name
+     */
+    public String getFileName() {
+        return fileName;
+    }
+    
+    /**
+     * Check if this name has a parent directory, resolved or not
+     * @return true if there is a parent directory context
+     */
+    public boolean hasParent() {
+        return parent != null || parentContext != null;
+    }
+    
+    /**
+     * Get the directory containing the episode, resolving the parent context
+     * if needed
+     * @return parent directory or null if there is no parent directory
+     */
+    public Path getParent() {
+        if(parent == null && parentContext != null) {
+            parent = parentContext.get();
+        }
+        return parent;
+    }
+    
+    /**
+     * Get the episode path, creating it if needed
+     * @return episode path
+     */
+    public Path getPath() {
+        if(path == null) {
+            Path dir = getParent();
+            path = dir == null ? Paths.get(fileName) : dir.resolve(fileName);
+        }
+        return path;
+    }
+    
+    /**
+     * Get the episode File, creating it if needed
+     * @return episode File
+     */
+    public File toFile() {
+        return getPath().toFile();
+    }
+
+    /**
+     * Get the episode path as a String if the path has been created or
+     * given, otherwise the file name.
+     * @return path or file name
+     */
+    @Override
+    public String toString() {
+        return path == null ? fileName : path.toString();
+    }
+    
+}
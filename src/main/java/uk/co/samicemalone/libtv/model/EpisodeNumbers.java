@@ -0,0 +1,326 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+
+/**
+ * EpisodeNumbers is a list of episode numbers backed by a primitive int array.
+ * The primitive methods such as {@link #getInt(int)}, {@link #addInt(int)} and
+ * {@link #anyMatch(IntPredicate)} don't box the episode numbers. The
+ * {@link java.util.List} methods are provided for compatibility with callers
+ * of {@link AbstractEpisode#getEpisodes()}.
+ * @author Sam Malone
+ */
+public class EpisodeNumbers extends AbstractList<Integer> implements RandomAccess {
+    
+    private static final int[] EMPTY = new int[0];
+    
+    private int[] values;
+    private int size;
+
+    /**
+     * Create a new empty instance of EpisodeNumbers
+     */
+    public EpisodeNumbers() {
+        values = EMPTY;
+    }
+
+    /**
+     * Create a new instance of EpisodeNumbers containing the given episodes
+     * @param episodes episode numbers
+     */
+    public EpisodeNumbers(int... episodes) {
+        values = episodes.length == 0 ? EMPTY : episodes.clone();
+        size = episodes.length;
+    }
+
+    /**
+     * Create a new instance of EpisodeNumbers containing the given episodes
+     * @param episodes episode numbers
+     */
+    public EpisodeNumbers(Collection<Integer> episodes) {
+        if(episodes instanceof EpisodeNumbers) {
+            EpisodeNumbers other = (EpisodeNumbers) episodes;
+            values = other.size == 0 ? EMPTY : Arrays.copyOf(other.values, other.size);
+            size = other.size;
+        } else {
+            values = new int[episodes.size()];
+            for(int e : episodes) {
+                values[size++] = e;
+            }
+        }
+    }
+
+    /**
+     * Create a new instance of EpisodeNumbers containing each episode number
+     * from start to end inclusive
+     * @param start first episode number
+     * @param end last episode number
+     * @return EpisodeNumbers
+     */
+    public static EpisodeNumbers span(int start, int end) {
+        EpisodeNumbers numbers = new EpisodeNumbers();
+        numbers.values = new int[Math.max(end - start + 1, 0)];
+        for(int e = start; e <= end; e++) {
+            numbers.values[numbers.size++] = e;
+        }
+        return numbers;
+    }
+
+    /**
+     * Get the episode number at the given index
+     * @param index index
+     * @return episode number
+     */
+    public int getInt(int index) {
+        checkIndex(index, size);
+        return values[index];
+    }
+
+    /**
+     * Add the episode number to the end of this list
+     * @param episode episode number
+     */
+    public void addInt(int episode) {
+        ensureCapacity(size + 1);
+        values[size++] = episode;
+        modCount++;
+    }
+
+    /**
+     * Remove the first occurrence of the episode number from this list
+     * @param episode episode number
+     * @return true if the episode number was removed
+     */
+    public boolean removeInt(int episode) {
+        int index = indexOfInt(episode);
+        if(index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Get the index of the first occurrence of the episode number
+     * @param episode episode number
+     * @return index or -1 if not found
+     */
+    public int indexOfInt(int episode) {
+        for(int i = 0; i < size; i++) {
+            if(values[i] == episode) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if this list contains the episode number
+     * @param episode episode number
+     * @return true if the episode number is contained in this list
+     */
+    public boolean containsInt(int episode) {
+        return indexOfInt(episode) >= 0;
+    }
+
+    /**
+     * Check if any episode number matches the predicate given
+     * @param predicate predicate
+     * @return true if at least one episode number matches
+     */
+    public boolean anyMatch(IntPredicate predicate) {
+        for(int i = 0; i < size; i++) {
+            if(predicate.test(values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if any episode number is between start and end inclusive
+     * @param start range start
+     * @param end range end
+     * @return true if at least one episode number is in the range
+     */
+    public boolean anyInRange(int start, int end) {
+        for(int i = 0; i < size; i++) {
+            if(values[i] >= start && values[i] <= end) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the minimum episode number
+     * @return minimum episode number or {@link Integer#MAX_VALUE} if empty
+     */
+    public int getMin() {
+        int min = Integer.MAX_VALUE;
+        for(int i = 0; i < size; i++) {
+            if(values[i] < min) {
+                min = values[i];
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Get the maximum episode number
+     * @return maximum episode number or -1 if empty
+     */
+    public int getMax() {
+        int max = -1;
+        for(int i = 0; i < size; i++) {
+            if(values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Check if the episode numbers are ascending with no gaps, e.g. 2, 3, 4
+     * @return true if the episode numbers form a contiguous span
+     */
+    public boolean isSpan() {
+        for(int i = 1; i < size; i++) {
+            if(values[i] != values[i - 1] + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get a copy of the episode numbers as an int array
+     * @return episode numbers
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        checkIndex(index, size);
+        int old = values[index];
+        values[index] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        addInt(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        checkIndex(index, size);
+        int old = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && containsInt((Integer) o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof Integer ? indexOfInt((Integer) o) : -1;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for(int i = 0; i < size; i++) {
+            hash = 31 * hash + values[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(o instanceof EpisodeNumbers) {
+            EpisodeNumbers other = (EpisodeNumbers) o;
+            return Arrays.equals(values, 0, size, other.values, 0, other.size);
+        }
+        return super.equals(o);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+    
+}
@@ -0,0 +1,231 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ReleaseTags represents the release information recorded from the tags
+ * stripped from an episode file name e.g. 720p, x264, dd5.1 and WEB-DL.
+ * The resolution, video codec, audio codec, audio channels and source are
+ * packed into a single int so they can be stored compactly in EpisodeMatch.
+ * <p>
+ * If a file name contains more than one tag of the same kind, the first tag
+ * found is recorded.
+ * @author Sam Malone
+ */
+public final class ReleaseTags {
+    
+    public static enum Resolution {
+        UNKNOWN, SD_480, HD_720, HD_1080, UHD_2160
+    }
+    
+    public static enum VideoCodec {
+        UNKNOWN, H264, H265, XVID
+    }
+    
+    public static enum AudioCodec {
+        UNKNOWN, AC3, EAC3, AAC, DTS
+    }
+    
+    public static enum AudioChannels {
+        UNKNOWN, CH_2_0, CH_2_1, CH_5_0, CH_5_1, CH_7_0, CH_7_1
+    }
+    
+    public static enum Source {
+        UNKNOWN, HDTV, WEB_DL, WEBRIP, BLURAY, DVD
+    }
+    
+    private static final int FIELD_BITS = 4;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int RESOLUTION = 0;
+    private static final int VIDEO_CODEC = 1;
+    private static final int AUDIO_CODEC = 2;
+    private static final int AUDIO_CHANNELS = 3;
+    private static final int SOURCE = 4;
+    private static final int FIELD_COUNT = 5;
+    
+    /**
+     * ReleaseTags with no tags recorded
+     */
+    public static final ReleaseTags NONE = new ReleaseTags(0);
+    
+    private static final Map<String, Integer> knownTags = new HashMap<>();
+    
+    static {
+        putTag("480p", RESOLUTION, Resolution.SD_480);
+        putTag("480i", RESOLUTION, Resolution.SD_480);
+        putTag("720p", RESOLUTION, Resolution.HD_720);
+        putTag("720i", RESOLUTION, Resolution.HD_720);
+        putTag("1080p", RESOLUTION, Resolution.HD_1080);
+        putTag("1080i", RESOLUTION, Resolution.HD_1080);
+        putTag("2160p", RESOLUTION, Resolution.UHD_2160);
+        putTag("h264", VIDEO_CODEC, VideoCodec.H264);
+        putTag("x264", VIDEO_CODEC, VideoCodec.H264);
+        putTag("avc", VIDEO_CODEC, VideoCodec.H264);
+        putTag("h265", VIDEO_CODEC, VideoCodec.H265);
+        putTag("x265", VIDEO_CODEC, VideoCodec.H265);
+        putTag("hevc", VIDEO_CODEC, VideoCodec.H265);
+        putTag("xvid", VIDEO_CODEC, VideoCodec.XVID);
+        putTag("hdtv", SOURCE, Source.HDTV);
+        putTag("webdl", SOURCE, Source.WEB_DL);
+        putTag("webrip", SOURCE, Source.WEBRIP);
+        putTag("bluray", SOURCE, Source.BLURAY);
+        putTag("bdrip", SOURCE, Source.BLURAY);
+        putTag("dvdrip", SOURCE, Source.DVD);
+        String[] channels = { "20", "21", "50", "51", "70", "71" };
+        String[][] codecs = { { "dd", "ac3" }, { "ddp", "eac3" }, { "aac" }, { "dts" } };
+        AudioCodec[] audioCodecs = { AudioCodec.AC3, AudioCodec.EAC3, AudioCodec.AAC, AudioCodec.DTS };
+        for(int i = 0; i < codecs.length; i++) {
+            for(String codec : codecs[i]) {
+                int bits = field(AUDIO_CODEC, audioCodecs[i]);
+                knownTags.put(codec, bits);
+                for(int c = 0; c < channels.length; c++) {
+                    knownTags.put(codec + channels[c], bits | field(AUDIO_CHANNELS, AudioChannels.values()[c + 1]));
+                }
+            }
+        }
+    }
+    
+    private static void putTag(String tag, int field, Enum<?> value) {
+        knownTags.put(tag, field(field, value));
+    }
+    
+    private static int field(int field, Enum<?> value) {
+        return value.ordinal() << (field * FIELD_BITS);
+    }
+    
+    /**
+     * Get the packed release tags of a tag e.g. 720p or dd.5.1. Separators in
+     * the tag are ignored and the tag is case insensitive.
+     * @param tag tag
+     * @return packed release tags or 0 if the tag is not a known release tag
+     */
+    public static int classify(String tag) {
+        StringBuilder sb = new StringBuilder(tag.length());
+        for(int i = 0; i < tag.length(); i++) {
+            char c = Character.toLowerCase(tag.charAt(i));
+            if(c != '.' && c != ' ' && c != '_' && c != '-' && c != '+') {
+                sb.append(c);
+            }
+        }
+        Integer bits = knownTags.get(sb.toString());
+        return bits == null ? 0 : bits;
+    }
+    
+    /**
+     * Merge the packed release tags of a tag into the packed release tags
+     * recorded so far. Each kind of tag that has already been recorded is
+     * kept.
+     * @param bits packed release tags recorded so far
+     * @param tagBits packed release tags of the tag to merge
+     * @return merged packed release tags
+     */
+    public static int merge(int bits, int tagBits) {
+        for(int field = 0; field < FIELD_COUNT; field++) {
+            int mask = FIELD_MASK << (field * FIELD_BITS);
+            if((bits & mask) == 0) {
+                bits |= tagBits & mask;
+            }
+        }
+        return bits;
+    }
+    
+    /**
+     * Get the ReleaseTags of the packed release tags given
+     * @param bits packed release tags
+     * @return ReleaseTags
+     */
+    public static ReleaseTags valueOf(int bits) {
+        return bits == 0 ? NONE : new ReleaseTags(bits);
+    }
+    
+    private final int bits;
+
+    private ReleaseTags(int bits) {
+        this.bits = bits;
+    }
+    
+    private int get(int field) {
+        return (bits >>> (field * FIELD_BITS)) & FIELD_MASK;
+    }
+    
+    public Resolution getResolution() {
+        return Resolution.values()[get(RESOLUTION)];
+    }
+    
+    public VideoCodec getVideoCodec() {
+        return VideoCodec.values()[get(VIDEO_CODEC)];
+    }
+    
+    public AudioCodec getAudioCodec() {
+        return AudioCodec.values()[get(AUDIO_CODEC)];
+    }
+    
+    public AudioChannels getAudioChannels() {
+        return AudioChannels.values()[get(AUDIO_CHANNELS)];
+    }
+    
+    public Source getSource() {
+        return Source.values()[get(SOURCE)];
+    }
+    
+    /**
+     * Check if no release tags were recorded
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return bits == 0;
+    }
+    
+    /**
+     * Get the packed release tags
+     * @return packed release tags
+     */
+    public int toBits() {
+        return bits;
+    }
+
+    @Override
+    public int hashCode() {
+        return bits;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ReleaseTags && ((ReleaseTags) obj).bits == bits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %s %s %s", getResolution(), getVideoCodec(), getAudioCodec(), getAudioChannels(), getSource());
+    }
+    
+}
@@ -31,10 +31,47 @@ package uk.co.samicemalone.libtv.model;
 /**
  * RomanNumeral allows for conversion of a Roman Numeral String into its decimal
  * value
+ * <p>
+ * {@link #parse(CharSequence, int, int)} validates and converts a Roman
+ * numeral in a single pass without allocating. The numerals from 1 to 50,
+ * which cover most part numbers, are looked up in a table.
  * @author Sam Malone
  */
 public class RomanNumeral {
     
+    /**
+     * Largest numeral in the lookup table
+     */
+    private static final int TABLE_MAX = 50;
+    
+    /**
+     * Longest numeral in the lookup table (XXXVIII)
+     */
+    private static final int TABLE_MAX_LENGTH = 7;
+    
+    private static final int[] tableKeys = new int[128];
+    private static final int[] tableValues = new int[128];
+    
+    private static final char[] groupOne = { 'C', 'X', 'I' };
+    private static final char[] groupFive = { 'D', 'L', 'V' };
+    private static final char[] groupTen = { 'M', 'C', 'X' };
+    private static final int[] groupUnit = { 100, 10, 1 };
+    
+    static {
+        String[] tens = { "", "X", "XX", "XXX", "XL", "L" };
+        String[] ones = { "", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX" };
+        for(int i = 1; i <= TABLE_MAX; i++) {
+            String numeral = tens[i / 10] + ones[i % 10];
+            int key = tableKey(numeral, 0, numeral.length());
+            int slot = key & (tableKeys.length - 1);
+            while(tableKeys[slot] != 0) {
+                slot = (slot + 1) & (tableKeys.length - 1);
+            }
+            tableKeys[slot] = key;
+            tableValues[slot] = i;
+        }
+    }
+    
     private static final char symbol[] = {'M','D','C','L','X','V','I'};
 
 	private static final int   value[] = {1000,500,100,50,10,5,1};
@@ -59,4 +96,95 @@ public class RomanNumeral {
 		throw new IllegalArgumentException("Invalid Roman Symbol.");
 	}
     
+    /**
+     * Validate and get the value of the Roman numeral in the given region of
+     * the CharSequence. The numeral is case insensitive and must be a valid
+     * numeral between 1 and 4999, e.g. IIII and IC are invalid.
+     * @param s CharSequence containing the numeral
+     * @param start numeral start index
+     * @param end numeral end index
+     * @return value of the Roman numeral or 0 if the region is empty or not
+     * a valid Roman numeral
+     */
+    public static int parse(CharSequence s, int start, int end) {
+        if(end - start <= TABLE_MAX_LENGTH) {
+            int key = tableKey(s, start, end);
+            if(key > 0) {
+                int slot = key & (tableKeys.length - 1);
+                while(tableKeys[slot] != 0) {
+                    if(tableKeys[slot] == key) {
+                        return tableValues[slot];
+                    }
+                    slot = (slot + 1) & (tableKeys.length - 1);
+                }
+            }
+        }
+        int pos = start;
+        int count = 0;
+        while(pos < end && count < 4 && upper(s.charAt(pos)) == 'M') {
+            pos++;
+            count++;
+        }
+        int value = count * 1000;
+        for(int group = 0; group < groupUnit.length; group++) {
+            char one = groupOne[group];
+            char c = pos < end ? upper(s.charAt(pos)) : 0;
+            char next = pos + 1 < end ? upper(s.charAt(pos + 1)) : 0;
+            if(c == one && next == groupTen[group]) {
+                value += 9 * groupUnit[group];
+                pos += 2;
+            } else if(c == one && next == groupFive[group]) {
+                value += 4 * groupUnit[group];
+                pos += 2;
+            } else {
+                if(c == groupFive[group]) {
+                    value += 5 * groupUnit[group];
+                    pos++;
+                }
+                count = 0;
+                while(pos < end && count < 3 && upper(s.charAt(pos)) == one) {
+                    pos++;
+                    count++;
+                }
+                value += count * groupUnit[group];
+            }
+        }
+        return pos == end ? value : 0;
+    }
+    
+    /**
+     * Validate and get the value of the Roman numeral given
+     * @param roman Roman numeral
+     * @return value of the Roman numeral or 0 if not a valid Roman numeral
+     * @see #parse(CharSequence, int, int) 
+     */
+    public static int parse(CharSequence roman) {
+        return parse(roman, 0, roman.length());
+    }
+    
+    /**
+     * Pack a numeral made of the symbols I, V, X and L into a table key with
+     * 3 bits per symbol
+     * @return table key or 0 if the region contains any other character
+     */
+    private static int tableKey(CharSequence s, int start, int end) {
+        int key = 0;
+        for(int i = start; i < end; i++) {
+            int bits;
+            switch(upper(s.charAt(i))) {
+                case 'I': bits = 1; break;
+                case 'V': bits = 2; break;
+                case 'X': bits = 3; break;
+                case 'L': bits = 4; break;
+                default: return 0;
+            }
+            key = (key << 3) | bits;
+        }
+        return key;
+    }
+    
+    private static char upper(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - 32) : c;
+    }
+    
 }
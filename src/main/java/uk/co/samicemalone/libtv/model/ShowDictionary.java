@@ -0,0 +1,302 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import uk.co.samicemalone.libtv.util.StringUtil;
+
+/**
+ * ShowDictionary interns TV show names and assigns each show a compact int id.
+ * Show names that have the same normalized key, e.g. "The Office" and
+ * "the.office", share the same id. The normalized key is computed once per
+ * distinct show name so shows can be compared and hashed by id.
+ * <p>
+ * The dictionary does not grow without bound. The id of a show is only kept
+ * while an {@link EpisodeMatch} of the show is reachable, or while one of its
+ * names is among the most recently interned names. Once neither is the case,
+ * the id is released and may be assigned to another show. An id should
+ * therefore not be stored without the EpisodeMatch it was taken from.
+ * Interning is best effort: once the interned names exceed the maximum, they
+ * are discarded and interned again as they are seen.
+ * @author Sam Malone
+ */
+public class ShowDictionary {
+    
+    /**
+     * Id of a null show
+     */
+    public static final int NO_SHOW = -1;
+    
+    /**
+     * Default maximum number of interned show names
+     */
+    public static final int DEFAULT_MAX_NAMES = 8192;
+    
+    private static final ShowDictionary DEFAULT = new ShowDictionary();
+    
+    /**
+     * Get the ShowDictionary used by EpisodeMatch
+     * @return default ShowDictionary
+     */
+    public static ShowDictionary getDefault() {
+        return DEFAULT;
+    }
+    
+    private final int maxNames;
+    private final ConcurrentHashMap<String, Entry> names = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, IdReference> keyIds = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Id> released = new ReferenceQueue<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+
+    /**
+     * Create a new ShowDictionary that interns at most
+     * {@link #DEFAULT_MAX_NAMES} show names
+     */
+    public ShowDictionary() {
+        this(DEFAULT_MAX_NAMES);
+    }
+
+    /**
+     * Create a new ShowDictionary
+     * @param maxNames maximum number of show names to intern
+     * @throws IllegalArgumentException if maxNames is not positive
+     */
+    public ShowDictionary(int maxNames) {
+        if(maxNames <= 0) {
+            throw new IllegalArgumentException("Invalid maximum number of names: " + maxNames);
+        }
+        this.maxNames = maxNames;
+    }
+    
+    /**
+     * Get the interned instance of the show name given, adding it to the
+     * dictionary if not present
+     * @param show TV show
+     * @return interned show name or null if show is null
+     */
+    public String intern(String show) {
+        return show == null ? null : lookup(show).name;
+    }
+    
+    /**
+     * Get the id of the show given, assigning a new id if the normalized show
+     * key is not present
+     * @param show TV show
+     * @return show id or {@link #NO_SHOW} if show is null
+     */
+    public int getId(String show) {
+        return show == null ? NO_SHOW : lookup(show).id.id;
+    }
+    
+    /**
+     * Find the id of the show given without adding it to the dictionary
+     * @param show TV show
+     * @return show id or {@link #NO_SHOW} if not present
+     */
+    public int findId(String show) {
+        if(show == null) {
+            return NO_SHOW;
+        }
+        Entry e = names.get(show);
+        if(e != null) {
+            return e.id.id;
+        }
+        IdReference ref = keyIds.get(StringUtil.retainAlnum(show));
+        Id id = ref == null ? null : ref.get();
+        return id == null ? NO_SHOW : id.id;
+    }
+    
+    /**
+     * Get the normalized key of the show given. The key is only computed if
+     * the show is not present in the dictionary.
+     * @param show TV show
+     * @return lower case alphanumeric show key
+     */
+    public String getKey(String show) {
+        Entry e = names.get(show);
+        return e != null ? e.id.key : StringUtil.retainAlnum(show);
+    }
+    
+    /**
+     * Get the normalized key of the show with the given id
+     * @param id show id
+     * @return lower case alphanumeric show key
+     * @throws IndexOutOfBoundsException if the id is not assigned
+     */
+    public String getKey(int id) {
+        synchronized(keys) {
+            String key = keys.get(id);
+            if(key == null) {
+                throw new IndexOutOfBoundsException("Show id not assigned: " + id);
+            }
+            return key;
+        }
+    }
+    
+    /**
+     * Get the number of show ids assigned
+     * @return number of show ids
+     */
+    public int size() {
+        synchronized(keys) {
+            expungeReleasedIds();
+            return keys.size() - freeIds.size();
+        }
+    }
+    
+    /**
+     * Get the entry of the show given, adding it to the dictionary if not
+     * present. The entry holds the id of the show, so the id is kept while
+     * the entry is reachable.
+     * @param show TV show
+     * @return entry
+     */
+    Entry lookup(String show) {
+        Entry e = names.get(show);
+        if(e == null) {
+            if(names.size() >= maxNames) {
+                names.clear();
+            }
+            e = names.computeIfAbsent(show, this::newEntry);
+        }
+        return e;
+    }
+    
+    private Entry newEntry(String show) {
+        return new Entry(show, assignId(StringUtil.retainAlnum(show)));
+    }
+    
+    private Id assignId(String key) {
+        IdReference ref = keyIds.get(key);
+        Id id = ref == null ? null : ref.get();
+        if(id != null) {
+            return id;
+        }
+        synchronized(keys) {
+            expungeReleasedIds();
+            ref = keyIds.get(key);
+            id = ref == null ? null : ref.get();
+            if(id == null) {
+                int value = freeIds.isEmpty() ? keys.size() : freeIds.pop();
+                id = new Id(key, value);
+                if(value == keys.size()) {
+                    keys.add(key);
+                } else {
+                    keys.set(value, key);
+                }
+                keyIds.put(key, new IdReference(id, released));
+            }
+            return id;
+        }
+    }
+    
+    /**
+     * Release the ids that are no longer reachable so they can be reused.
+     * Must be called while holding the lock on keys.
+     */
+    private void expungeReleasedIds() {
+        IdReference ref;
+        while((ref = (IdReference) released.poll()) != null) {
+            if(keyIds.remove(ref.key, ref)) {
+                keys.set(ref.id, null);
+                freeIds.push(ref.id);
+            }
+        }
+    }
+    
+    /**
+     * Id assigned to a normalized show key
+     */
+    private static final class Id {
+        
+        private final String key;
+        private final int id;
+
+        private Id(String key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+        
+    }
+    
+    /**
+     * Weak reference to an Id that remembers the key and id to release
+     */
+    private static final class IdReference extends WeakReference<Id> {
+        
+        private final String key;
+        private final int id;
+
+        private IdReference(Id referent, ReferenceQueue<Id> queue) {
+            super(referent, queue);
+            this.key = referent.key;
+            this.id = referent.id;
+        }
+        
+    }
+    
+    /**
+     * Interned show name and the id of its normalized key
+     */
+    static final class Entry {
+        
+        private final String name;
+        private final Id id;
+
+        private Entry(String name, Id id) {
+            this.name = name;
+            this.id = id;
+        }
+        
+        /**
+         * Get the interned show name
+         * @return show name
+         */
+        String getName() {
+            return name;
+        }
+        
+        /**
+         * Get the show id
+         * @return show id
+         */
+        int getId() {
+            return id.id;
+        }
+        
+    }
+    
+}
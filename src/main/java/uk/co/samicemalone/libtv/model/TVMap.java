@@ -34,7 +34,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import uk.co.samicemalone.libtv.util.StringUtil;
 
 /**
  * TVMap creates a mapping between shows, seasons and episodes to allow for
@@ -42,12 +41,15 @@ import uk.co.samicemalone.libtv.util.StringUtil;
  * Episode paths that contain more than one episode number are duplicated in
  * map to allow for quick retrieval using partial episode number matches e.g.
  * searching for episode 1 when the map contains a double episode [1, 2]
+ * <p>
+ * Shows are keyed by their {@link ShowDictionary} id so episodes are added
+ * without normalizing the show name again.
  * @author Sam Malone
  */
 public class TVMap {
     
-    private final Map<String, String> showMap;
-    private final Map<String, Map<Integer, Map<Integer, EpisodeMatch>>> tvMap;
+    private final Map<Integer, String> showMap;
+    private final Map<Integer, Map<Integer, Map<Integer, EpisodeMatch>>> tvMap;
     
     /**
      * Create a new empty instance of TVMap
@@ -72,7 +74,10 @@ public class TVMap {
      * @param e episode to add
      */
     public void addEpisode(EpisodeMatch e) {
-        String show = StringUtil.retainAlnum(e.getShow());
+        if(e.getShow() == null) {
+            throw new NullPointerException("The episode show is null");
+        }
+        int show = e.getShowId();
         if(!tvMap.containsKey(show)) {
             showMap.put(show, e.getShow());
             tvMap.put(show, new HashMap<Integer, Map<Integer, EpisodeMatch>>());
@@ -105,7 +110,7 @@ public class TVMap {
      * @return true if found, false otherwise
      */
     public boolean contains(EpisodeMatch episode) {
-        return contains(episode.getShow(), episode.getSeason(), episode.getEpisode());
+        return contains(episode.getShowId(), episode.getSeason(), episode.getEpisode());
     }
     
     /**
@@ -116,7 +121,17 @@ public class TVMap {
      * @return true if found, false otherwise
      */
     public boolean contains(String show, int season, int episode) {
-        show = StringUtil.retainAlnum(show);
+        return contains(showId(show), season, episode);
+    }
+    
+    /**
+     * Check if the episode is in the map
+     * @param show tv show id
+     * @param season season number or {@link EpisodeMatch#NO_SEASON}
+     * @param episode episode number
+     * @return true if found, false otherwise
+     */
+    private boolean contains(int show, int season, int episode) {
         return  tvMap.containsKey(show) &&
                 tvMap.get(show).containsKey(season) &&
                 tvMap.get(show).get(season).containsKey(episode);
@@ -128,7 +143,7 @@ public class TVMap {
      * @return true if found, false otherwise
      */
     public boolean containsShow(String show) {
-        return tvMap.containsKey(StringUtil.retainAlnum(show));
+        return tvMap.containsKey(showId(show));
     }
     
     /**
@@ -138,8 +153,8 @@ public class TVMap {
      * @return true if found, false otherwise
      */
     public boolean containsSeason(String show, int season) {
-        show = StringUtil.retainAlnum(show);
-        return tvMap.containsKey(show) && tvMap.get(show).containsKey(season);
+        int showId = showId(show);
+        return tvMap.containsKey(showId) && tvMap.get(showId).containsKey(season);
     }
     
     /**
@@ -156,7 +171,8 @@ public class TVMap {
      * @return set of seasons in the map or empty set
      */
     public Set<Integer> getSeasons(String show) {
-        return containsShow(show) ? new HashSet<>(tvMap.get(StringUtil.retainAlnum(show)).keySet()) : new HashSet<Integer>();
+        int showId = showId(show);
+        return tvMap.containsKey(showId) ? new HashSet<>(tvMap.get(showId).keySet()) : new HashSet<Integer>();
     }
     
     /**
@@ -165,11 +181,11 @@ public class TVMap {
      * @return set of episodes in the map for the given show or empty set
      */
     public Set<EpisodeMatch> getEpisodes(String show) {
-        show = StringUtil.retainAlnum(show);
+        int showId = showId(show);
         Set<EpisodeMatch> set = new HashSet<>();
-        if(tvMap.containsKey(show)) {
-            for(int season : tvMap.get(show).keySet()) {
-                set.addAll(tvMap.get(show).get(season).values());
+        if(tvMap.containsKey(showId)) {
+            for(int season : tvMap.get(showId).keySet()) {
+                set.addAll(tvMap.get(showId).get(season).values());
             }
         }
         return set;
@@ -183,7 +199,8 @@ public class TVMap {
      * @return episode or null if not present
      */
     public EpisodeMatch getEpisode(String show, int season, int episode) {
-        return contains(show, season, episode) ? tvMap.get(StringUtil.retainAlnum(show)).get(season).get(episode) : null;
+        int showId = showId(show);
+        return contains(showId, season, episode) ? tvMap.get(showId).get(season).get(episode) : null;
     }
     
     /**
@@ -211,14 +228,14 @@ public class TVMap {
      * @return number of seasons in the map for the given show.
      */
     public int getSeasonCount(String show, boolean includeNoSeason) {
-        show = StringUtil.retainAlnum(show);
+        int showId = showId(show);
         int count = 0;
-        if(tvMap.containsKey(show) && !tvMap.get(show).isEmpty()) {
-            for(int season : tvMap.get(show).keySet()) {
+        if(tvMap.containsKey(showId) && !tvMap.get(showId).isEmpty()) {
+            for(int season : tvMap.get(showId).keySet()) {
                 if(season == EpisodeMatch.NO_SEASON && !includeNoSeason) {
                     continue;
                 }
-                if(!tvMap.get(show).get(season).isEmpty()) {
+                if(!tvMap.get(showId).get(season).isEmpty()) {
                     count++;
                 }
             }
@@ -234,9 +251,9 @@ public class TVMap {
      */
     public Set<EpisodeMatch> getSeasonEpisodes(String show, int season) {
         Set<EpisodeMatch> set = new HashSet<>();
-        show = StringUtil.retainAlnum(show);
-        if(tvMap.containsKey(show) && tvMap.get(show).containsKey(season)) {
-            set.addAll(tvMap.get(show).get(season).values());
+        int showId = showId(show);
+        if(tvMap.containsKey(showId) && tvMap.get(showId).containsKey(season)) {
+            set.addAll(tvMap.get(showId).get(season).values());
         }
         return set;
     }
@@ -247,7 +264,7 @@ public class TVMap {
      * @return episode or null
      */
     private EpisodeMatch getEpisode(EpisodeMatch e) {
-        String show = StringUtil.retainAlnum(e.getShow());
+        int show = e.getShowId();
         return contains(e) ? tvMap.get(show).get(e.getSeason()).get(e.getEpisode()) : null;
     }
     
@@ -286,10 +303,10 @@ public class TVMap {
      * @param season season number or {@link EpisodeMatch#NO_SEASON}
      */
     public void removeSeason(String show, int season) {
-        if(containsShow(show)) {
-            show = StringUtil.retainAlnum(show);
-            tvMap.get(show).remove(season);
-            cleanEmptyShow(show);
+        int showId = showId(show);
+        if(tvMap.containsKey(showId)) {
+            tvMap.get(showId).remove(season);
+            cleanEmptyShow(showId);
         }
     }
     
@@ -298,10 +315,10 @@ public class TVMap {
      * @param show TV show to remove
      */
     public void removeShow(String show) {
-        show = StringUtil.retainAlnum(show);
-        if(tvMap.containsKey(show)) {
-            showMap.remove(show);
-            tvMap.remove(show);
+        int showId = showId(show);
+        if(tvMap.containsKey(showId)) {
+            showMap.remove(showId);
+            tvMap.remove(showId);
         }
     }
     
@@ -311,15 +328,31 @@ public class TVMap {
      */
     public void removeEpisode(EpisodeMatch episode) {
         if(contains(episode)) {
-            String show = StringUtil.retainAlnum(episode.getShow());
+            int show = episode.getShowId();
             Map<Integer, EpisodeMatch> seasonEpisodes = tvMap.get(show).get(episode.getSeason());
-            for(int episodeNo : episode.getEpisodes()) {
-                seasonEpisodes.remove(episodeNo);
+            EpisodeNumbers episodeNumbers = episode.getEpisodeNumbers();
+            for(int i = 0; i < episodeNumbers.size(); i++) {
+                seasonEpisodes.remove(episodeNumbers.getInt(i));
             }
             cleanEmptySeason(show, episode.getSeason());
         }
     }
     
+    /**
+     * Remove the episode number given from the map. The other episode numbers
+     * of the episode match stored for the episode number are not removed.
+     * @param show tv show
+     * @param season season number or {@link EpisodeMatch#NO_SEASON}
+     * @param episode episode number
+     */
+    public void removeEpisode(String show, int season, int episode) {
+        int showId = showId(show);
+        if(contains(showId, season, episode)) {
+            tvMap.get(showId).get(season).remove(episode);
+            cleanEmptySeason(showId, season);
+        }
+    }
+    
     /**
      * Remove the subset of episodes, given by the episode match, from the map.
      * For example, if 24 - S01E01E02 is in the map, then removing 24 - S01E02
@@ -334,8 +367,8 @@ public class TVMap {
             }
             removeEpisode(cacheEp);
             EpisodeMatch newEp = new EpisodeMatch(cacheEp);
-            newEp.getEpisodes().remove(Integer.valueOf(singleEp.getEpisode()));
-            if(!newEp.getEpisodes().isEmpty()) {
+            newEp.getEpisodeNumbers().removeInt(singleEp.getEpisode());
+            if(!newEp.getEpisodeNumbers().isEmpty()) {
                 addEpisode(newEp);
             }
         }
@@ -343,9 +376,9 @@ public class TVMap {
     
     /**
      * Clean the show from the map if it contains no seasons
-     * @param show lower case show
+     * @param show tv show id
      */
-    private void cleanEmptyShow(String show) {
+    private void cleanEmptyShow(int show) {
         if(tvMap.get(show).isEmpty()) {
             tvMap.remove(show);
             showMap.remove(show);
@@ -354,14 +387,23 @@ public class TVMap {
     
     /**
      * Clean the season of show from the map if it contains no episodes
-     * @param show lower case show
+     * @param show tv show id
      * @param season season number or {@link EpisodeMatch#NO_SEASON}
      */
-    private void cleanEmptySeason(String show, int season) {
+    private void cleanEmptySeason(int show, int season) {
         if(tvMap.get(show).get(season).isEmpty()) {
             tvMap.get(show).remove(season);
             cleanEmptyShow(show);
         }
     }
     
+    /**
+     * Find the id of the show in the default {@link ShowDictionary}
+     * @param show tv show
+     * @return show id or {@link ShowDictionary#NO_SHOW} if not present
+     */
+    private static int showId(String show) {
+        return ShowDictionary.getDefault().findId(show);
+    }
+    
 }
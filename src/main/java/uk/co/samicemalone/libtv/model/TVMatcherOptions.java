@@ -28,9 +28,12 @@
  */
 package uk.co.samicemalone.libtv.model;
 
+import uk.co.samicemalone.libtv.matcher.MatchBudget;
+import uk.co.samicemalone.libtv.matcher.MatchCache;
 import uk.co.samicemalone.libtv.matcher.SeasonMatcher;
 import uk.co.samicemalone.libtv.matcher.ShowMatcher;
 import uk.co.samicemalone.libtv.matcher.TVMatcher;
+import uk.co.samicemalone.libtv.matcher.TagStripper;
 import uk.co.samicemalone.libtv.matcher.path.TVElementMatcher;
 
 /**
@@ -49,6 +52,11 @@ public class TVMatcherOptions {
     private SeasonMatcher fallbackSeasonMatcher;
     private boolean fallbackTVMatcherShow;
     private boolean fallbackTVMatcherSeason;
+    private TagStripper tagStripper = TagStripper.getDefault();
+    private TVMatcher.Engine engine = TVMatcher.Engine.REGEX;
+    private MatchBudget matchBudget;
+    private MatchCache matchCache;
+    private boolean prefilter = true;
 
     /**
      * Create an instance of TVMatcherOptions that defers matching the TV show
@@ -229,4 +237,105 @@ public class TVMatcherOptions {
         return fallbackTVMatcherSeason;
     }
 
-}
\ No newline at end of file
+    /**
+     * Add tags to the dictionary of common tags that are stripped from an
+     * episode file name before matching e.g. 2160p, x.265, hevc, ddp.5.1.
+     * See {@link TagStripper} for the tag format.
+     * @param tags tags to strip
+     * @return this instance
+     */
+    public TVMatcherOptions commonTags(String... tags) {
+        tagStripper = tagStripper.withTags(tags);
+        return this;
+    }
+    
+    /**
+     * Get the TagStripper used to strip common tags from an episode file name
+     * @return TagStripper
+     */
+    public TagStripper getTagStripper() {
+        return tagStripper;
+    }
+    
+    /**
+     * Set the engine used by the default matchers to match an episode file
+     * name. Defaults to {@link TVMatcher.Engine#REGEX}
+     * @param engine matcher engine
+     * @return this instance
+     */
+    public TVMatcherOptions engine(TVMatcher.Engine engine) {
+        this.engine = engine == null ? TVMatcher.Engine.REGEX : engine;
+        return this;
+    }
+    
+    /**
+     * Get the engine used by the default matchers to match an episode file name
+     * @return matcher engine
+     */
+    public TVMatcher.Engine getEngine() {
+        return engine;
+    }
+    
+    /**
+     * Set the budget of each regex run used to match an episode file name.
+     * Once exceeded, the file name is treated as not matched instead of the
+     * regex backtracking for an unbounded time. The token based engines run
+     * in linear time so are not limited by the budget.
+     * @param matchBudget match budget or null for no budget
+     * @return this instance
+     */
+    public TVMatcherOptions matchBudget(MatchBudget matchBudget) {
+        this.matchBudget = matchBudget;
+        return this;
+    }
+    
+    /**
+     * Get the budget of each regex run used to match an episode file name
+     * @return match budget or null if there is no budget
+     */
+    public MatchBudget getMatchBudget() {
+        return matchBudget;
+    }
+    
+    /**
+     * Set the cache of episode match results. Results are keyed by the file
+     * path and this instance, so this instance must not be modified once
+     * results have been cached.
+     * @param matchCache match cache or null to disable caching
+     * @return this instance
+     */
+    public TVMatcherOptions matchCache(MatchCache matchCache) {
+        this.matchCache = matchCache;
+        return this;
+    }
+    
+    /**
+     * Get the cache of episode match results
+     * @return match cache or null if results are not cached
+     */
+    public MatchCache getMatchCache() {
+        return matchCache;
+    }
+    
+    /**
+     * Set whether a matcher is skipped if the filtered file name does not
+     * have the features it requires. Enabled by default.
+     * @see uk.co.samicemalone.libtv.matcher.FilenameFeatures
+     * @param prefilter true to enable the prefilter
+     * @return this instance
+     */
+    public TVMatcherOptions prefilter(boolean prefilter) {
+        this.prefilter = prefilter;
+        return this;
+    }
+    
+    /**
+     * Check if a matcher is skipped if the filtered file name does not have
+     * the features it requires
+     * @return true if the prefilter is enabled
+     */
+    public boolean isPrefilterEnabled() {
+        return prefilter;
+    }
+
+}
@@ -28,26 +28,55 @@
  */
 package uk.co.samicemalone.libtv.util;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Utility class for converting a String into TV show case. TV show case is a
  * variant of title case but makes exceptions to capitalise bracketed strings
  * which are common for foreign TV show remakes e.g. the.office.(us) =&gt; The Office (US)
+ * <p>
+ * Every file in a show directory usually gives the same show string so
+ * converted shows are kept in a bounded concurrent cache which is cleared
+ * when it reaches {@link #CACHE_SIZE}. Lookups do not take a lock. The
+ * cache statistics can be read with {@link #getCacheHitCount()} and
+ * {@link #getCacheMissCount()}.
  * @author Sam Malone
  */
 public class ShowCase {
     
-    private static final String[] titleExceptionsTwoChar = new String[] {
-        "As", "At", "By", "In", "Of", "On", "Or", "To", "Vs", "VS"
-    };
-    
-    private static final String[] titleExceptionsThreeChar = new String[] {
-        "And", "For", "The"
-    };
+    /**
+     * Maximum number of converted shows to cache
+     */
+    public static final int CACHE_SIZE = 1024;
     
-    private static final String[] titleExceptionsFourChar = new String[] {
+    private static final String[] titleExceptions = new String[] {
+        "A",
+        "As", "At", "By", "In", "Of", "On", "Or", "To", "Vs", "VS",
+        "And", "For", "The",
         "From", "With"
     };
     
+    private static final String[] exceptionTable = new String[64];
+    
+    static {
+        for(String word : titleExceptions) {
+            int i = hash(word.toCharArray(), 0, word.length()) & (exceptionTable.length - 1);
+            while(exceptionTable[i] != null) {
+                i = (i + 1) & (exceptionTable.length - 1);
+            }
+            exceptionTable[i] = word;
+        }
+    }
+    
+    private static final ThreadLocal<char[]> buffer = ThreadLocal.withInitial(() -> new char[64]);
+    
+    private static final Map<String, String> cache = new ConcurrentHashMap<>(64);
+    
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    
     /**
      * Converts a String into TV show case. TV show case is variant of title case
      * but makes exceptions to capitalise bracketed strings which are common
@@ -60,60 +89,162 @@ public class ShowCase {
      * @return String s in title case
      */
     public static String convert(String s) {
-        StringBuilder titleCase = new StringBuilder();
+        String show = cache.get(s);
+        if(show != null) {
+            hits.increment();
+            return show;
+        }
+        misses.increment();
+        show = convertUncached(s);
+        if(cache.size() >= CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(s, show);
+        return show;
+    }
+    
+    /**
+     * Converts a String into TV show case without using the cache.
+     * The String is converted in a single pass. Runs of [_.] and spaces are
+     * collapsed into a single space and trailing separators are removed.
+     * @param s String to be converted to title case
+     * @return String s in title case
+     * @see #convert(java.lang.String) 
+     */
+    public static String convertUncached(String s) {
+        char[] out = buffer.get();
+        if(out.length < s.length()) {
+            out = new char[Math.max(s.length(), out.length * 2)];
+            buffer.set(out);
+        }
+        int length = 0;
+        int wordStart = -1;
+        boolean pendingSpace = false;
         boolean nextTitleCase = true;
         boolean forceTitleCase = false;
-        char[] chars = s.replaceAll("[_.]+", " ").toCharArray();
-        for (int i = 0; i < chars.length; i++) {
-            if (Character.isSpaceChar(chars[i]) || chars[i] == '-') {
+        for(int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if(c == '_' || c == '.') {
+                c = ' ';
+            }
+            if(Character.isSpaceChar(c) || c == '-') {
                 nextTitleCase = true;
-            } else if(chars[i] == '(') {
+            } else if(c == '(') {
                 forceTitleCase = true;
-            } else if(chars[i] == ')') {
+            } else if(c == ')') {
                 forceTitleCase = false;
-            } else if (nextTitleCase || forceTitleCase) {
-                chars[i] = Character.toTitleCase(chars[i]);
+            } else if(nextTitleCase || forceTitleCase) {
+                c = Character.toTitleCase(c);
                 nextTitleCase = false;
             }
-            titleCase.append(chars[i]);
+            if(c == ' ') {
+                if(wordStart >= 0) {
+                    fixWordCase(out, wordStart, length);
+                    wordStart = -1;
+                }
+                pendingSpace = true;
+                continue;
+            }
+            if(wordStart < 0) {
+                if(pendingSpace) {
+                    out[length++] = ' ';
+                    pendingSpace = false;
+                }
+                wordStart = length;
+            }
+            out[length++] = c;
+        }
+        if(wordStart >= 0) {
+            fixWordCase(out, wordStart, length);
         }
-        return fixWordCase(titleCase.toString());
+        return new String(out, 0, length);
     }
     
     /**
-     * Fix any common words that should not be capitalised in show case.
+     * Fix the case of the word in the buffer if it is a common word that
+     * should not be capitalised in show case. The first word is never changed.
      * E.g. From =&gt; from, And =&gt; and, Of =&gt; of etc.. 
-     * @param show title case show to fix common words
-     * @return show
+     * @param chars buffer
+     * @param start word start index
+     * @param end word end index
      */
-    private static String fixWordCase(String show) {
-        String[] words = show.split(" +");
-        for(int i = 1; i < words.length; i++) {
-            String[] exceptions;
-            switch(words[i].length()) {
-                case 1:
-                    exceptions = new String[] { "A" };
-                    break;
-                case 2:
-                    exceptions = titleExceptionsTwoChar;
-                    break;
-                case 3:
-                    exceptions = titleExceptionsThreeChar;
-                    break;
-                case 4:
-                    exceptions = titleExceptionsFourChar;
-                    break;
-                default:
-                    exceptions = new String[] {};
-            }
-            for(String word : exceptions) {
-                if(word.equals(words[i])) {
-                    words[i] = words[i].toLowerCase();
-                    break;
+    private static void fixWordCase(char[] chars, int start, int end) {
+        if(start == 0 || end - start > 4) {
+            return;
+        }
+        int i = hash(chars, start, end) & (exceptionTable.length - 1);
+        while(exceptionTable[i] != null) {
+            if(regionEquals(exceptionTable[i], chars, start, end)) {
+                for(int j = start; j < end; j++) {
+                    chars[j] = Character.toLowerCase(chars[j]);
                 }
+                return;
+            }
+            i = (i + 1) & (exceptionTable.length - 1);
+        }
+    }
+    
+    private static boolean regionEquals(String word, char[] chars, int start, int end) {
+        if(word.length() != end - start) {
+            return false;
+        }
+        for(int i = 0; i < word.length(); i++) {
+            if(word.charAt(i) != chars[start + i]) {
+                return false;
             }
         }
-        return StringUtil.join(" ", words);
+        return true;
+    }
+    
+    private static int hash(char[] chars, int start, int end) {
+        int h = 0;
+        for(int i = start; i < end; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h ^ (h >>> 7);
+    }
+    
+    /**
+     * Get the number of conversions that were found in the cache
+     * @return cache hit count
+     */
+    public static long getCacheHitCount() {
+        return hits.sum();
+    }
+    
+    /**
+     * Get the number of conversions that were not found in the cache
+     * @return cache miss count
+     */
+    public static long getCacheMissCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * Get the ratio of conversions that were found in the cache
+     * @return cache hit rate between 0 and 1, or 0 if nothing was converted
+     */
+    public static double getCacheHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+    
+    /**
+     * Get the number of converted shows in the cache
+     * @return cache size
+     */
+    public static int getCacheSize() {
+        return cache.size();
+    }
+    
+    /**
+     * Remove every converted show from the cache and reset the statistics
+     */
+    public static void clearCache() {
+        cache.clear();
+        hits.reset();
+        misses.reset();
     }
 
     private ShowCase() {
@@ -66,8 +66,58 @@ public class StringUtil {
         return builder.toString();
     }
     
+    /**
+     * Convert the string to lower case and remove every character that is
+     * not an ASCII letter or digit
+     * @param str string
+     * @return lower case alphanumeric string
+     */
     public static String retainAlnum(String str) {
-        return str.toLowerCase().replaceAll("[^A-Za-z0-9]", "");
+        String lower = str.toLowerCase();
+        StringBuilder builder = new StringBuilder(lower.length());
+        for(int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                builder.append(c);
+            }
+        }
+        return builder.length() == lower.length() ? lower : builder.toString();
+    }
+    
+    /**
+     * Parse the non negative decimal integer in the region of the string
+     * given without throwing a NumberFormatException
+     * @param s string containing the number
+     * @param start start index of the number
+     * @param end end index (exclusive) of the number
+     * @return parsed number or -1 if the region is empty, contains a
+     * character that is not an ASCII digit or overflows an int
+     */
+    public static int parseInt(CharSequence s, int start, int end) {
+        if(start >= end) {
+            return -1;
+        }
+        int value = 0;
+        for(int i = start; i < end; i++) {
+            int digit = s.charAt(i) - '0';
+            if(digit < 0 || digit > 9 || value > (Integer.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+    
+    /**
+     * Parse the non negative decimal integer given without throwing a
+     * NumberFormatException
+     * @param s number to parse
+     * @return parsed number or -1 if s is null, empty, contains a character
+     * that is not an ASCII digit or overflows an int
+     * @see #parseInt(java.lang.CharSequence, int, int) 
+     */
+    public static int parseInt(CharSequence s) {
+        return s == null ? -1 : parseInt(s, 0, s.length());
     }
     
 }
@@ -0,0 +1,197 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+
+/**
+ * Seeded corpora of episode file names shared by the JMH benchmarks so each
+ * hot path is measured against the same inputs.
+ * ALL_SE is s01e02 names only, the best case for the default pipeline.
+ * MIXED is mostly s01e02 names with some 1x02, word, no delimiter and part
+ * names, and non episode files such as samples and subtitles.
+ * WORST_CASE is long names with separator runs or dense digits that make the
+ * regex matchers backtrack, and names that every matcher misses.
+ * LIBRARY is the file names of a {@link SyntheticLibrary}.
+ * @author Sam Malone
+ */
+public class BenchmarkCorpus {
+    
+    public static enum Corpus {
+        ALL_SE, MIXED, WORST_CASE, LIBRARY
+    }
+    
+    private static final String[] SE_FORMATS = new String[] {
+        "%s.S%02dE%02d.720p.HDTV.x264-GRP.mkv",
+        "%s.s%02de%02d.1080p.WEB-DL.DD5.1.H.264.mkv",
+        "%s - S%02dE%02d - Title.avi",
+        "%s_s%02de%02de%02d_hdtv.mkv"
+    };
+    
+    private static final String[] MIXED_FORMATS = new String[] {
+        "%s.S%02dE%02d.720p.HDTV.x264-GRP.mkv",
+        "%s.s%02de%02d.1080p.WEB-DL.DD5.1.H.264.mkv",
+        "%s - %dx%02d - Title.avi",
+        "%s Season %d Episode %d.mp4",
+        "%s.%d%02d.hdtv.mkv",
+        "%s.Pt.%3$d.mkv",
+        "%s.sample.mkv",
+        "%s.eng.srt"
+    };
+    
+    private static final int[] MIXED_WEIGHTS = new int[] { 50, 25, 8, 4, 4, 2, 4, 3 };
+    
+    private static final String[] SEPARATORS = new String[] { " ", ".", "_", "-", "+" };
+    private static final String[] TAGS = new String[] { "x264", "720p", "h.264", "dd5.1", "1080p" };
+    private static final String[] EP_WORDS = new String[] { "e", "ep", "episode" };
+    
+    private BenchmarkCorpus() {
+        
+    }
+    
+    /**
+     * Generate the file names of a corpus
+     * @param corpus corpus to generate
+     * @param size number of file names
+     * @param seed random seed
+     * @return file names
+     */
+    public static String[] fileNames(Corpus corpus, int size, long seed) {
+        if(corpus == Corpus.LIBRARY) {
+            List<String> names = new ArrayList<>(size);
+            new SyntheticLibrary(seed, size).forEach(e -> names.add(e.getFileName()));
+            return names.toArray(new String[size]);
+        }
+        Random random = new Random(seed);
+        String[] names = new String[size];
+        for(int i = 0; i < size; i++) {
+            names[i] = fileName(corpus, random, show(random), 1 + random.nextInt(9));
+        }
+        return names;
+    }
+    
+    /**
+     * Generate the paths of a corpus in the form /TV/show/Season n/file name
+     * @param corpus corpus to generate
+     * @param size number of paths
+     * @param seed random seed
+     * @return paths
+     */
+    public static Path[] paths(Corpus corpus, int size, long seed) {
+        if(corpus == Corpus.LIBRARY) {
+            return new SyntheticLibrary(seed, size).toPaths(Paths.get("/TV")).toArray(new Path[size]);
+        }
+        Random random = new Random(seed);
+        Path[] paths = new Path[size];
+        for(int i = 0; i < size; i++) {
+            String show = show(random);
+            int season = 1 + random.nextInt(9);
+            paths[i] = Paths.get("/TV", show, "Season " + season, fileName(corpus, random, show, season));
+        }
+        return paths;
+    }
+    
+    /**
+     * Generate episode matches of up to 500 shows with 9 seasons of 24
+     * episodes each, about 5% of which are double episodes
+     * @param size number of episodes
+     * @param seed random seed
+     * @return episode matches in random order
+     */
+    public static List<EpisodeMatch> episodes(int size, long seed) {
+        Random random = new Random(seed);
+        List<EpisodeMatch> episodes = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            int episode = 1 + random.nextInt(24);
+            EpisodeMatch m = new EpisodeMatch(show(random), 1 + random.nextInt(9), episode);
+            if(random.nextInt(20) == 0) {
+                m.addEpisodeNo(episode + 1);
+            }
+            episodes.add(m);
+        }
+        return episodes;
+    }
+    
+    private static String show(Random random) {
+        return "Show.Name." + random.nextInt(500);
+    }
+    
+    private static String fileName(Corpus corpus, Random random, String show, int season) {
+        int episode = 1 + random.nextInt(24);
+        switch(corpus) {
+            case ALL_SE:
+                String format = SE_FORMATS[random.nextInt(SE_FORMATS.length)];
+                return String.format(format, show, season, episode, episode + 1);
+            case MIXED:
+                int r = random.nextInt(100);
+                int i = 0;
+                while(r >= MIXED_WEIGHTS[i]) {
+                    r -= MIXED_WEIGHTS[i++];
+                }
+                return String.format(MIXED_FORMATS[i], show, season, episode);
+            default:
+                return worstCase(random, show, episode);
+        }
+    }
+    
+    private static String worstCase(Random random, String show, int episode) {
+        StringBuilder sb = new StringBuilder(show);
+        int length = 100 + random.nextInt(130);
+        switch(random.nextInt(3)) {
+            case 0:
+                while(sb.length() < length) {
+                    sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+                }
+                sb.append(TAGS[random.nextInt(TAGS.length)]);
+                sb.append(EP_WORDS[random.nextInt(EP_WORDS.length)]).append(episode);
+                break;
+            case 1:
+                while(sb.length() < length) {
+                    sb.append(random.nextInt(10000));
+                    if(random.nextInt(3) == 0) {
+                        sb.append("sxe".charAt(random.nextInt(3)));
+                    } else {
+                        sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+                    }
+                }
+                break;
+            default:
+                while(sb.length() < length) {
+                    sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]).append("extras");
+                }
+        }
+        return sb.append(".mkv").toString();
+    }
+    
+}
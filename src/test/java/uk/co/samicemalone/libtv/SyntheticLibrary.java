@@ -0,0 +1,440 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import uk.co.samicemalone.libtv.matcher.path.StandardTVPath.SeasonFormat;
+import uk.co.samicemalone.libtv.model.AliasMap;
+
+/**
+ * SyntheticLibrary generates a realistic TV library of any size from a seed.
+ * The same seed and size always generate the same library.
+ * <p>
+ * Shows are spread over one or more sources that follow the structure of
+ * {@link uk.co.samicemalone.libtv.matcher.path.StandardTVPath}. Each show uses
+ * one {@link SeasonFormat} for its season directories and some shows are
+ * split across two sources. Some show directories are named with a year or
+ * country, e.g. House of Cards (2013), and are recorded in the AliasMap.
+ * File names use a mix of naming formats with release tags, including
+ * multi episode files, and some files are not episodes e.g. samples,
+ * subtitles and nfo files.
+ * <p>
+ * The library is generated as it is visited, so a library of millions of
+ * files can be written to a temp tree or manifest without holding it in
+ * memory.
+ * @author Sam Malone
+ */
+public class SyntheticLibrary {
+    
+    /**
+     * File of the library
+     */
+    public static final class Entry {
+        
+        private final int source;
+        private final String show;
+        private final String showDirectory;
+        private final String seasonDirectory;
+        private final String fileName;
+        private final int season;
+        private final int[] episodes;
+
+        private Entry(int source, String show, String showDirectory, String seasonDirectory, String fileName, int season, int[] episodes) {
+            this.source = source;
+            this.show = show;
+            this.showDirectory = showDirectory;
+            this.seasonDirectory = seasonDirectory;
+            this.fileName = fileName;
+            this.season = season;
+            this.episodes = episodes;
+        }
+        
+        /**
+         * Get the index of the source containing this file
+         * @return source index
+         */
+        public int getSource() {
+            return source;
+        }
+        
+        /**
+         * Get the show name, which may differ from the show directory
+         * @return show name
+         */
+        public String getShow() {
+            return show;
+        }
+        
+        public String getShowDirectory() {
+            return showDirectory;
+        }
+        
+        public String getSeasonDirectory() {
+            return seasonDirectory;
+        }
+        
+        public String getFileName() {
+            return fileName;
+        }
+        
+        public int getSeason() {
+            return season;
+        }
+        
+        /**
+         * Get the episode numbers of this file
+         * @return episode numbers or an empty array if not an episode
+         */
+        public int[] getEpisodes() {
+            return episodes.clone();
+        }
+        
+        /**
+         * Check if this file is an episode
+         * @return false if this file is a sample, subtitle or nfo file
+         */
+        public boolean isEpisode() {
+            return episodes.length > 0;
+        }
+        
+        /**
+         * Get the path of this file relative to the library root given e.g.
+         * root/source0/Show Name/Season 1/file name
+         * @param root library root
+         * @return path of this file
+         */
+        public Path resolve(Path root) {
+            return root.resolve(getSourceName(source)).resolve(showDirectory).resolve(seasonDirectory).resolve(fileName);
+        }
+        
+    }
+    
+    private static final String[] FIRST_WORDS = new String[] {
+        "The", "A", "Modern", "Silent", "Broken", "Golden", "Last", "Lost",
+        "Dark", "New", "Northern", "Little", "Big", "Good", "Wild", "Secret"
+    };
+    
+    private static final String[] WORDS = new String[] {
+        "Office", "Family", "Detective", "Kingdom", "Empire", "Doctors", "Wire",
+        "Crown", "Expanse", "Sopranos", "Lawyers", "Island", "Valley", "River",
+        "House", "Cards", "Thrones", "Street", "City", "Garden", "Witness",
+        "Mountain", "Station", "Harbour", "Hospital", "Academy", "Frontier"
+    };
+    
+    private static final String[] ALIAS_SUFFIXES = new String[] {
+        " (US)", " (UK)", " (2013)", " (2005)", " (1990)"
+    };
+    
+    private static final String[] TAGS = new String[] {
+        "720p.HDTV.x264-GRP", "1080p.WEB-DL.DD5.1.H.264-GRP", "2160p.WEBRip.x265-GRP",
+        "480p.DVDRip.XviD-GRP", "1080p.BluRay.DTS.x264-GRP", "720p.WEB-DL.AAC2.0.H.264"
+    };
+    
+    private static final String[] EXTENSIONS = new String[] { "mkv", "mkv", "mkv", "mp4", "avi" };
+    
+    private static final String[] EXTRAS = new String[] { ".sample.mkv", ".eng.srt", ".nfo" };
+    
+    private static final SeasonFormat[] SEASON_FORMATS = new SeasonFormat[] {
+        SeasonFormat.SEASON, SeasonFormat.SEASON, SeasonFormat.SEASON, SeasonFormat.SEASON_PADDED,
+        SeasonFormat.SERIES, SeasonFormat.SERIES_PADDED
+    };
+    
+    private final long seed;
+    private final int fileCount;
+    private int sourceCount = 1;
+    
+    /**
+     * Create a new SyntheticLibrary with a single source
+     * @param seed random seed
+     * @param fileCount number of files in the library
+     */
+    public SyntheticLibrary(long seed, int fileCount) {
+        this.seed = seed;
+        this.fileCount = fileCount;
+    }
+    
+    /**
+     * Set the number of sources to spread the shows over
+     * @param sourceCount number of sources
+     * @return this instance
+     */
+    public SyntheticLibrary sources(int sourceCount) {
+        this.sourceCount = sourceCount;
+        return this;
+    }
+    
+    public int getFileCount() {
+        return fileCount;
+    }
+    
+    public int getSourceCount() {
+        return sourceCount;
+    }
+    
+    /**
+     * Get the directory name of the source with the given index
+     * @param source source index
+     * @return source directory name e.g. source0
+     */
+    public static String getSourceName(int source) {
+        return "source" + source;
+    }
+    
+    /**
+     * Get the source directories of the library under the given root
+     * @param root library root
+     * @return absolute source directory paths
+     */
+    public List<String> getSources(Path root) {
+        List<String> sources = new ArrayList<>(sourceCount);
+        for(int i = 0; i < sourceCount; i++) {
+            sources.add(root.resolve(getSourceName(i)).toAbsolutePath().toString());
+        }
+        return sources;
+    }
+    
+    /**
+     * Get the aliases of each show whose directory is named differently to
+     * the show e.g. House of Cards -&gt; House of Cards (2013)
+     * @return alias map
+     */
+    public AliasMap getAliasMap() {
+        AliasMap aliasMap = new AliasMap();
+        String[] previous = new String[1];
+        forEach(e -> {
+            if(!e.show.equals(e.showDirectory) && !e.showDirectory.equals(previous[0])) {
+                aliasMap.addAlias(e.show, e.showDirectory);
+                previous[0] = e.showDirectory;
+            }
+        });
+        return aliasMap;
+    }
+    
+    /**
+     * Generate each file of the library in order of show, season and episode
+     * @param action action to perform on each file
+     */
+    public void forEach(Consumer<Entry> action) {
+        Random random = new Random(seed);
+        int generated = 0;
+        for(int showIndex = 0; generated < fileCount; showIndex++) {
+            String show = showName(random, showIndex);
+            String showDirectory = show;
+            if(random.nextInt(20) == 0) {
+                showDirectory += ALIAS_SUFFIXES[random.nextInt(ALIAS_SUFFIXES.length)];
+            }
+            int source = random.nextInt(sourceCount);
+            int splitSource = sourceCount > 1 && random.nextInt(10) == 0 ? random.nextInt(sourceCount) : source;
+            SeasonFormat seasonFormat = SEASON_FORMATS[random.nextInt(SEASON_FORMATS.length)];
+            int format = random.nextInt(6);
+            String fileShow = random.nextBoolean() ? show.replace(' ', '.') : show;
+            int seasons = 1 + random.nextInt(12);
+            for(int season = 1; season <= seasons && generated < fileCount; season++) {
+                String seasonDirectory = seasonFormat.format(season);
+                int seasonSource = season > seasons / 2 ? splitSource : source;
+                int episodes = 6 + random.nextInt(19);
+                for(int episode = 1; episode <= episodes && generated < fileCount; episode++) {
+                    int[] numbers;
+                    if(episode < episodes && random.nextInt(25) == 0) {
+                        numbers = new int[] { episode, ++episode };
+                    } else {
+                        numbers = new int[] { episode };
+                    }
+                    String tags = TAGS[random.nextInt(TAGS.length)];
+                    String extension = EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+                    String baseName = baseName(format, fileShow, season, numbers, tags);
+                    String fileName = baseName + '.' + extension;
+                    action.accept(new Entry(seasonSource, show, showDirectory, seasonDirectory, fileName, season, numbers));
+                    generated++;
+                    if(generated < fileCount && random.nextInt(33) == 0) {
+                        String extra = baseName + EXTRAS[random.nextInt(EXTRAS.length)];
+                        action.accept(new Entry(seasonSource, show, showDirectory, seasonDirectory, extra, season, new int[0]));
+                        generated++;
+                    }
+                }
+            }
+        }
+    }
+    
+    private static String showName(Random random, int showIndex) {
+        StringBuilder sb = new StringBuilder();
+        if(random.nextBoolean()) {
+            sb.append(FIRST_WORDS[random.nextInt(FIRST_WORDS.length)]).append(' ');
+        }
+        sb.append(WORDS[random.nextInt(WORDS.length)]);
+        if(random.nextBoolean()) {
+            sb.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.append(' ').append(letters(showIndex)).toString();
+    }
+    
+    /**
+     * Encode the show index as a word e.g. A, B, ..., Ba so show names are
+     * unique without digits that could be matched as an episode
+     */
+    private static String letters(int index) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + index % 26));
+            index /= 26;
+        } while(index > 0);
+        sb.reverse().setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+    
+    private static String baseName(int format, String show, int season, int[] episodes, String tags) {
+        StringBuilder sb = new StringBuilder(show);
+        switch(format) {
+            case 0:
+            case 1:
+            case 2:
+                sb.append(String.format(".S%02d", season));
+                for(int episode : episodes) {
+                    sb.append(String.format("E%02d", episode));
+                }
+                sb.append('.').append(tags);
+                break;
+            case 3:
+                sb.append(" - ").append(season);
+                for(int episode : episodes) {
+                    sb.append(String.format("x%02d", episode));
+                }
+                sb.append(" - Title");
+                break;
+            case 4:
+                sb.append(" Season ").append(season).append(" Episode ").append(episodes[0]);
+                for(int i = 1; i < episodes.length; i++) {
+                    sb.append(" Episode ").append(episodes[i]);
+                }
+                break;
+            default:
+                sb.append('.').append(season).append(String.format("%02d", episodes[0]));
+                for(int i = 1; i < episodes.length; i++) {
+                    sb.append('-').append(season).append(String.format("%02d", episodes[i]));
+                }
+                sb.append('.').append(tags);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Get the paths of every file of the library under the given root
+     * without creating them
+     * @param root library root
+     * @return paths in generation order
+     */
+    public List<Path> toPaths(Path root) {
+        List<Path> paths = new ArrayList<>(fileCount);
+        forEach(e -> paths.add(e.resolve(root)));
+        return paths;
+    }
+    
+    /**
+     * Create the library as a tree of empty files under the given root
+     * @param root library root
+     * @return absolute source directory paths
+     * @throws IOException if unable to create a directory or file
+     */
+    public List<String> writeTree(Path root) throws IOException {
+        for(String source : getSources(root)) {
+            Files.createDirectories(Path.of(source));
+        }
+        Path[] lastDirectory = new Path[1];
+        try {
+            forEach(e -> {
+                Path path = e.resolve(root);
+                try {
+                    if(!path.getParent().equals(lastDirectory[0])) {
+                        lastDirectory[0] = Files.createDirectories(path.getParent());
+                    }
+                    Files.createFile(path);
+                } catch(IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch(UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        return getSources(root);
+    }
+    
+    /**
+     * Write the path of each file of the library relative to the library
+     * root, one per line, to the given manifest file
+     * @param manifest manifest file
+     * @throws IOException if unable to write the manifest
+     */
+    public void writeManifest(Path manifest) throws IOException {
+        try(BufferedWriter writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+            forEach(e -> {
+                try {
+                    writer.write(getSourceName(e.source));
+                    writer.write('/');
+                    writer.write(e.showDirectory);
+                    writer.write('/');
+                    writer.write(e.seasonDirectory);
+                    writer.write('/');
+                    writer.write(e.fileName);
+                    writer.newLine();
+                } catch(IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch(UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+    
+    /**
+     * Read the paths of a manifest written by {@link #writeManifest(java.nio.file.Path)}
+     * @param manifest manifest file
+     * @param root library root to resolve each path against
+     * @param action action to perform on each path
+     * @throws IOException if unable to read the manifest
+     */
+    public static void readManifest(Path manifest, Path root, Consumer<Path> action) throws IOException {
+        try(BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                action.accept(root.resolve(line));
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,136 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.co.samicemalone.libtv.matcher.TVMatcher;
+import uk.co.samicemalone.libtv.model.AliasMap;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class SyntheticLibraryTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test of forEach method, of class SyntheticLibrary.
+     */
+    @Test
+    public void testForEachDeterministic() {
+        Path root = Paths.get("/TV");
+        List<Path> paths = new SyntheticLibrary(42, 2000).sources(3).toPaths(root);
+        assertEquals(2000, paths.size());
+        assertEquals(paths, new SyntheticLibrary(42, 2000).sources(3).toPaths(root));
+        assertTrue(!paths.equals(new SyntheticLibrary(43, 2000).sources(3).toPaths(root)));
+    }
+
+    /**
+     * Test of forEach method, of class SyntheticLibrary.
+     */
+    @Test
+    public void testForEachMatches() {
+        TVMatcher matcher = new TVMatcher();
+        Path root = Paths.get("/TV");
+        int[] counts = new int[2];
+        new SyntheticLibrary(7, 5000).sources(3).forEach(e -> {
+            if(e.isEpisode()) {
+                EpisodeMatch m = matcher.match(e.resolve(root));
+                counts[0]++;
+                if(m != null && m.getSeason() == e.getSeason() && Arrays.equals(e.getEpisodes(), m.getEpisodeNumbers().toIntArray())) {
+                    counts[1]++;
+                }
+            }
+        });
+        assertTrue(counts[1] > counts[0] * 9 / 10);
+    }
+
+    /**
+     * Test of writeTree method, of class SyntheticLibrary.
+     */
+    @Test
+    public void testWriteTree() throws IOException {
+        Path root = folder.getRoot().toPath();
+        SyntheticLibrary library = new SyntheticLibrary(42, 500).sources(2);
+        List<String> sources = library.writeTree(root);
+        assertEquals(library.getSources(root), sources);
+        long files;
+        try(Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).count();
+        }
+        assertEquals(500, files);
+    }
+
+    /**
+     * Test of writeManifest method, of class SyntheticLibrary.
+     */
+    @Test
+    public void testWriteManifest() throws IOException {
+        Path root = Paths.get("/TV");
+        Path manifest = folder.newFile("manifest.txt").toPath();
+        SyntheticLibrary library = new SyntheticLibrary(42, 1000).sources(2);
+        library.writeManifest(manifest);
+        List<Path> paths = new ArrayList<>();
+        SyntheticLibrary.readManifest(manifest, root, paths::add);
+        assertEquals(library.toPaths(root), paths);
+    }
+
+    /**
+     * Test of getAliasMap method, of class SyntheticLibrary.
+     */
+    @Test
+    public void testGetAliasMap() {
+        SyntheticLibrary library = new SyntheticLibrary(42, 20000);
+        AliasMap aliasMap = library.getAliasMap();
+        int[] aliases = new int[1];
+        library.forEach(e -> {
+            if(!e.getShow().equals(e.getShowDirectory())) {
+                assertEquals(e.getShowDirectory(), aliasMap.getShowAlias(e.getShow()));
+                aliases[0]++;
+            }
+        });
+        assertTrue(aliases[0] > 0);
+    }
+
+}
@@ -0,0 +1,149 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of listing the video files of a {@link SyntheticLibrary}
+ * written to a temporary directory with {@link TVList} and with
+ * {@link TVWalker} on a single thread and on every available processor,
+ * and of streaming the library with {@link TVWalker#stream(java.nio.file.Path)}.
+ * A score is the number of complete scans of the library per second, except
+ * for tvWalkerStreamFirst which only finds the first file.
+ * Writing the default 500,000 file tree takes a while and needs as many
+ * free inodes. Not run as part of the tests. Run with:
+ * <pre>
+ * mvn -P benchmark verify -Dbenchmark=TVWalkerBenchmark
+ * </pre>
+ * @author Sam Malone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TVWalkerBenchmark {
+    
+    @Param({ "500000" })
+    public int fileCount;
+    
+    private Path root;
+    private ForkJoinPool sequentialPool;
+    private ForkJoinPool parallelPool;
+    
+    @Setup
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("libtv-walk");
+        new SyntheticLibrary(42, fileCount).sources(4).writeTree(root);
+        sequentialPool = new ForkJoinPool(1);
+        parallelPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        sequentialPool.shutdown();
+        parallelPool.shutdown();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+    
+    @Benchmark
+    public List<String> tvList() {
+        TVList list = new TVList();
+        list.scan(root.toFile());
+        return list.getTVList();
+    }
+    
+    @Benchmark
+    public List<String> tvWalkerSequential() {
+        return new TVWalker(TVWalker.UNLIMITED_DEPTH, true, sequentialPool).scan(root.toFile());
+    }
+    
+    @Benchmark
+    public List<String> tvWalkerParallel() {
+        return new TVWalker(TVWalker.UNLIMITED_DEPTH, true, parallelPool).scan(root.toFile());
+    }
+    
+    @Benchmark
+    public long tvWalkerStream() {
+        try(Stream<Path> paths = new TVWalker().stream(root)) {
+            return paths.count();
+        }
+    }
+    
+    @Benchmark
+    public Optional<Path> tvWalkerStreamFirst() {
+        try(Stream<Path> paths = new TVWalker().stream(root)) {
+            return paths.findFirst();
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TVWalkerBenchmark.class.getSimpleName()).build()).run();
+    }
+    
+}
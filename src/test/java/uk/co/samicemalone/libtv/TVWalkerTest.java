@@ -0,0 +1,207 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class TVWalkerTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path root;
+    
+    @Before
+    public void setUp() throws IOException {
+        root = folder.newFolder("TV").toPath();
+        Path season = Files.createDirectories(root.resolve("Show").resolve("Season 1"));
+        Files.createFile(root.resolve("Show.S01E01.mkv"));
+        Files.createFile(root.resolve("Show").resolve("Show.S01E02.mp4"));
+        Files.createFile(season.resolve("Show.S01E03.avi"));
+        Files.createFile(season.resolve("Show.S01E03.nfo"));
+    }
+    
+    private static <T extends Comparable<? super T>> List<T> sorted(List<T> list) {
+        List<T> copy = new ArrayList<>(list);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Test of scan method, of class TVWalker.
+     */
+    @Test
+    public void testScan() throws IOException {
+        Path libraryRoot = folder.newFolder("Library").toPath();
+        new SyntheticLibrary(42, 3000).sources(2).writeTree(libraryRoot);
+        TVList tvList = new TVList();
+        tvList.scan(libraryRoot.toFile());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<String> list = new TVWalker(TVWalker.UNLIMITED_DEPTH, true, pool).scan(libraryRoot.toFile());
+            assertEquals(sorted(tvList.getTVList()), sorted(list));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test of walk method, of class TVWalker.
+     */
+    @Test
+    public void testWalkOrder() {
+        List<Path> expected = Arrays.asList(
+            root.resolve("Show.S01E01.mkv"),
+            root.resolve("Show").resolve("Show.S01E02.mp4"),
+            root.resolve("Show").resolve("Season 1").resolve("Show.S01E03.avi")
+        );
+        assertEquals(expected, new TVWalker().walk(root));
+    }
+
+    /**
+     * Test of walk method, of class TVWalker.
+     */
+    @Test
+    public void testWalkMaxDepth() {
+        assertEquals(0, new TVWalker(0, true).walk(root).size());
+        assertEquals(Arrays.asList(root.resolve("Show.S01E01.mkv")), new TVWalker(1, true).walk(root));
+        assertEquals(2, new TVWalker(2, true).walk(root).size());
+        assertEquals(3, new TVWalker(3, true).walk(root).size());
+    }
+
+    /**
+     * Test of walk method, of class TVWalker.
+     */
+    @Test
+    public void testWalkFile() {
+        Path nfo = root.resolve("Show").resolve("Season 1").resolve("Show.S01E03.nfo");
+        assertEquals(Arrays.asList(nfo), new TVWalker().walk(nfo));
+        assertTrue(new TVWalker().walk(root.resolve("missing")).isEmpty());
+    }
+
+    /**
+     * Test of walk method, of class TVWalker.
+     */
+    @Test
+    public void testWalkSymbolicLinkLoop() throws IOException {
+        Path season = root.resolve("Show").resolve("Season 1");
+        try {
+            Files.createSymbolicLink(season.resolve("loop"), root.resolve("Show"));
+            Files.createSymbolicLink(root.resolve("Linked.S01E04.mkv"), season.resolve("Show.S01E03.avi"));
+        } catch(UnsupportedOperationException ex) {
+            return;
+        }
+        List<Path> followed = new TVWalker().walk(root);
+        assertEquals(4, followed.size());
+        assertTrue(followed.contains(root.resolve("Linked.S01E04.mkv")));
+        assertEquals(3, new TVWalker(TVWalker.UNLIMITED_DEPTH, false).walk(root).size());
+    }
+
+    /**
+     * Test of walk method, of class TVWalker, with a directory that is
+     * reachable by a symbolic link and by its real path.
+     */
+    @Test
+    public void testWalkSymbolicLinkSibling() throws IOException {
+        try {
+            Files.createSymbolicLink(root.resolve("Linked Show"), root.resolve("Show"));
+        } catch(UnsupportedOperationException ex) {
+            return;
+        }
+        List<Path> expected = Arrays.asList(
+            root.resolve("Show.S01E01.mkv"),
+            root.resolve("Linked Show").resolve("Show.S01E02.mp4"),
+            root.resolve("Linked Show").resolve("Season 1").resolve("Show.S01E03.avi"),
+            root.resolve("Show").resolve("Show.S01E02.mp4"),
+            root.resolve("Show").resolve("Season 1").resolve("Show.S01E03.avi")
+        );
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TVWalker walker = new TVWalker(TVWalker.UNLIMITED_DEPTH, true, pool);
+            for(int i = 0; i < 20; i++) {
+                assertEquals(sorted(expected), sorted(walker.walk(root)));
+                try(Stream<Path> paths = walker.stream(root, true)) {
+                    assertEquals(sorted(expected), sorted(paths.collect(Collectors.toList())));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     * Test of stream method, of class TVWalker.
+     */
+    @Test
+    public void testStream() {
+        try(Stream<Path> paths = new TVWalker().stream(root)) {
+            assertEquals(new TVWalker().walk(root), paths.collect(Collectors.toList()));
+        }
+        try(Stream<Path> paths = new TVWalker(2, true).stream(root)) {
+            assertEquals(new TVWalker(2, true).walk(root), paths.collect(Collectors.toList()));
+        }
+        Path nfo = root.resolve("Show").resolve("Season 1").resolve("Show.S01E03.nfo");
+        assertEquals(Arrays.asList(nfo), new TVWalker().stream(nfo).collect(Collectors.toList()));
+        assertEquals(0, new TVWalker().stream(root.resolve("missing")).count());
+    }
+
+    /**
+     * Test of stream method, of class TVWalker.
+     */
+    @Test
+    public void testStreamParallel() throws IOException {
+        Path libraryRoot = folder.newFolder("Library").toPath();
+        new SyntheticLibrary(42, 3000).sources(2).writeTree(libraryRoot);
+        List<String> expected = new TVWalker().scan(libraryRoot.toFile());
+        try(Stream<Path> paths = new TVWalker().stream(libraryRoot, true)) {
+            List<String> list = paths.map(Path::toString).collect(Collectors.toList());
+            assertEquals(sorted(expected), sorted(list));
+        }
+    }
+    
+}
@@ -0,0 +1,187 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class VideoFileSpliteratorTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path root;
+    private VideoFileSpliterator.Walk walk;
+    
+    @Before
+    public void setUp() throws IOException {
+        root = folder.newFolder("TV").toPath();
+        new SyntheticLibrary(42, 500).sources(2).writeTree(root);
+        walk = new VideoFileSpliterator.Walk(TVWalker.UNLIMITED_DEPTH, true);
+    }
+    
+    private VideoFileSpliterator newSpliterator() throws IOException {
+        return new VideoFileSpliterator(root, Files.readAttributes(root, BasicFileAttributes.class), walk);
+    }
+    
+    private static List<Path> drain(Spliterator<Path> spliterator) {
+        List<Path> list = new ArrayList<>();
+        spliterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    /**
+     * Test of trySplit method, of class VideoFileSpliterator.
+     */
+    @Test
+    public void testTrySplit() throws IOException {
+        Set<Path> expected = new HashSet<>(new TVWalker().walk(root));
+        VideoFileSpliterator spliterator = newSpliterator();
+        List<Path> all = new ArrayList<>();
+        assertTrue(spliterator.tryAdvance(all::add));
+        Spliterator<Path> split = spliterator.trySplit();
+        assertNotNull(split);
+        Spliterator<Path> splitOfSplit = split.trySplit();
+        all.addAll(drain(spliterator));
+        all.addAll(drain(split));
+        if(splitOfSplit != null) {
+            all.addAll(drain(splitOfSplit));
+        }
+        assertEquals(expected.size(), all.size());
+        assertEquals(expected, new HashSet<>(all));
+        assertEquals(0, walk.getOpenCount());
+    }
+
+    /**
+     * Test of trySplit method, of class VideoFileSpliterator, before any
+     * file has been consumed.
+     */
+    @Test
+    public void testTrySplitRoot() throws IOException {
+        Set<Path> expected = new HashSet<>(new TVWalker().walk(root));
+        VideoFileSpliterator spliterator = newSpliterator();
+        Spliterator<Path> split = spliterator.trySplit();
+        assertNotNull(split);
+        assertEquals(0, walk.getOpenCount());
+        List<Path> all = drain(split);
+        assertFalse(all.isEmpty());
+        List<Path> rest = drain(spliterator);
+        assertFalse(rest.isEmpty());
+        all.addAll(rest);
+        assertEquals(expected.size(), all.size());
+        assertEquals(expected, new HashSet<>(all));
+    }
+
+    /**
+     * Test of trySplit method, of class VideoFileSpliterator, with a root
+     * that has a single sub directory.
+     */
+    @Test
+    public void testTrySplitSingleDirectory() throws IOException {
+        Path parent = folder.newFolder("Parent").toPath();
+        Files.move(root, parent.resolve("TV"));
+        root = parent;
+        Files.createFile(root.resolve("Show.S01E01.mkv"));
+        Set<Path> expected = new HashSet<>(new TVWalker().walk(root));
+        VideoFileSpliterator spliterator = newSpliterator();
+        Spliterator<Path> split = spliterator.trySplit();
+        assertNotNull(split);
+        List<Path> all = drain(spliterator);
+        assertEquals(root.resolve("Show.S01E01.mkv"), all.get(0));
+        all.addAll(drain(split));
+        assertEquals(expected.size(), all.size());
+        assertEquals(expected, new HashSet<>(all));
+    }
+
+    /**
+     * Test of trySplit method, of class VideoFileSpliterator, in a parallel
+     * stream.
+     */
+    @Test
+    public void testParallelStreamSplits() throws IOException {
+        Set<Path> expected = new HashSet<>(new TVWalker().walk(root));
+        final AtomicInteger splits = new AtomicInteger();
+        Spliterator<Path> spliterator = new VideoFileSpliterator(root, Files.readAttributes(root, BasicFileAttributes.class), walk) {
+            @Override
+            public Spliterator<Path> trySplit() {
+                Spliterator<Path> split = super.trySplit();
+                if(split != null) {
+                    splits.incrementAndGet();
+                }
+                return split;
+            }
+        };
+        List<Path> all = StreamSupport.stream(spliterator, true).collect(Collectors.toList());
+        assertTrue(splits.get() > 0);
+        assertEquals(expected.size(), all.size());
+        assertEquals(expected, new HashSet<>(all));
+    }
+
+    /**
+     * Test of close method, of class VideoFileSpliterator.Walk.
+     */
+    @Test
+    public void testClose() throws IOException {
+        VideoFileSpliterator spliterator = newSpliterator();
+        Spliterator<Path> split = null;
+        while(split == null && spliterator.tryAdvance(p -> {})) {
+            split = spliterator.trySplit();
+        }
+        assertNotNull(split);
+        assertTrue(split.tryAdvance(p -> {}));
+        assertEquals(2, walk.getOpenCount());
+        walk.close();
+        assertEquals(0, walk.getOpenCount());
+        assertFalse(spliterator.tryAdvance(p -> {}));
+        assertFalse(split.tryAdvance(p -> {}));
+    }
+    
+}
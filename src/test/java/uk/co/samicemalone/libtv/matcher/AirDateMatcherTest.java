@@ -0,0 +1,152 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.model.AirDateEpisode;
+import uk.co.samicemalone.libtv.model.AirDateIndex;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class AirDateMatcherTest {
+    
+    private final String path = "/TV/The Daily Show/";
+
+    /**
+     * Test of match method, of class AirDateMatcher.
+     */
+    @Test
+    public void testMatch() {
+        String[] fileNames = new String[] {
+            "the.daily.show.2014.05.12.guest.name.mkv",
+            "the daily show - 2014-05-12 - guest.mkv",
+            "the_daily_show_12_05_2014_720p.mkv",
+            "The.Daily.Show.20140512.HDTV.x264.mkv",
+        };
+        AirDateMatcher instance = new AirDateMatcher();
+        for(String fileName : fileNames) {
+            AirDateEpisode result = instance.match(Paths.get(path, fileName));
+            assertEquals(fileName, new AirDateEpisode("The Daily Show", LocalDate.of(2014, 5, 12), null), result);
+        }
+    }
+
+    /**
+     * Test of match method, of class AirDateMatcher.
+     */
+    @Test
+    public void testMatchInvalid() {
+        String[] fileNames = new String[] {
+            "the.daily.show.2014.13.12.mkv",
+            "the.daily.show.2014.02.30.mkv",
+            "the.daily.show.s01e01.mkv",
+            "house.of.cards.(2013).102.pilot.mkv",
+            "the.daily.show.120140512.mkv",
+        };
+        AirDateMatcher instance = new AirDateMatcher();
+        for(String fileName : fileNames) {
+            assertNull(fileName, instance.match(Paths.get(path, fileName)));
+        }
+    }
+
+    /**
+     * Test of match method, of class TVMatcher. Air dates are not misread as
+     * a season and episode by any engine.
+     */
+    @Test
+    public void testNoDelimiterIgnoresAirDate() {
+        String[] fileNames = new String[] {
+            "the.daily.show.2014.05.12.guest.mkv",
+            "the.daily.show.20141203.mkv",
+            "the daily show - 12-05-2014 - guest.mkv",
+        };
+        for(TVMatcher.Engine engine : TVMatcher.Engine.values()) {
+            TVMatcher matcher = new TVMatcher(new TVMatcherOptions().engine(engine));
+            for(String fileName : fileNames) {
+                assertNull(engine + " " + fileName, matcher.match(Paths.get(path, fileName)));
+            }
+        }
+    }
+
+    /**
+     * Test of match method, of class TVMatcher. The season and episode of a
+     * name that also contains an air date are matched by every engine.
+     */
+    @Test
+    public void testNoDelimiterStripsAirDate() {
+        String[][] fileNames = new String[][] {
+            { "the.daily.show.2014.05.12.guest.106.mkv", "1", "6" },
+            { "the.daily.show.106.20141203.mkv", "1", "6" },
+            { "_-102-theXVIDx03_1203 2014.pt..mkv", "1", "2" },
+        };
+        for(TVMatcher.Engine engine : TVMatcher.Engine.values()) {
+            TVMatcher matcher = new TVMatcher(new TVMatcherOptions().engine(engine));
+            for(String[] fileName : fileNames) {
+                EpisodeMatch m = matcher.match(Paths.get(path, fileName[0]));
+                assertEquals(engine + " " + fileName[0], Integer.parseInt(fileName[1]), m.getSeason());
+                assertEquals(engine + " " + fileName[0], Arrays.asList(Integer.parseInt(fileName[2])), m.getEpisodes());
+            }
+        }
+    }
+
+    /**
+     * Test of index method, of class AirDateMatcher.
+     */
+    @Test
+    public void testIndex() {
+        List<Path> paths = new ArrayList<>();
+        LocalDate start = LocalDate.of(2014, 1, 1);
+        for(int i = 0; i < 1000; i += 2) {
+            LocalDate d = start.plusDays(i);
+            paths.add(Paths.get(path, String.format("the.daily.show.%d.%02d.%02d.mkv", d.getYear(), d.getMonthValue(), d.getDayOfMonth())));
+        }
+        paths.add(Paths.get(path, "the.daily.show.sample.mkv"));
+        AirDateIndex index = new AirDateMatcher().index(paths);
+        assertEquals(500, index.size());
+        assertEquals(paths.get(1).toFile(), index.get(start.plusDays(2)).getEpisodeFile());
+        assertNull(index.get(start.plusDays(3)));
+        assertEquals(start.plusDays(2), index.getOnOrBefore(start.plusDays(3)).getAirDate());
+        assertEquals(start.plusDays(4), index.getOnOrAfter(start.plusDays(3)).getAirDate());
+        assertEquals(start.plusDays(4), index.getNext(index.get(start.plusDays(2))).getAirDate());
+        assertEquals(5, index.getBetween(start, start.plusDays(9)).size());
+        assertEquals(start.plusDays(998), index.getLatest().getAirDate());
+    }
+    
+}
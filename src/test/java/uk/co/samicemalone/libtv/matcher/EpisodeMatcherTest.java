@@ -31,8 +31,11 @@ package uk.co.samicemalone.libtv.matcher;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.After;
 import static org.junit.Assert.assertEquals;
 import org.junit.Before;
@@ -158,5 +161,37 @@ public class EpisodeMatcherTest extends FileSystemEnvironment {
         EpisodeMatch result = episodeMatcher.matchLargest(paths);
         assertEpisodeMatchEquals(expResult, result);
     }
+
+    /**
+     * Test of matchAll method, of class EpisodeMatcher.
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void testMatchAll() throws InterruptedException {
+        List<Path> paths = new ArrayList<>();
+        List<EpisodeMatch> expResult = new ArrayList<>();
+        for(int i = 0; paths.size() < EpisodeMatcher.PARALLEL_THRESHOLD * 3; i++) {
+            Path path = Paths.get("/TV/Show " + i, "Season " + (i % 10 + 1), String.format("show.%d.s%02de%02d.mkv", i, i % 10 + 1, i % 50 + 1));
+            paths.add(path);
+            expResult.add(new EpisodeMatch("Show " + i, i % 10 + 1, i % 50 + 1));
+            paths.add(Paths.get("/TV/Show " + i, "sample.mkv"));
+        }
+        List<EpisodeMatch> result = episodeMatcher.matchAll(paths);
+        assertEquals(expResult.size(), result.size());
+        for(int i = 0; i < result.size(); i++) {
+            expResult.get(i).setEpisodeFile(paths.get(i * 2).toFile());
+            assertEpisodeMatchEquals(expResult.get(i), result.get(i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            result = episodeMatcher.matchAll(paths, null, executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(expResult.size(), result.size());
+        for(int i = 0; i < result.size(); i++) {
+            assertEpisodeMatchEquals(expResult.get(i), result.get(i));
+        }
+    }
     
 }
@@ -0,0 +1,99 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+import static uk.co.samicemalone.libtv.matcher.FilenameFeatures.*;
+import static uk.co.samicemalone.libtv.util.EpisodeTestUtil.assertEpisodeMatchEquals;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class FilenameFeaturesTest {
+    
+    private static final String[] WORDS = new String[] {
+        "the", "league", "s", "e", "x", "ep", "episode", "pt", "part", "season",
+        "iv", "2013", "1", "02", "123", "S", "E", "X", "PT"
+    };
+    
+    private static final String[] SEPARATORS = new String[] { "", " ", ".", "_", "-", "+" };
+
+    /**
+     * Test of scan method, of class FilenameFeatures.
+     */
+    @Test
+    public void testScan() {
+        assertEquals(S_DIGIT | E_DIGIT | DIGIT | THREE_DIGITS, scan("the.league.S01E02.mkv"));
+        assertEquals(X_DIGIT | DIGIT | THREE_DIGITS, scan("the league 1 x02.mkv"));
+        assertEquals(SEPARATOR_E | DIGIT, scan("the league ep 2.mkv"));
+        assertEquals(PART | DIGIT, scan("the pacific part 2.mkv"));
+        assertEquals(PART, scan("the pacific PT IV.mkv"));
+        assertEquals(0, scan("sample.mkv"));
+        assertFalse(hasAll(scan("the league 1x.02.mkv"), X_DIGIT));
+        assertTrue(hasAll(scan("the.league.102.mkv"), THREE_DIGITS | DIGIT));
+    }
+
+    /**
+     * Test the prefilter does not change the result of TVMatcher.match
+     */
+    @Test
+    public void testPrefilterMatchesUnfiltered() {
+        Random random = new Random(3);
+        for(TVMatcher.Engine engine : TVMatcher.Engine.values()) {
+            TVMatcher filtered = new TVMatcher(new TVMatcherOptions().engine(engine));
+            TVMatcher unfiltered = new TVMatcher(new TVMatcherOptions().engine(engine).prefilter(false));
+            for(int i = 0; i < 5000; i++) {
+                StringBuilder sb = new StringBuilder();
+                int words = 1 + random.nextInt(8);
+                for(int j = 0; j < words; j++) {
+                    sb.append(WORDS[random.nextInt(WORDS.length)]);
+                    sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+                }
+                Path p = Paths.get("/TV/Show/Season 1", sb.append("mkv").toString());
+                EpisodeMatch expResult = unfiltered.match(p);
+                EpisodeMatch result = filtered.match(p);
+                if(expResult == null) {
+                    assertEquals(p.toString(), null, result);
+                } else {
+                    assertEpisodeMatchEquals(expResult, result);
+                }
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,105 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.co.samicemalone.libtv.SyntheticLibrary;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+
+/**
+ * JMH scaling benchmark of {@link EpisodeMatcher#matchAll(java.util.Collection, uk.co.samicemalone.libtv.model.MatchCondition, java.util.concurrent.ExecutorService)}
+ * over the paths of a {@link SyntheticLibrary}, matched by a ForkJoinPool of
+ * each thread count. A score is the number of complete matches of the
+ * library per second, so the speedup of a thread count is its score divided
+ * by the score of a single thread.
+ * Not run as part of the tests. Run with:
+ * <pre>
+ * mvn -P benchmark verify -Dbenchmark=MatchAllBenchmark
+ * </pre>
+ * @author Sam Malone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchAllBenchmark {
+    
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+    
+    @Param({ "1000000" })
+    public int size;
+    
+    private EpisodeMatcher matcher;
+    private List<Path> paths;
+    private ForkJoinPool pool;
+    
+    @Setup
+    public void setUp() {
+        matcher = new EpisodeMatcher();
+        paths = new SyntheticLibrary(42, size).toPaths(Paths.get("/TV"));
+        pool = new ForkJoinPool(threads);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    public List<EpisodeMatch> matchAll() throws InterruptedException {
+        return matcher.matchAll(paths, null, pool);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MatchAllBenchmark.class.getSimpleName()).build()).run();
+    }
+    
+}
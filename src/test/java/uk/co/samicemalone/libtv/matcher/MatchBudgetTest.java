@@ -0,0 +1,194 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.exception.MatchBudgetExceededException;
+import uk.co.samicemalone.libtv.exception.MatchNotFoundException;
+import uk.co.samicemalone.libtv.matcher.tv.NoDelimiterMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.SEDelimitedMatcher;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+import static uk.co.samicemalone.libtv.util.EpisodeTestUtil.assertEpisodeMatchEquals;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class MatchBudgetTest {
+
+    private static final String PATH = "/TV/The League/Season 1/";
+
+    private static final String[] SEPARATORS = new String[] { " ", ".", "_", "-", "+" };
+    private static final String[] TAGS = new String[] { "x264", "720p", "h.264", "dd5.1", "1080p" };
+    private static final String[] EP_WORDS = new String[] { "e", "ep", "episode" };
+
+    /**
+     * Generate a file name that makes the regex matchers backtrack heavily:
+     * a long run of separators followed by a tag and an episode, or a long
+     * digit dense name
+     */
+    private static String adversarialName(Random random) {
+        StringBuilder sb = new StringBuilder("show");
+        int length = 100 + random.nextInt(130);
+        if(random.nextBoolean()) {
+            while(sb.length() < length) {
+                sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+            }
+            sb.append(TAGS[random.nextInt(TAGS.length)]);
+            sb.append(EP_WORDS[random.nextInt(EP_WORDS.length)]).append(1 + random.nextInt(20));
+        } else {
+            while(sb.length() < length) {
+                sb.append(random.nextInt(10000));
+                if(random.nextInt(3) == 0) {
+                    sb.append("sxe".charAt(random.nextInt(3)));
+                } else {
+                    sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+                }
+            }
+        }
+        return sb.append(".mkv").toString();
+    }
+
+    /**
+     * Test of guard method, of class MatchBudget.
+     */
+    @Test
+    public void testGuard() {
+        CharSequence guarded = new MatchBudget(2).guard("abc");
+        assertEquals(3, guarded.length());
+        assertEquals('a', guarded.charAt(0));
+        assertEquals('b', guarded.subSequence(1, 3).charAt(0));
+        try {
+            guarded.charAt(2);
+            fail("Expected the match budget to be exceeded");
+        } catch(MatchBudget.Exceeded e) {
+            assertEquals(0, e.getStackTrace().length);
+        }
+    }
+
+    /**
+     * Test of guard method, of class MatchBudget.
+     */
+    @Test(expected = MatchBudget.Exceeded.class)
+    public void testGuardTimeout() throws InterruptedException {
+        CharSequence guarded = new MatchBudget(Long.MAX_VALUE, 1, TimeUnit.MILLISECONDS).guard("abc");
+        Thread.sleep(5);
+        for(int i = 0; i < 2048; i++) {
+            guarded.charAt(i % 3);
+        }
+    }
+
+    /**
+     * Test of MatchBudget constructor, of class MatchBudget.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBudget() {
+        new MatchBudget(0);
+    }
+
+    /**
+     * Test of match method, of class TVMatcher.Pipeline.
+     */
+    @Test
+    public void testMatchBudgetExceeded() throws MatchNotFoundException {
+        Path p = Paths.get(PATH, "show" + new String(new char[230]).replace('\0', ' ') + "x264e1.mkv");
+        EpisodeMatch m = new TVMatcher().match(p);
+        assertEquals(1, (int) m.getEpisodes().get(0));
+        TVMatcher instance = new TVMatcher(new TVMatcherOptions().matchBudget(new MatchBudget(20000)));
+        assertNull(instance.match(p));
+        try {
+            instance.matchOrThrow(p);
+            fail("Expected MatchBudgetExceededException");
+        } catch(MatchBudgetExceededException e) {
+            assertTrue(e.getMessage().startsWith("Match budget exceeded"));
+        }
+        p = Paths.get(PATH, "the.league.s01e02.pilot.mkv");
+        assertEquals(2, (int) instance.matchOrThrow(p).getEpisodes().get(0));
+    }
+
+    /**
+     * Test of matchOutcome method, of class TVMatcher, with a step budget on
+     * adversarial file names. Every regex run stops within the budget and the
+     * names that finish match the same as without a budget. The latency is
+     * measured by MatchBudgetBenchmark.
+     */
+    @Test
+    public void testAdversarialNames() {
+        MatchBudget budget = new MatchBudget(20000).recordSteps();
+        TVMatcher instance = new TVMatcher(new TVMatcherOptions().matchBudget(budget));
+        TVMatcher unguarded = new TVMatcher();
+        Random random = new Random(7);
+        int exceeded = 0;
+        for(int i = 0; i < 1000; i++) {
+            Path p = Paths.get(PATH, adversarialName(random));
+            MatchOutcome outcome = instance.matchOutcome(p);
+            int exceededRuns = 0;
+            for(long steps : budget.drainSteps()) {
+                assertTrue(steps <= budget.getMaxSteps() + 1);
+                if(steps > budget.getMaxSteps()) {
+                    exceededRuns++;
+                }
+            }
+            if(outcome.getStatus() == MatchOutcome.Status.BUDGET_EXCEEDED) {
+                assertEquals(p.toString(), 1, exceededRuns);
+                exceeded++;
+                continue;
+            }
+            assertEquals(p.toString(), 0, exceededRuns);
+            MatchOutcome expResult = unguarded.matchOutcome(p);
+            assertEquals(p.toString(), expResult.getStatus(), outcome.getStatus());
+            if(expResult.getMatch() != null) {
+                assertEpisodeMatchEquals(expResult.getMatch(), outcome.getMatch());
+            }
+        }
+        assertTrue(exceeded > 0);
+    }
+
+    /**
+     * Test of match method, of class SEDelimitedMatcher, when the match
+     * budget is exceeded by a matcher called directly.
+     */
+    @Test
+    public void testMatcherBudgetExceeded() {
+        TVMatcherOptions o = new TVMatcherOptions().matchBudget(new MatchBudget(5));
+        Path p = Paths.get(PATH, "the.league.s01e02.pilot.mkv");
+        assertNull(new SEDelimitedMatcher(o).match(p, "the.league.s01e02.pilot.mkv"));
+        assertNull(new NoDelimiterMatcher(o).match(p, "the.league.102.pilot.mkv"));
+    }
+
+}
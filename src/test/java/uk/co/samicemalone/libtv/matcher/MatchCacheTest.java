@@ -0,0 +1,155 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.matcher.tv.SEDelimitedMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.XDelimitedMatcher;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+import static uk.co.samicemalone.libtv.util.EpisodeTestUtil.assertEpisodeMatchEquals;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class MatchCacheTest {
+    
+    private static final String PATH = "/TV/The League/Season 1/";
+
+    /**
+     * Test of get method, of class MatchCache.
+     */
+    @Test
+    public void testGet() {
+        MatchCache cache = new MatchCache(10);
+        TVMatcherOptions o = new TVMatcherOptions();
+        assertNull(cache.get(o, "a"));
+        cache.put(o, "a", new EpisodeMatch("The League", 1, 2));
+        cache.put(o, "b", null);
+        EpisodeMatch m = cache.get(o, "a").getMatch();
+        assertEpisodeMatchEquals(new EpisodeMatch("The League", 1, 2), m);
+        m.addEpisodeNo(3);
+        assertEquals(1, cache.get(o, "a").getMatch().getEpisodes().size());
+        assertNull(cache.get(o, "b").getMatch());
+        assertNull(cache.get(new TVMatcherOptions(), "a"));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    /**
+     * Test of put method, of class MatchCache.
+     */
+    @Test
+    public void testEviction() {
+        MatchCache cache = new MatchCache(1);
+        TVMatcherOptions o = new TVMatcherOptions();
+        cache.put(o, "a", new EpisodeMatch(1));
+        cache.put(o, "b", new EpisodeMatch(2));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get(o, "a"));
+        assertEquals(2, (int) cache.get(o, "b").getMatch().getEpisodes().get(0));
+        cache = new MatchCache(100);
+        for(int i = 0; i < 1000; i++) {
+            cache.put(o, String.valueOf(i), null);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.getEvictionCount());
+    }
+
+    /**
+     * Test of put method, of class MatchCache, filling the cache from many
+     * scopes before evicting.
+     */
+    @Test
+    public void testMaxSize() {
+        for(int maxSize : new int[] { 1, 2, 3, 10, 17, 100, 1000 }) {
+            for(int run = 0; run < 20; run++) {
+                MatchCache cache = new MatchCache(maxSize);
+                for(int i = 0; i < maxSize; i++) {
+                    cache.put(new Object(), "a", null);
+                }
+                assertEquals(maxSize, cache.size());
+                assertEquals(0, cache.getEvictionCount());
+                cache.put(new Object(), "a", null);
+                assertEquals(maxSize, cache.size());
+                assertEquals(1, cache.getEvictionCount());
+            }
+        }
+    }
+
+    /**
+     * Test of match method, of class TVMatcher.Pipeline.
+     */
+    @Test
+    public void testMatchCached() {
+        MatchCache cache = new MatchCache(10);
+        TVMatcher instance = new TVMatcher(new TVMatcherOptions().matchCache(cache));
+        Path p = Paths.get(PATH, "the.league.s01e02.pilot.mkv");
+        EpisodeMatch expResult = new EpisodeMatch("The League", 1, 2);
+        expResult.setEpisodeFile(p.toFile());
+        EpisodeMatch first = instance.match(p);
+        EpisodeMatch second = instance.match(p);
+        assertEpisodeMatchEquals(expResult, first);
+        assertEpisodeMatchEquals(expResult, second);
+        assertNotSame(first, second);
+        assertNull(instance.match(Paths.get(PATH, "sample.mkv")));
+        assertNull(instance.match(Paths.get(PATH, "sample.mkv")));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    /**
+     * Test of match method, of class TVMatcher.Pipeline, with pipelines of
+     * different matchers sharing the same options.
+     */
+    @Test
+    public void testMatchCachedPerPipeline() {
+        MatchCache cache = new MatchCache(10);
+        TVMatcherOptions o = new TVMatcherOptions().matchCache(cache);
+        TVMatcher.Pipeline se = new TVMatcher.Pipeline(new SEDelimitedMatcher(o));
+        TVMatcher.Pipeline x = new TVMatcher.Pipeline(new XDelimitedMatcher(o));
+        Path p = Paths.get(PATH, "the.league.s01e02.pilot.mkv");
+        assertEquals(2, se.match(p).getEpisode());
+        assertNull(x.match(p));
+        assertNull(x.match(p));
+        assertEquals(2, se.match(p).getEpisode());
+        assertEquals(2, new TVMatcher.Pipeline(o).match(p).getEpisode());
+        assertEquals(2, new TVMatcher.Pipeline(o).match(p).getEpisode());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+    
+}
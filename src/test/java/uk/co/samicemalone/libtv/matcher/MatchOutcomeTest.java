@@ -0,0 +1,145 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Paths;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.exception.MatchNotFoundException;
+import uk.co.samicemalone.libtv.matcher.TVMatcher.MatchElement;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class MatchOutcomeTest {
+
+    /**
+     * Test of matchOutcome method, of class TVMatcher.
+     */
+    @Test
+    public void testMatchOutcomeFound() {
+        MatchOutcome outcome = new TVMatcher().matchOutcome(Paths.get("/TV/The League/Season 1/the.league.s01e02.mkv"));
+        assertTrue(outcome.isFound());
+        assertEquals(MatchOutcome.Status.FOUND, outcome.getStatus());
+        assertEquals(new EpisodeMatch("The League", 1, 2), outcome.getMatch());
+        assertSame(outcome.getMatch(), outcome.getMatchIfFound());
+    }
+
+    /**
+     * Test of matchOutcome method, of class TVMatcher.
+     */
+    @Test
+    public void testMatchOutcomeNotFound() {
+        TVMatcher instance = new TVMatcher();
+        MatchOutcome outcome = instance.matchOutcome("the.league.sample.mkv");
+        assertFalse(outcome.isFound());
+        assertEquals(MatchOutcome.Status.NOT_FOUND, outcome.getStatus());
+        assertNull(outcome.getMatch());
+        assertSame(outcome, instance.matchOutcome("readme.txt"));
+    }
+
+    /**
+     * Test of matchOutcome method, of class TVMatcher.
+     */
+    @Test
+    public void testMatchOutcomeMissingElement() {
+        TVMatcher instance = new TVMatcher();
+        MatchOutcome outcome = instance.matchOutcome(Paths.get("/TV/s01e02.mkv"), MatchElement.SHOW);
+        assertEquals(MatchOutcome.Status.MISSING_SHOW, outcome.getStatus());
+        assertEquals(new EpisodeMatch(1, 2), outcome.getMatch());
+        assertNull(outcome.getMatchIfFound());
+        outcome = instance.matchOutcome(Paths.get("/TV/the.league.e02.mkv"), MatchElement.SEASON);
+        assertEquals(MatchOutcome.Status.MISSING_SEASON, outcome.getStatus());
+        assertEquals(2, outcome.getMatch().getEpisode());
+        outcome = instance.matchOutcome(Paths.get("/TV/the.league.e02.mkv"), MatchElement.SHOW);
+        assertEquals(MatchOutcome.Status.FOUND, outcome.getStatus());
+    }
+
+    /**
+     * Test of matchOutcome method, of class TVMatcher.
+     */
+    @Test
+    public void testMatchOutcomeBudgetExceeded() {
+        TVMatcher instance = new TVMatcher(new TVMatcherOptions().matchBudget(new MatchBudget(1)));
+        MatchOutcome outcome = instance.matchOutcome("the.league.s01e02.mkv");
+        assertEquals(MatchOutcome.Status.BUDGET_EXCEEDED, outcome.getStatus());
+        assertNull(outcome.getMatch());
+    }
+
+    /**
+     * Test of matchOutcome method, of class TVMatcher.
+     */
+    @Test
+    public void testMatchOutcomeLargeNumber() {
+        String[] fileNames = new String[] {
+            "show.1x99999999999.mkv",
+            "show.s01e99999999999.mkv",
+            "show.season.1.episode.99999999999.mkv",
+        };
+        for(TVMatcher.Engine engine : TVMatcher.Engine.values()) {
+            TVMatcher instance = new TVMatcher(new TVMatcherOptions().engine(engine));
+            for(String fileName : fileNames) {
+                MatchOutcome outcome = instance.matchOutcome(fileName);
+                assertEquals(engine + " " + fileName, MatchOutcome.Status.OVERFLOW, outcome.getStatus());
+                assertNull(engine + " " + fileName, instance.match(fileName));
+            }
+            assertEquals(new EpisodeMatch("Show", 1, 2), instance.matchOutcome("show.s01e02e99999999999.mkv").getMatch());
+        }
+    }
+
+    /**
+     * Test of matchOrThrow method, of class TVMatcher.
+     */
+    @Test(expected = MatchNotFoundException.class)
+    public void testMatchOrThrowLargeNumber() throws MatchNotFoundException {
+        new TVMatcher().matchOrThrow(Paths.get("/TV/Show/Season 1/show.1x99999999999.mkv"));
+    }
+
+    /**
+     * Test of matchOrThrow method, of class TVMatcher.
+     */
+    @Test
+    public void testMatchOrThrowStackless() {
+        try {
+            new TVMatcher().matchOrThrow(Paths.get("/TV/readme.txt"));
+            fail("MatchNotFoundException expected");
+        } catch(MatchNotFoundException e) {
+            assertEquals(0, e.getStackTrace().length);
+        }
+    }
+
+}
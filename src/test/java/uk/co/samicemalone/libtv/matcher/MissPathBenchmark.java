@@ -0,0 +1,123 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.co.samicemalone.libtv.exception.MatchException;
+import uk.co.samicemalone.libtv.matcher.TVMatcher.MatchElement;
+
+/**
+ * JMH benchmark of the miss path of TVMatcher: matchOrThrow, which creates a
+ * MatchException for each miss, against matchOutcome, which does not. The
+ * corpus is episodes with about 10% non episode files and episodes without
+ * a season, as seen when importing a download directory.
+ * Not run as part of the tests. Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=uk.co.samicemalone.libtv.matcher.MissPathBenchmark
+ * </pre>
+ * @author Sam Malone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MissPathBenchmark {
+    
+    private static final String[] MISSES = new String[] {
+        "%s.sample.mkv",
+        "%s.eng.srt",
+        "%s.nfo",
+        "%s.E%3$02d.mkv"
+    };
+    
+    private TVMatcher matcher;
+    private Path[] paths;
+    
+    @Setup
+    public void setUp() {
+        matcher = new TVMatcher();
+        Random random = new Random(42);
+        paths = new Path[4096];
+        for(int i = 0; i < paths.length; i++) {
+            String show = "Show.Name." + random.nextInt(200);
+            int season = 1 + random.nextInt(9);
+            int episode = 1 + random.nextInt(24);
+            String name;
+            if(random.nextInt(10) == 0) {
+                name = String.format(MISSES[random.nextInt(MISSES.length)], show, season, episode);
+            } else {
+                name = String.format("%s.S%02dE%02d.720p.HDTV.x264-GRP.mkv", show, season, episode);
+            }
+            paths[i] = Paths.get("/Downloads", name);
+        }
+    }
+    
+    @Benchmark
+    public void matchOrThrow(Blackhole bh) {
+        for(Path path : paths) {
+            try {
+                bh.consume(matcher.matchOrThrow(path, MatchElement.ALL));
+            } catch(MatchException e) {
+                bh.consume(e);
+            }
+        }
+    }
+    
+    @Benchmark
+    public void matchOutcome(Blackhole bh) {
+        for(Path path : paths) {
+            bh.consume(matcher.matchOutcome(path, MatchElement.ALL));
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MissPathBenchmark.class.getSimpleName()).build()).run();
+    }
+    
+}
@@ -0,0 +1,134 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class MultiEpisodeParserTest {
+
+    /**
+     * Test of parse method, of class MultiEpisodeParser.
+     */
+    @Test
+    public void testParse() {
+        String[][] tails = new String[][] {
+            { "e02e03", "e" },
+            { ".e02-e03", "e" },
+            { "_E02_s01e03", "e" },
+            { "x02x03", "x" },
+            { "+1X02.title.1x03", "x" },
+        };
+        for(String[] tail : tails) {
+            EpisodeMatch em = new EpisodeMatch(1, 1);
+            char marker = tail[1].equals("e") ? MultiEpisodeParser.EPISODE_MARKER_E : MultiEpisodeParser.EPISODE_MARKER_X;
+            MultiEpisodeParser.parse(tail[0], 0, tail[0].length(), marker, em);
+            assertEquals(tail[0], Arrays.asList(1, 2, 3), em.getEpisodes());
+        }
+    }
+
+    /**
+     * Test of parse method, of class MultiEpisodeParser.
+     */
+    @Test
+    public void testParseRange() {
+        EpisodeMatch em = new EpisodeMatch(1, 1);
+        MultiEpisodeParser.parse("-e04", 0, 4, MultiEpisodeParser.EPISODE_MARKER_E, em);
+        assertEquals(Arrays.asList(1, 2, 3, 4), em.getEpisodes());
+        em = new EpisodeMatch(1, 1);
+        MultiEpisodeParser.parse("-s01e04", 0, 7, MultiEpisodeParser.EPISODE_MARKER_E, em);
+        assertEquals(Arrays.asList(1, 4), em.getEpisodes());
+        em = new EpisodeMatch(1, 5);
+        MultiEpisodeParser.parse("-e03", 0, 4, MultiEpisodeParser.EPISODE_MARKER_E, em);
+        assertEquals(Arrays.asList(5, 3), em.getEpisodes());
+    }
+
+    /**
+     * Test of parse method, of class MultiEpisodeParser, with a range that
+     * is too long to be expanded.
+     */
+    @Test
+    public void testParseHugeRange() {
+        EpisodeMatch em = new EpisodeMatch(1, 1);
+        MultiEpisodeParser.parse("-e20000000", 0, 10, MultiEpisodeParser.EPISODE_MARKER_E, em);
+        assertEquals(Arrays.asList(1, 20000000), em.getEpisodes());
+        em = new EpisodeMatch(1, 1);
+        MultiEpisodeParser.parse("-e52", 0, 4, MultiEpisodeParser.EPISODE_MARKER_E, em);
+        assertEquals(Arrays.asList(1, 52), em.getEpisodes());
+        em = new EpisodeMatch(1, 1);
+        MultiEpisodeParser.parse("-e51", 0, 4, MultiEpisodeParser.EPISODE_MARKER_E, em);
+        assertEquals(51, em.getEpisodes().size());
+    }
+
+    /**
+     * Test of parse method, of class MultiEpisodeParser, with a backwards range.
+     */
+    @Test
+    public void testParseBackwardsRange() {
+        EpisodeMatch em = new EpisodeMatch(1, 20);
+        MultiEpisodeParser.parse("-e01", 0, 4, MultiEpisodeParser.EPISODE_MARKER_E, em);
+        assertEquals(Arrays.asList(20, 1), em.getEpisodes());
+        em = new EpisodeMatch(1, 4);
+        MultiEpisodeParser.parse("-x04", 0, 4, MultiEpisodeParser.EPISODE_MARKER_X, em);
+        assertEquals(Arrays.asList(4, 4), em.getEpisodes());
+    }
+
+    /**
+     * Test of parse method, of class MultiEpisodeParser, with every engine.
+     */
+    @Test
+    public void testMatchRange() {
+        String[] fileNames = new String[] {
+            "the.league.s01e01-e04.pilot.mkv",
+            "the league - S01E01-E04 - pilot.mkv",
+            "the.league.s01e01e02e03e04.pilot.mkv",
+            "the.league.1x01-x04.pilot.mkv",
+        };
+        for(TVMatcher.Engine engine : TVMatcher.Engine.values()) {
+            TVMatcher matcher = new TVMatcher(new TVMatcherOptions().engine(engine));
+            for(String fileName : fileNames) {
+                EpisodeMatch m = matcher.match(Paths.get("/TV/The League/Season 1", fileName));
+                assertEquals(engine + " " + fileName, Arrays.asList(1, 2, 3, 4), m.getEpisodes());
+            }
+            EpisodeMatch m = matcher.match(Paths.get("/TV/Show/Season 1", "show.s01e01-e20000000.mkv"));
+            assertEquals(engine.toString(), Arrays.asList(1, 20000000), m.getEpisodes());
+            m = matcher.match(Paths.get("/TV/Show/Season 1", "show.s01e05-e02.mkv"));
+            assertEquals(engine.toString(), Arrays.asList(5, 2), m.getEpisodes());
+        }
+    }
+    
+}
@@ -29,10 +29,19 @@
 package uk.co.samicemalone.libtv.matcher;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import org.junit.Test;
 import uk.co.samicemalone.libtv.MockFileSystem;
 import uk.co.samicemalone.libtv.matcher.path.StandardTVElementMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.PartMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.SEDelimitedMatcher;
 import uk.co.samicemalone.libtv.model.EpisodeMatch;
 import uk.co.samicemalone.libtv.model.TVMatcherOptions;
 import static uk.co.samicemalone.libtv.util.EpisodeTestUtil.assertEpisodeMatchEquals;
@@ -168,4 +177,116 @@ public class TVMatcherTest {
         assertEpisodeMatchEquals(expResult, result);
     }
 
+    /**
+     * Test of match method, of class TVMatcher.
+     */
+    @Test
+    public void testMatchFileName() {
+        EpisodeMatch expResult = new EpisodeMatch("The League", 1, 2);
+        expResult.setEpisodeFile(new File("The.League.S01E02.mkv"));
+        EpisodeMatch result = new TVMatcher().match("The.League.S01E02.mkv");
+        assertEquals("The.League.S01E02.mkv", result.getEpisodeName().toString());
+        assertEpisodeMatchEquals(expResult, result);
+        expResult.setEpisodeFile(new File("The League 1x02.mkv"));
+        for(TVMatcher.Engine engine : TVMatcher.Engine.values()) {
+            TVMatcher instance = new TVMatcher(new TVMatcherOptions().engine(engine));
+            assertEpisodeMatchEquals(expResult, instance.match("The League 1x02.mkv"));
+            assertNull(instance.match("sample.mkv"));
+        }
+    }
+
+    /**
+     * Test of match method, of class TVMatcher.
+     */
+    @Test
+    public void testMatchFileNameParentContext() {
+        final File season = MockFileSystem.getSeasonDir("The Office (US)", 1);
+        final int[] resolved = new int[1];
+        Supplier<Path> parent = new Supplier<Path>() {
+            @Override
+            public Path get() {
+                resolved[0]++;
+                return season.toPath();
+            }
+        };
+        EpisodeMatch result = new TVMatcher().match("The Office US - 1x02.mkv", parent);
+        assertEquals("The Office US", result.getShow());
+        assertEquals(0, resolved[0]);
+        assertEquals(new File(season, "The Office US - 1x02.mkv"), result.getEpisodeFile());
+        assertEquals(1, resolved[0]);
+        TVMatcherOptions o = new TVMatcherOptions((ShowMatcher) new StandardTVElementMatcher());
+        EpisodeMatch expResult = new EpisodeMatch("The Office (US)", 1, 2);
+        expResult.setEpisodeFile(new File(season, "The Office US - 1x02.mkv"));
+        result = new TVMatcher(o).match("The Office US - 1x02.mkv", parent);
+        assertEquals(2, resolved[0]);
+        assertEpisodeMatchEquals(expResult, result);
+    }
+
+    /**
+     * Test of match method, of class TVMatcher.Pipeline.
+     */
+    @Test
+    public void testPipelineOrder() {
+        TVMatcherOptions o = new TVMatcherOptions();
+        Path p = Paths.get("The Pacific - Part 3 - s01e02.mkv");
+        EpisodeMatch expResult = new EpisodeMatch("The Pacific - Part 3", 1, 2);
+        expResult.setEpisodeFile(p.toFile());
+        assertEpisodeMatchEquals(expResult, new TVMatcher(new TVMatcher.Pipeline(o)).match(p));
+        TVMatcher.Pipeline pipeline = new TVMatcher.Pipeline(new PartMatcher(o), new SEDelimitedMatcher(o));
+        expResult = new EpisodeMatch("The Pacific", EpisodeMatch.NO_SEASON, 3);
+        expResult.setEpisodeFile(p.toFile());
+        assertEpisodeMatchEquals(expResult, new TVMatcher(pipeline).match(p));
+    }
+
+    /**
+     * Test of match method, of class TVMatcher.Pipeline.
+     */
+    @Test
+    public void testPipelineMatchers() {
+        TVMatcherOptions o = new TVMatcherOptions();
+        TVMatcher.Matcher[] matchers = new TVMatcher.Matcher[] { new SEDelimitedMatcher(o) };
+        TVMatcher.Pipeline pipeline = new TVMatcher.Pipeline(matchers);
+        matchers[0] = new PartMatcher(o);
+        assertEquals(1, pipeline.getMatchers().size());
+        assertEquals(SEDelimitedMatcher.class, pipeline.getMatchers().get(0).getClass());
+        assertNull(pipeline.match(Paths.get("The Pacific - Part 3.mkv")));
+        assertEquals(5, new TVMatcher.Pipeline().getMatchers().size());
+    }
+
+    /**
+     * Test of getMatchers method, of class TVMatcher.Pipeline.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPipelineImmutable() {
+        new TVMatcher.Pipeline().getMatchers().clear();
+    }
+
+    /**
+     * Test of getWinCounts method, of class TVMatcher.Pipeline.
+     */
+    @Test
+    public void testPipelineWinCounts() {
+        TVMatcherOptions o = new TVMatcherOptions();
+        SEDelimitedMatcher se = new SEDelimitedMatcher(o);
+        PartMatcher part = new PartMatcher(o);
+        TVMatcher.Pipeline pipeline = new TVMatcher.Pipeline(se, part);
+        pipeline.match(Paths.get("/TV/The League/Season 1/the.league.s01e02.mkv"));
+        pipeline.match(Paths.get("/TV/The League/Season 1/the.league.s01e03.mkv"));
+        pipeline.match(Paths.get("/TV/The Pacific/The Pacific - Part 3.mkv"));
+        pipeline.match(Paths.get("/TV/sample.mkv"));
+        Map<TVMatcher.Matcher, Long> counts = pipeline.getWinCounts();
+        assertEquals(Arrays.asList(se, part), new ArrayList<>(counts.keySet()));
+        assertEquals(2, (long) counts.get(se));
+        assertEquals(1, (long) counts.get(part));
+        assertEquals(1, pipeline.getMissCount());
+    }
+
+    /**
+     * Test of getWinCounts method, of class TVMatcher.Pipeline.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPipelineWinCountsImmutable() {
+        new TVMatcher.Pipeline().getWinCounts().clear();
+    }
+
 }
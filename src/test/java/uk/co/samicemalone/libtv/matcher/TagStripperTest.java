@@ -0,0 +1,142 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher;
+
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.ReleaseTags;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class TagStripperTest {
+
+    /**
+     * Test of strip method, of class TagStripper.
+     */
+    @Test
+    public void testStrip() {
+        TagStripper instance = TagStripper.getDefault();
+        assertEquals("Modern.Family.S05E17.....mkv", instance.strip("Modern.Family.S05E17.720p.DD5.1.AAC2.0.H.264.mkv"));
+        assertEquals("show.s01e01...mkv", instance.strip("show.s01e01.dd 5 1.x_264.mkv"));
+        assertEquals("show.s01e01...mkv", instance.strip("show.s01e01.AC3.h264.mkv"));
+    }
+
+    /**
+     * Test of strip method, of class TagStripper.
+     */
+    @Test
+    public void testStripNoTags() {
+        String fileName = "the.league.s01e01.pilot.mkv";
+        assertSame(fileName, TagStripper.getDefault().strip(fileName));
+    }
+
+    /**
+     * Test of strip method, of class TagStripper.
+     */
+    @Test
+    public void testStripBuffer() {
+        TagStripper instance = TagStripper.getDefault();
+        StringBuilder sb = new StringBuilder();
+        assertEquals("the.walking.dead.s03e01..bluray..mkv", instance.strip("the.walking.dead.s03e01.1080p.bluray.x264.mkv", sb).toString());
+        sb.setLength(0);
+        assertEquals("scrubs.s01e01..mkv", instance.strip("scrubs.s01e01.480p.mkv", sb).toString());
+    }
+
+    /**
+     * Test of strip method, of class TagStripper.
+     */
+    @Test
+    public void testStripReleaseTags() {
+        TagStripper instance = TagStripper.getDefault().withTags("web.dl", "x.265");
+        int[] tags = new int[1];
+        assertEquals("show.s01e01.....mkv", instance.strip("show.s01e01.1080p.WEB-DL.DD5.1.x265.mkv", tags));
+        ReleaseTags releaseTags = ReleaseTags.valueOf(tags[0]);
+        assertEquals(ReleaseTags.Resolution.HD_1080, releaseTags.getResolution());
+        assertEquals(ReleaseTags.VideoCodec.H265, releaseTags.getVideoCodec());
+        assertEquals(ReleaseTags.AudioCodec.AC3, releaseTags.getAudioCodec());
+        assertEquals(ReleaseTags.AudioChannels.CH_5_1, releaseTags.getAudioChannels());
+        assertEquals(ReleaseTags.Source.WEB_DL, releaseTags.getSource());
+        String fileName = "the.league.s01e01.pilot.mkv";
+        assertSame(fileName, instance.strip(fileName, tags));
+        assertSame(ReleaseTags.NONE, ReleaseTags.valueOf(tags[0]));
+    }
+
+    /**
+     * Test of getReleaseTags method, of class EpisodeMatch.
+     */
+    @Test
+    public void testMatchReleaseTags() {
+        TVMatcher matcher = new TVMatcher(new TVMatcherOptions().commonTags("webrip"));
+        EpisodeMatch m = matcher.match("Show.Name.S02E03.720p.WEBRip.AAC2.0.H.264.mkv");
+        assertEquals(ReleaseTags.Resolution.HD_720, m.getReleaseTags().getResolution());
+        assertEquals(ReleaseTags.VideoCodec.H264, m.getReleaseTags().getVideoCodec());
+        assertEquals(ReleaseTags.AudioCodec.AAC, m.getReleaseTags().getAudioCodec());
+        assertEquals(ReleaseTags.AudioChannels.CH_2_0, m.getReleaseTags().getAudioChannels());
+        assertEquals(ReleaseTags.Source.WEBRIP, m.getReleaseTags().getSource());
+        assertEquals(m.getReleaseTags(), m.toSplitEpisodeList().get(0).getReleaseTags());
+        m = matcher.match("Show.Name.S02E03.mkv");
+        assertSame(ReleaseTags.NONE, m.getReleaseTags());
+    }
+
+    /**
+     * Test of withTags method, of class TagStripper.
+     */
+    @Test
+    public void testWithTags() {
+        TagStripper instance = TagStripper.getDefault().withTags("2160p", "x.265", "hevc", "ddp.5.1");
+        String fileName = "the.expanse.s01e01.2160p.DDP5.1.HEVC.x265.mkv";
+        assertEquals("the.expanse.s01e01.....mkv", instance.strip(fileName));
+        assertEquals("the.expanse.s01e01.2160p.DDP5.1.HEVC.x265.mkv", TagStripper.getDefault().strip(fileName));
+        assertEquals(TagStripper.getDefault().getTags().size() + 4, instance.getTags().size());
+    }
+
+    /**
+     * Test of commonTags method, of class TVMatcherOptions.
+     */
+    @Test
+    public void testOptionsCommonTags() {
+        TVMatcherOptions o = new TVMatcherOptions().commonTags("2160P", "HEVC");
+        assertEquals("show.s01e01...mkv", o.getTagStripper().strip("show.s01e01.2160p.hevc.mkv"));
+    }
+
+    /**
+     * Test of TagStripper constructor, of class TagStripper.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTag() {
+        new TagStripper(Arrays.asList(".720p"));
+    }
+
+}
@@ -0,0 +1,255 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.path;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.co.samicemalone.libtv.matcher.EpisodeMatcher;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMap;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class LibraryIndexTest {
+    
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path root;
+    private Path seasonDir;
+    private LibraryIndex index;
+    
+    @Before
+    public void setUp() throws IOException {
+        root = folder.newFolder("TV").toPath();
+        seasonDir = Files.createDirectories(root.resolve("Show").resolve("Season 1"));
+        Files.createFile(seasonDir.resolve("Show.S01E01.mkv"));
+        Files.createFile(seasonDir.resolve("Show.S01E02.mkv"));
+        Files.createFile(seasonDir.resolve("Show.S01E02.nfo"));
+        Path extras = Files.createDirectories(root.resolve("Show").resolve("Extras"));
+        Files.createFile(extras.resolve("Show.S01E03.mkv"));
+        StandardTVPath source = new StandardTVPath(root);
+        index = new LibraryIndex(Collections.singletonList(source), new EpisodeMatcher(), 50, TimeUnit.MILLISECONDS);
+        index.start();
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        index.close();
+    }
+    
+    private boolean contains(String show, int season, int episode) {
+        TVMap map = index.getTVMap();
+        synchronized(map) {
+            return map.contains(show, season, episode);
+        }
+    }
+    
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while(!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Test of start method, of class LibraryIndex.
+     */
+    @Test
+    public void testStart() {
+        assertEquals(2, index.size());
+        assertTrue(contains("Show", 1, 1));
+        assertTrue(contains("Show", 1, 2));
+        assertFalse(contains("Show", 1, 3));
+    }
+
+    /**
+     * Test of start method, of class LibraryIndex.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testStartTwice() throws IOException {
+        index.start();
+    }
+
+    /**
+     * Test of create events, of class LibraryIndex.
+     */
+    @Test
+    public void testCreateEpisode() throws IOException, InterruptedException {
+        Files.createFile(seasonDir.resolve("Show.S01E03.mkv"));
+        await(() -> contains("Show", 1, 3));
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * Test of delete events, of class LibraryIndex.
+     */
+    @Test
+    public void testDeleteEpisode() throws IOException, InterruptedException {
+        Files.delete(seasonDir.resolve("Show.S01E01.mkv"));
+        await(() -> !contains("Show", 1, 1));
+        assertTrue(contains("Show", 1, 2));
+        assertEquals(1, index.size());
+    }
+
+    /**
+     * Test of delete events, of class LibraryIndex, with two files of the
+     * same episode.
+     */
+    @Test
+    public void testDeleteDuplicateEpisode() throws IOException, InterruptedException {
+        Files.createFile(seasonDir.resolve("Show.S01E01.720p.mkv"));
+        await(() -> index.size() == 3);
+        Files.delete(seasonDir.resolve("Show.S01E01.mkv"));
+        await(() -> index.size() == 2);
+        assertTrue(contains("Show", 1, 1));
+        Files.delete(seasonDir.resolve("Show.S01E01.720p.mkv"));
+        await(() -> !contains("Show", 1, 1));
+        assertTrue(contains("Show", 1, 2));
+    }
+
+    /**
+     * Test of delete events, of class LibraryIndex, with a multi episode file
+     * that overlaps another file.
+     */
+    @Test
+    public void testDeleteOverlappingEpisodes() throws IOException, InterruptedException {
+        Files.createFile(seasonDir.resolve("Show.S01E02E03.mkv"));
+        await(() -> contains("Show", 1, 3));
+        Files.delete(seasonDir.resolve("Show.S01E02E03.mkv"));
+        await(() -> !contains("Show", 1, 3));
+        assertTrue(contains("Show", 1, 2));
+        Files.createFile(seasonDir.resolve("Show.S01E02E03.mkv"));
+        await(() -> contains("Show", 1, 3));
+        Files.delete(seasonDir.resolve("Show.S01E02.mkv"));
+        await(() -> index.size() == 2);
+        assertTrue(contains("Show", 1, 2));
+        assertTrue(contains("Show", 1, 3));
+    }
+
+    /**
+     * Test of create events, of class LibraryIndex, with a matcher that
+     * throws for some files.
+     */
+    @Test
+    public void testMatcherException() throws IOException, InterruptedException {
+        index.close();
+        EpisodeMatcher matcher = new EpisodeMatcher() {
+            @Override
+            public EpisodeMatch match(Path path) {
+                if(path.getFileName().toString().contains("Broken")) {
+                    throw new IllegalStateException(path.toString());
+                }
+                return super.match(path);
+            }
+        };
+        Files.createFile(seasonDir.resolve("Show.S01E03.Broken.mkv"));
+        index = new LibraryIndex(Collections.singletonList(new StandardTVPath(root)), matcher, 50, TimeUnit.MILLISECONDS);
+        index.start();
+        assertEquals(2, index.size());
+        Files.createFile(seasonDir.resolve("Show.S01E04.Broken.mkv"));
+        Files.createFile(seasonDir.resolve("Show.S01E05.mkv"));
+        await(() -> contains("Show", 1, 5));
+        Files.createFile(seasonDir.resolve("Show.S01E06.mkv"));
+        await(() -> contains("Show", 1, 6));
+        assertFalse(contains("Show", 1, 4));
+        assertEquals(4, index.size());
+    }
+
+    /**
+     * Test of rename events, of class LibraryIndex.
+     */
+    @Test
+    public void testRenameEpisode() throws IOException, InterruptedException {
+        Files.move(seasonDir.resolve("Show.S01E02.mkv"), seasonDir.resolve("Show.S01E04.mkv"));
+        await(() -> contains("Show", 1, 4) && !contains("Show", 1, 2));
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Test of create events for directories, of class LibraryIndex.
+     */
+    @Test
+    public void testMoveShowDirectory() throws IOException, InterruptedException {
+        Path staging = folder.newFolder("staging").toPath();
+        Path newSeason = Files.createDirectories(staging.resolve("Other Show").resolve("Season 2"));
+        Files.createFile(newSeason.resolve("Other.Show.S02E05.mkv"));
+        Files.move(staging.resolve("Other Show"), root.resolve("Other Show"));
+        await(() -> contains("Other Show", 2, 5));
+        Path moved = root.resolve("Other Show").resolve("Season 2");
+        Files.createFile(moved.resolve("Other.Show.S02E06.mkv"));
+        await(() -> contains("Other Show", 2, 6));
+        Files.move(root.resolve("Other Show"), staging.resolve("Other Show"));
+        await(() -> !contains("Other Show", 2, 5) && !contains("Other Show", 2, 6));
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Test of rescan method, of class LibraryIndex.
+     */
+    @Test
+    public void testRescan() throws IOException {
+        index.close();
+        Files.createFile(seasonDir.resolve("Show.S01E03.mkv"));
+        Files.delete(seasonDir.resolve("Show.S01E01.mkv"));
+        index = new LibraryIndex(Collections.singletonList(new StandardTVPath(root)), new EpisodeMatcher());
+        index.start();
+        Files.createFile(seasonDir.resolve("Show.S01E04.mkv"));
+        index.rescan(seasonDir);
+        assertTrue(contains("Show", 1, 4));
+        assertFalse(contains("Show", 1, 1));
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * Test of rescan method, of class LibraryIndex.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRescanNotWatched() throws IOException {
+        index.rescan(root.resolve("Show").resolve("Extras"));
+    }
+    
+}
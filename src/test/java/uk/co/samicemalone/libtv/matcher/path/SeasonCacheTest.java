@@ -0,0 +1,157 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.path;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class SeasonCacheTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path showDir;
+    
+    @Before
+    public void setUp() throws IOException {
+        showDir = folder.newFolder("Show").toPath();
+        Files.createDirectory(showDir.resolve("Season 01"));
+        Files.createDirectory(showDir.resolve("Season 1"));
+        Files.createDirectory(showDir.resolve("Series 02"));
+        Files.createDirectory(showDir.resolve("Season 3 (2010)"));
+        Files.createDirectory(showDir.resolve("Extras"));
+        Files.createFile(showDir.resolve("Season 4.nfo"));
+    }
+
+    /**
+     * Test of getSeasons method, of class SeasonCache.
+     */
+    @Test
+    public void testGetSeasons() {
+        Map<Integer, Path> seasons = new SeasonCache().getSeasons(showDir);
+        assertEquals(3, seasons.size());
+        assertEquals(showDir.resolve("Season 1"), seasons.get(1));
+        assertEquals(showDir.resolve("Series 02"), seasons.get(2));
+        assertEquals(showDir.resolve("Season 3 (2010)"), seasons.get(3));
+    }
+
+    /**
+     * Test of getSeasons method, of class SeasonCache.
+     */
+    @Test
+    public void testGetSeasonsNotFound() {
+        assertTrue(new SeasonCache().getSeasons(showDir.resolve("Missing")).isEmpty());
+    }
+
+    /**
+     * Test of getEpisodesPath method, of class SeasonCache.
+     */
+    @Test
+    public void testGetEpisodesPathModified() throws IOException {
+        SeasonCache instance = new SeasonCache();
+        assertNull(instance.getEpisodesPath(showDir, 5));
+        FileTime lastModified = Files.getLastModifiedTime(showDir);
+        Files.createDirectory(showDir.resolve("Season 5"));
+        Files.setLastModifiedTime(showDir, FileTime.fromMillis(lastModified.toMillis() + 2000));
+        assertEquals(showDir.resolve("Season 5"), instance.getEpisodesPath(showDir, 5));
+    }
+
+    /**
+     * Test of getEpisodesPath method, of class SeasonCache, with a season
+     * directory created in the same timestamp tick as the listing.
+     */
+    @Test
+    public void testGetEpisodesPathSameTick() throws IOException {
+        SeasonCache instance = new SeasonCache();
+        FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis());
+        Files.setLastModifiedTime(showDir, lastModified);
+        assertNull(instance.getEpisodesPath(showDir, 5));
+        Files.createDirectory(showDir.resolve("Season 5"));
+        Files.setLastModifiedTime(showDir, lastModified);
+        assertEquals(showDir.resolve("Season 5"), instance.getEpisodesPath(showDir, 5));
+    }
+
+    /**
+     * Test of getEpisodesPath method, of class SeasonCache, with a listing
+     * made after the timestamp granularity of the last modified time.
+     */
+    @Test
+    public void testGetEpisodesPathCached() throws IOException {
+        SeasonCache instance = new SeasonCache();
+        FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis() - 10 * SeasonCache.TIMESTAMP_GRANULARITY);
+        Files.setLastModifiedTime(showDir, lastModified);
+        assertNull(instance.getEpisodesPath(showDir, 5));
+        Files.createDirectory(showDir.resolve("Season 5"));
+        Files.setLastModifiedTime(showDir, lastModified);
+        assertNull(instance.getEpisodesPath(showDir, 5));
+        instance.invalidate(showDir);
+        assertEquals(showDir.resolve("Season 5"), instance.getEpisodesPath(showDir, 5));
+    }
+
+    /**
+     * Test of getSeasons method, of class SeasonCache.
+     */
+    @Test
+    public void testGetSeasonsBounded() throws IOException {
+        SeasonCache instance = new SeasonCache(2);
+        for(int i = 0; i < 5; i++) {
+            Path dir = folder.newFolder("Show " + i).toPath();
+            Files.createDirectory(dir.resolve("Season 1"));
+            assertEquals(dir.resolve("Season 1"), instance.getEpisodesPath(dir, 1));
+            assertTrue(instance.size() <= 2);
+        }
+    }
+
+    /**
+     * Test of getEpisodesPath method, of class StandardTVPath.
+     */
+    @Test
+    public void testStandardTVPathGetEpisodesPath() throws IOException {
+        StandardTVPath instance = new StandardTVPath(folder.getRoot().toPath());
+        assertEquals(showDir.resolve("Series 02"), instance.getEpisodesPath("Show", 2));
+        assertNull(instance.getEpisodesPath("Show", 6));
+        assertEquals(showDir.resolve("Season 6"), instance.newEpisodesPath("Show", 6, StandardTVPath.SeasonFormat.SEASON));
+        assertEquals(showDir.resolve("Season 6"), instance.getEpisodesPath("Show", 6));
+    }
+
+}
@@ -0,0 +1,125 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.path;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.co.samicemalone.libtv.FileSystemEnvironment;
+import uk.co.samicemalone.libtv.MockFileSystem;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class ShowIndexTest extends FileSystemEnvironment {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test of getSeasonsPath method, of class StandardTVLibrary.
+     */
+    @Test
+    public void testIndexShows() throws IOException {
+        StandardTVLibrary library = new StandardTVLibrary(MockFileSystem.getSourceFolders());
+        library.indexShows(0, TimeUnit.SECONDS);
+        assertEquals(6, library.getShowIndex().size());
+        assertEquals(MockFileSystem.getShowDir("Scrubs").toPath(), library.getSeasonsPath("Scrubs"));
+        assertEquals(MockFileSystem.getShowDir("The Office (US)").toPath(), library.getSeasonsPath("the office us"));
+        assertNull(library.getSeasonsPath("Lost"));
+        Path expResult = MockFileSystem.getShowDir("Friends").toPath().resolve("Season 2");
+        assertEquals(expResult, library.getEpisodesPath("friends", 2));
+        assertEquals(expResult, library.newEpisodesPath("friends", 2));
+    }
+
+    /**
+     * Test of refreshShowIndex method, of class StandardTVLibrary.
+     */
+    @Test
+    public void testRefreshShowIndex() throws IOException {
+        StandardTVLibrary library = new StandardTVLibrary(MockFileSystem.getSourceFolders());
+        library.indexShows(0, TimeUnit.SECONDS);
+        File showDir = MockFileSystem.getShowDir("Lost");
+        try {
+            showDir.mkdir();
+            assertNull(library.getSeasonsPath("Lost"));
+            library.refreshShowIndex();
+            assertEquals(showDir.toPath(), library.getSeasonsPath("Lost"));
+        } finally {
+            showDir.delete();
+        }
+    }
+
+    /**
+     * Test of get method, of class ShowIndex.
+     */
+    @Test
+    public void testGetExpired() throws Exception {
+        Path root = folder.getRoot().toPath();
+        ShowIndex index = new ShowIndex(Arrays.asList(new StandardTVPath(root)), 1, TimeUnit.MILLISECONDS);
+        assertNull(index.get("Lost"));
+        Files.createDirectory(root.resolve("Lost"));
+        Thread.sleep(5);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(index.get("Lost") == null && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(root.resolve("Lost"), index.getSeasonsPath("lost"));
+    }
+
+    /**
+     * Test of refresh method, of class ShowIndex.
+     */
+    @Test
+    public void testRefreshSourcePrecedence() throws IOException {
+        Path first = folder.newFolder("first").toPath();
+        Path second = folder.newFolder("second").toPath();
+        Files.createDirectory(first.resolve("Lost"));
+        Files.createDirectory(second.resolve("Lost"));
+        Files.createDirectory(second.resolve("House of Cards (2013)"));
+        StandardTVPath firstSource = new StandardTVPath(first);
+        ShowIndex index = new ShowIndex(Arrays.asList(firstSource, new StandardTVPath(second)));
+        assertNull(index.get("Lost"));
+        index.refresh();
+        assertSame(firstSource, index.get("Lost").getSource());
+        assertEquals(first.resolve("Lost"), index.getSeasonsPath("Lost"));
+        assertEquals("House of Cards (2013)", index.get("house of cards 2013").getShowDirectory());
+    }
+
+}
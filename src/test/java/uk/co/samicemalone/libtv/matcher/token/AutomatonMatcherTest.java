@@ -0,0 +1,84 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.matcher.TVMatcher;
+import static uk.co.samicemalone.libtv.matcher.token.TokenMatcherTest.PATH;
+import static uk.co.samicemalone.libtv.matcher.token.TokenMatcherTest.assertSameMatch;
+import static uk.co.samicemalone.libtv.matcher.token.TokenMatcherTest.fileNames;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class AutomatonMatcherTest {
+
+    /**
+     * Test of match method, of class AutomatonMatcher.
+     */
+    @Test
+    public void testMatch() {
+        TVMatcher chain = new TVMatcher(new TVMatcherOptions());
+        TVMatcher automaton = new TVMatcher(new TVMatcherOptions().engine(TVMatcher.Engine.AUTOMATON));
+        for(String fileName : fileNames()) {
+            Path p = Paths.get(PATH, fileName);
+            assertSameMatch(fileName, chain.match(p), automaton.match(p));
+        }
+    }
+
+    /**
+     * Test of match method, of class AutomatonMatcher.
+     */
+    @Test
+    public void testMatchPart() {
+        TVMatcher automaton = new TVMatcher(new TVMatcherOptions().engine(TVMatcher.Engine.AUTOMATON));
+        EpisodeMatch m = automaton.match(Paths.get(PATH, "The Pacific Pt IV.mkv"));
+        assertEquals("The Pacific", m.getShow());
+        assertEquals(4, (int) m.getEpisodes().get(0));
+    }
+
+    /**
+     * Test of getMatchers method, of class TVMatcher.Pipeline.
+     */
+    @Test
+    public void testPipeline() {
+        TVMatcherOptions o = new TVMatcherOptions().engine(TVMatcher.Engine.AUTOMATON);
+        TVMatcher.Pipeline pipeline = new TVMatcher.Pipeline(o);
+        assertEquals(1, pipeline.getMatchers().size());
+        assertTrue(pipeline.getMatchers().get(0) instanceof AutomatonMatcher);
+    }
+
+}
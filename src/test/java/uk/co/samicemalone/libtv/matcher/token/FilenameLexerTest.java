@@ -0,0 +1,83 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.matcher.token.FilenameTokens.Type;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class FilenameLexerTest {
+
+    /**
+     * Test of lex method, of class FilenameLexer.
+     */
+    @Test
+    public void testLex() {
+        FilenameTokens tokens = FilenameLexer.lex("the.league_s01E02 - (US) part.IV.mkv");
+        String expResult = "LETTERS(the) SEPARATOR(.) LETTERS(league) SEPARATOR(_) LETTERS(s) "
+            + "DIGITS(01) LETTERS(E) DIGITS(02) SEPARATOR( - ) OTHER(() LETTERS(US) OTHER()) "
+            + "SEPARATOR( ) LETTERS(part) SEPARATOR(.) ROMAN_NUMERAL(IV) SEPARATOR(.) LETTERS(mkv)";
+        assertEquals(expResult, tokens.toString());
+        assertEquals(18, tokens.size());
+        assertEquals(Type.DIGITS, tokens.getType(5));
+        assertEquals(12, tokens.getStart(5));
+        assertEquals(14, tokens.getEnd(5));
+    }
+
+    /**
+     * Test of indexOf method, of class FilenameTokens.
+     */
+    @Test
+    public void testIndexOf() {
+        FilenameTokens tokens = FilenameLexer.lex("show 1x02.mkv");
+        assertEquals(0, tokens.indexOf(3));
+        assertEquals(2, tokens.indexOf(5));
+        assertEquals(4, tokens.indexOf(7));
+        assertEquals(tokens.size(), tokens.indexOf(13));
+    }
+
+    /**
+     * Test of getUnfiltered method, of class FilenameTokens.
+     */
+    @Test
+    public void testGetUnfiltered() {
+        String fileName = "show.s01e01.mkv";
+        FilenameTokens tokens = FilenameLexer.lex(fileName, fileName);
+        assertSame(tokens, tokens.getUnfiltered());
+        tokens = FilenameLexer.lex("show.s01e01.720p.mkv", "show.s01e01..mkv");
+        assertEquals("show.s01e01.720p.mkv", tokens.getUnfiltered().getText());
+        assertEquals(11, tokens.getUnfiltered().size());
+    }
+
+}
@@ -0,0 +1,369 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.token;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+import uk.co.samicemalone.libtv.matcher.SeasonMatcher;
+import uk.co.samicemalone.libtv.matcher.TVMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.NoDelimiterMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.PartMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.SEDelimitedMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.WordDelimitedMatcher;
+import uk.co.samicemalone.libtv.matcher.tv.XDelimitedMatcher;
+import uk.co.samicemalone.libtv.model.EpisodeMatch;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * Differential test of the token matchers against the regex matchers they
+ * replace. Each token matcher must return the same EpisodeMatch as its regex
+ * equivalent for the file names used by the matcher tests and for randomly
+ * generated file names.
+ * @author Sam Malone
+ */
+public class TokenMatcherTest {
+
+    static final String PATH = "/TV/The League/Season 1/";
+
+    private static final String[] CORPUS = new String[] {
+        "102.mkv",
+        "1x02.mkv",
+        "Modern.Family.S05E17.....mkv",
+        "Modern.Family.S05E17.720p.DD5.1.AAC2.0.H.264.mkv",
+        "The Office (US) - 1x02.mkv",
+        "The Office (US) - Part 2.mkv",
+        "The Office US - 1x02.mkv",
+        "The Office US pt 2.mkv",
+        "The Pacific - Part 3 - s01e02.mkv",
+        "The Pacific - Part 3.mkv",
+        "file.name.ignored.mkv",
+        "helix.s01e01.pilot.mkv",
+        "house.of.cards.(2013).102.pilot.mkv",
+        "house.of.cards.(2013).s01e01.bluray.dts..mkv",
+        "house.of.cards.(2013).s01e01.bluray.dts.x264.mkv",
+        "irrelevant.file.name.avi",
+        "part 2 name.mkv",
+        "part ii name.mkv",
+        "part2 name.mkv",
+        "part_ii_name.mkv",
+        "pt 2.mkv",
+        "pt.2.name.mkv",
+        "pt.ii.name.mkv",
+        "pt2_name.mkv",
+        "scrubs.s01e01..mkv",
+        "scrubs.s01e01.480p.mkv",
+        "show.s01e01...mkv",
+        "show.s01e01.2160p.hevc.mkv",
+        "show.s01e01.AC3.h264.mkv",
+        "show.s01e01.dd 5 1.x_264.mkv",
+        "the league - 1x02+1x03 - name.mkv",
+        "the league - 1x02+1x03+1x04+1x05 - name.mkv",
+        "the league - s01e01 - pilot.mkv",
+        "the league 1x2 name.mkv",
+        "the league 1x2x3 name.mkv",
+        "the league 1x2x3x4x5 name.mkv",
+        "the league s1e1 pilot.mkv",
+        "the league season 01 episode 02 episode 03 episode 04 episode 05 name.mkv",
+        "the league season 01 episode 02 episode 03 name.mkv",
+        "the league season 1 ep 2 ep 3 ep 4 ep 5 name.mkv",
+        "the league season 1 ep 2 ep 3 name.mkv",
+        "the league season 1 ep 2 name ep 3 name ep 4 name ep5 name.mkv",
+        "the league season 1 ep 2 name ep 3 name.mkv",
+        "the league season 1 ep 2 name.mkv",
+        "the league season 1 episode 2 episode 3 episode 4 episode 5 name.mkv",
+        "the league season 1 episode 2 episode 3 name.mkv",
+        "the league season 1 episode 2 name.mkv",
+        "the league season1 ep2 ep3 ep4 ep5 name.mkv",
+        "the league season1 ep2 ep3 name.mkv",
+        "the league season1 ep2ep3 name.mkv",
+        "the league season1 ep2ep3ep4ep5 name.mkv",
+        "the league.s01.e01.pilot.mkv",
+        "the league.s01e01e02.pilot.mkv",
+        "the league.s01e01e02e03e04.pilot.mkv",
+        "the pacific part 13 part 14 name.mkv",
+        "the pacific part 19 name part 20 name.mkv",
+        "the pacific part 2 name.mkv",
+        "the pacific part 25 part 26 part 27 part 28 name.mkv",
+        "the pacific part 37 name part 38 name part 39 name part 40 name.mkv",
+        "the pacific part ii name.mkv",
+        "the pacific part iii part iv name.mkv",
+        "the pacific part ix name part x name.mkv",
+        "the pacific part v part vi part vii name part viii name.mkv",
+        "the pacific part xvii name part xviii name part xix name part xx name.mkv",
+        "the pacific part2 name.mkv",
+        "the pacific pt23-pt24 name.mkv",
+        "the pacific pt45-pt46-pt47-pt48 name.mkv",
+        "the pacific-part21-part22-name.mkv",
+        "the.expanse.s01e01.....mkv",
+        "the.expanse.s01e01.2160p.DDP5.1.HEVC.x265.mkv",
+        "the.league - 01x02 - name.mkv",
+        "the.league - 01x02x03 - name.mkv",
+        "the.league - 01x02x03x04x05 - name.mkv",
+        "the.league - 102 - pilot.mkv",
+        "the.league - s01e01e02 - pilot.mkv",
+        "the.league - s01e01e02e03e04 - pilot.mkv",
+        "the.league 1.02 pilot.mkv",
+        "the.league 102 pilot.mkv",
+        "the.league ep01ep02 pilot.mkv",
+        "the.league ep01ep02ep03ep04 pilot.mkv",
+        "the.league ep02 name.mkv",
+        "the.league ep1ep2 pilot.mkv",
+        "the.league ep1ep2ep3ep4 pilot.mkv",
+        "the.league ep2 name.mkv",
+        "the.league-s1e1-pilot.mkv",
+        "the.league.1x02.name.mkv",
+        "the.league.1x02x03.name.mkv",
+        "the.league.1x02x03x04x05.name.mkv",
+        "the.league.S01xE01.pilot.mkv",
+        "the.league.S01xE01xE02.pilot.mkv",
+        "the.league.S01xE01xE02xE03xE04.pilot.mkv",
+        "the.league.S1xE1xE2.pilot.mkv",
+        "the.league.S1xE1xE2xE3xE4.pilot.mkv",
+        "the.league.ep.02.name.mkv",
+        "the.league.ep_01_ep_02.pilot.mkv",
+        "the.league.ep_01_ep_02_ep_03_ep_04.pilot.mkv",
+        "the.league.ep_01_name_ep_02_name.mkv",
+        "the.league.ep_01_name_ep_02_name_ep_03_name_ep_04_name.mkv",
+        "the.league.ep_1_ep_2.pilot.mkv",
+        "the.league.ep_1_ep_2_ep_3_ep_4.pilot.mkv",
+        "the.league.s01.e01.pilot.s01.e02.pilot.cont.mkv",
+        "the.league.s01.e01.pilot.s01.e02.pilot.cont.s01e03.cont.again.s01e04.cont.mkv",
+        "the.league.s01e01.pilot.mkv",
+        "the.league.s01e01.pilot.s01e02.pilot.cont.mkv",
+        "the.league.s01e01.pilot.s01e02.pilot.cont.s01e03.cont.again.s01e04.cont.mkv",
+        "the.league.s1e1.pilot.s1e2.pilot.cont.mkv",
+        "the.league.s1e1.pilot.s1e2.pilot.cont.s1e3.cont.again.s1e4.cont.mkv",
+        "the.league.season.1.ep02.ep03.ep04.ep05.name.mkv",
+        "the.league.season.1.ep02.ep03.name.mkv",
+        "the.league.season.1.ep02.name.mkv",
+        "the.league_s01_e01_e02.pilot.mkv",
+        "the.league_s01_e01_e02_e03_e04.pilot.mkv",
+        "the.pacific-part-11-part-12-name.mkv",
+        "the.pacific-part-21-part-22-part-23-part-24-name.mkv",
+        "the.pacific-part-i-part-ii-part-iii-part-iv-name.mkv",
+        "the.pacific.pt.15.pt.16.name.mkv",
+        "the.pacific.pt.2.name.mkv",
+        "the.pacific.pt.25.name.pt.26.name.mkv",
+        "the.pacific.pt.29.pt.30.pt.31.pt.32.name.mkv",
+        "the.pacific.pt.49.name.pt.50.name.pt.51.name.pt.52.name.mkv",
+        "the.pacific.pt.ii.name.mkv",
+        "the.pacific.pt.ix.pt.x.pt.xi.pt.xii.name.mkv",
+        "the.pacific.pt.v.pt.vi.name.mkv",
+        "the.walking.dead.s03e01..bluray..mkv",
+        "the.walking.dead.s03e01.1080p.bluray.x264.mkv",
+        "the_league - e1e2 - name.mkv",
+        "the_league - e1e2e3e4 - name.mkv",
+        "the_league - e2 - name.mkv",
+        "the_league - season 1 - e2 - name.mkv",
+        "the_league - season 1 - e2e3 - name.mkv",
+        "the_league - season 1 - e2e3e4e5 - name.mkv",
+        "the_league-s01e01-s01e02-pilot.mkv",
+        "the_league-s01e01-s01e02-s01e03-s01e04-pilot.mkv",
+        "the_league_1_02_pilot.mkv",
+        "the_league_1x02.name.1x03_name.1x04.name.1x05.name.mkv",
+        "the_league_1x02.name.1x03_name.mkv",
+        "the_league_1x02_1x03_1x04_1x05_name.mkv",
+        "the_league_1x02_1x03_name.mkv",
+        "the_league_1x02_name.mkv",
+        "the_league_1x02x03_name.mkv",
+        "the_league_1x02x03x04x05_name.mkv",
+        "the_league_1x2.name.1x3_name.1x4.name.1x5.name.mkv",
+        "the_league_1x2.name.1x3_name.mkv",
+        "the_league_1x2_1x3_1x4_1x5_name.mkv",
+        "the_league_1x2_1x3_name.mkv",
+        "the_league_S01_E01_pilot.mkv",
+        "the_league_e01_e02_e03_e04_name.mkv",
+        "the_league_e01_e02_name.mkv",
+        "the_league_e01_name_e02_name.mkv",
+        "the_league_e01_name_e02_name_e03_name_e04_name.mkv",
+        "the_league_e02_name.mkv",
+        "the_league_ep01_ep02_ep03_ep04_pilot.mkv",
+        "the_league_ep01_ep02_pilot.mkv",
+        "the_league_ep1_ep2_ep3_ep4_pilot.mkv",
+        "the_league_ep1_ep2_pilot.mkv",
+        "the_league_s01e01+s01e02+s01e03+s01e04_pilot.mkv",
+        "the_league_s01e01+s01e02_pilot.mkv",
+        "the_league_s1e1e2_pilot.mkv",
+        "the_league_s1e1e2e3e4_pilot.mkv",
+        "the_league_season_1_e02_e03_e04_e05_name.mkv",
+        "the_league_season_1_e02_e03_name.mkv",
+        "the_league_season_1_e02_name.mkv",
+        "the_league_season_1_e02_name_e03_name.mkv",
+        "the_league_season_1_e02_name_e03_name_e04_name_e05_name.mkv",
+        "the_league_season_1_ep_02_name_ep_03_name.mkv",
+        "the_league_season_1_ep_02_name_ep_03_name_ep_04_name_ep_05_name.mkv",
+        "the_league_season_1_episode_02_name_episode_03_name.mkv",
+        "the_league_season_1_episode_02_name_episode_03_name_episode_04_name_episode_05_name.mkv",
+        "the_pacific-part-i-part-ii-name.mkv",
+        "the_pacific-part41-part42-part43-part44-name.mkv",
+        "the_pacific_part27_name_part28_name.mkv",
+        "the_pacific_part53_name_part54_name_part55_name_part56_name.mkv",
+        "the_pacific_part_17_part_18_name.mkv",
+        "the_pacific_part_33_part_34_part_35_part_36_name.mkv",
+        "the_pacific_part_ii_name.mkv",
+        "the_pacific_part_vii_part_viii_name.mkv",
+        "the_pacific_part_xiii_part_xiv_part_xv_part_xvi_name.mkv",
+        "the_pacific_pt2_name.mkv"
+    };
+
+    private static final String[] FRAGMENTS = new String[] {
+        "the", "league", "The", "Pacific", "show", "name", "pilot", "(US)", "(2013)",
+        "s01e02", "S1E2", "s01", "e02", "E3", "s1xe2", "S01xE01xE02", "s01e01-s01e02", "e1e2",
+        "1x02", "1X2", "1x02x03", "x03", "01x02", "1", "12", "102", "1.02", "1012",
+        "ep01", "EP2", "ep01ep02", "Ep1Ep2", "episode", "Episode 3", "ep", "e",
+        "season", "Season 1", "season.02", "SEASON1",
+        "part", "Part 3", "pt", "pt2", "part ii", "PT.IV", "part mix", "pt.dvd", "script 2",
+        "2014", "2014.05.12", "12-05-14", "1999", "20", "720p", "1080p", "x264", "dd5.1", "aac2.0",
+        "ii", "iv", "x", "s", "mix"
+    };
+
+    private static final String[] SEPARATORS = new String[] {
+        ".", " ", "_", "-", " - ", "+", "", ".."
+    };
+
+    static List<String> fileNames() {
+        List<String> fileNames = new ArrayList<>(Arrays.asList(CORPUS));
+        Random random = new Random(42);
+        for(int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int fragments = 1 + random.nextInt(8);
+            for(int j = 0; j < fragments; j++) {
+                if(j > 0) {
+                    sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+                }
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            fileNames.add(sb.append(".mkv").toString());
+        }
+        return fileNames;
+    }
+
+    private static List<TVMatcherOptions> options() {
+        SeasonMatcher noSeason = new SeasonMatcher() {
+            @Override
+            public int matchSeason(Path episode) {
+                return EpisodeMatch.NO_SEASON;
+            }
+        };
+        return Arrays.asList(
+            new TVMatcherOptions(),
+            new TVMatcherOptions(noSeason).fallbackTVMatcherSeason()
+        );
+    }
+
+    static void assertSameMatch(String fileName, EpisodeMatch expResult, EpisodeMatch result) {
+        if(expResult == null) {
+            assertNull(fileName, result);
+            return;
+        }
+        assertEquals(fileName, expResult.getShow(), result.getShow());
+        assertEquals(fileName, expResult.getSeason(), result.getSeason());
+        assertEquals(fileName, expResult.getEpisodes(), result.getEpisodes());
+        assertEquals(fileName, expResult.getEpisodeFile(), result.getEpisodeFile());
+    }
+
+    private static void assertSameMatches(TVMatcher.Matcher regex, TokenMatcher token) {
+        for(String fileName : fileNames()) {
+            Path p = Paths.get(PATH, fileName);
+            String filteredName = TVMatcher.stripCommonTags(fileName);
+            assertSameMatch(fileName, regex.match(p, filteredName), token.match(p, filteredName));
+        }
+    }
+
+    /**
+     * Test of match method, of class TokenSEDelimitedMatcher.
+     */
+    @Test
+    public void testSEDelimitedMatch() {
+        for(TVMatcherOptions o : options()) {
+            assertSameMatches(new SEDelimitedMatcher(o), new TokenSEDelimitedMatcher(o));
+        }
+    }
+
+    /**
+     * Test of match method, of class TokenXDelimitedMatcher.
+     */
+    @Test
+    public void testXDelimitedMatch() {
+        for(TVMatcherOptions o : options()) {
+            assertSameMatches(new XDelimitedMatcher(o), new TokenXDelimitedMatcher(o));
+        }
+    }
+
+    /**
+     * Test of match method, of class TokenWordDelimitedMatcher.
+     */
+    @Test
+    public void testWordDelimitedMatch() {
+        for(TVMatcherOptions o : options()) {
+            assertSameMatches(new WordDelimitedMatcher(o), new TokenWordDelimitedMatcher(o));
+        }
+    }
+
+    /**
+     * Test of match method, of class TokenNoDelimiterMatcher.
+     */
+    @Test
+    public void testNoDelimiterMatch() {
+        for(TVMatcherOptions o : options()) {
+            assertSameMatches(new NoDelimiterMatcher(o), new TokenNoDelimiterMatcher(o));
+        }
+    }
+
+    /**
+     * Test of match method, of class TokenPartMatcher.
+     */
+    @Test
+    public void testPartMatch() {
+        for(TVMatcherOptions o : options()) {
+            assertSameMatches(new PartMatcher(o), new TokenPartMatcher(o));
+        }
+    }
+
+    /**
+     * Test of match method, of class TVMatcher using the LEXER engine.
+     */
+    @Test
+    public void testPipelineMatch() {
+        TVMatcher regex = new TVMatcher(new TVMatcherOptions());
+        TVMatcher lexer = new TVMatcher(new TVMatcherOptions().engine(TVMatcher.Engine.LEXER));
+        for(String fileName : fileNames()) {
+            Path p = Paths.get(PATH, fileName);
+            assertSameMatch(fileName, regex.match(p), lexer.match(p));
+        }
+    }
+
+}
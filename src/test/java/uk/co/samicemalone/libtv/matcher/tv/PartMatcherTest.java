@@ -30,6 +30,7 @@ package uk.co.samicemalone.libtv.matcher.tv;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import static org.junit.Assert.assertNull;
 import org.junit.Test;
 import uk.co.samicemalone.libtv.matcher.TVMatcher;
 import uk.co.samicemalone.libtv.matcher.path.StandardTVElementMatcher;
@@ -163,5 +164,22 @@ public class PartMatcherTest {
             EpisodeTestUtil.assertEpisodeMatchEquals(expResult, result);
         }
     }
+
+    /**
+     * Test of match method, of class PartMatcher, with parts that are not a
+     * valid episode number.
+     */
+    @Test
+    public void testMatchNoEpisode() {
+        String[] fileNames = new String[] {
+            "the.pacific.pt.iiii.name.mkv",
+            "the.pacific.part.99999999999.name.mkv",
+        };
+        PartMatcher instance = new PartMatcher(new TVMatcherOptions());
+        for(String fileName : fileNames) {
+            Path p = Paths.get(path, fileName);
+            assertNull(fileName, instance.match(p, TVMatcher.stripCommonTags(fileName)));
+        }
+    }
     
 }
@@ -0,0 +1,121 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.matcher.tv;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.co.samicemalone.libtv.BenchmarkCorpus;
+import uk.co.samicemalone.libtv.BenchmarkCorpus.Corpus;
+import uk.co.samicemalone.libtv.matcher.TVMatcher;
+import uk.co.samicemalone.libtv.model.EpisodeName;
+import uk.co.samicemalone.libtv.model.TVMatcherOptions;
+
+/**
+ * JMH benchmark of each {@link TVGroupMatcher} subclass on its own over each
+ * {@link BenchmarkCorpus}. File names are stripped of common tags up front so
+ * only the matcher is measured. A score is the number of corpora of 4096
+ * file names matched per second.
+ * Not run as part of the tests. Run with:
+ * <pre>
+ * mvn -P benchmark verify -Dbenchmark=TVGroupMatcherBenchmark
+ * </pre>
+ * @author Sam Malone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TVGroupMatcherBenchmark {
+    
+    @Param({ "SEDelimitedMatcher", "XDelimitedMatcher", "WordDelimitedMatcher", "NoDelimiterMatcher", "PartMatcher" })
+    public String matcherName;
+    
+    @Param({ "ALL_SE", "MIXED", "WORST_CASE", "LIBRARY" })
+    public Corpus corpus;
+    
+    private TVGroupMatcher matcher;
+    private EpisodeName[] names;
+    private String[] filteredNames;
+    
+    @Setup
+    public void setUp() {
+        matcher = newMatcher(matcherName, new TVMatcherOptions());
+        String[] fileNames = BenchmarkCorpus.fileNames(corpus, 4096, 42);
+        names = new EpisodeName[fileNames.length];
+        filteredNames = new String[fileNames.length];
+        for(int i = 0; i < fileNames.length; i++) {
+            names[i] = new EpisodeName(fileNames[i]);
+            filteredNames[i] = TVMatcher.stripCommonTags(fileNames[i]);
+        }
+    }
+    
+    private static TVGroupMatcher newMatcher(String name, TVMatcherOptions options) {
+        switch(name) {
+            case "SEDelimitedMatcher":
+                return new SEDelimitedMatcher(options);
+            case "XDelimitedMatcher":
+                return new XDelimitedMatcher(options);
+            case "WordDelimitedMatcher":
+                return new WordDelimitedMatcher(options);
+            case "NoDelimiterMatcher":
+                return new NoDelimiterMatcher(options);
+            case "PartMatcher":
+                return new PartMatcher(options);
+        }
+        throw new IllegalArgumentException("Unknown matcher: " + name);
+    }
+    
+    @Benchmark
+    public void match(Blackhole bh) {
+        for(int i = 0; i < names.length; i++) {
+            bh.consume(matcher.match(names[i], filteredNames[i]));
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TVGroupMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+    
+}
@@ -0,0 +1,117 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import java.util.Arrays;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class EpisodeNumbersTest {
+
+    /**
+     * Test of addInt method, of class EpisodeNumbers.
+     */
+    @Test
+    public void testAddInt() {
+        EpisodeNumbers instance = new EpisodeNumbers();
+        for(int i = 1; i <= 10; i++) {
+            instance.addInt(i);
+        }
+        assertEquals(10, instance.size());
+        assertEquals(1, instance.getInt(0));
+        assertEquals(10, instance.getInt(9));
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }, instance.toIntArray());
+    }
+
+    /**
+     * Test of removeInt method, of class EpisodeNumbers.
+     */
+    @Test
+    public void testRemoveInt() {
+        EpisodeNumbers instance = new EpisodeNumbers(2, 3, 4);
+        assertTrue(instance.removeInt(3));
+        assertFalse(instance.removeInt(3));
+        assertEquals(Arrays.asList(2, 4), instance);
+        assertTrue(instance.remove(Integer.valueOf(2)));
+        assertEquals(Arrays.asList(4), instance);
+    }
+
+    /**
+     * Test of getMin and getMax methods, of class EpisodeNumbers.
+     */
+    @Test
+    public void testMinMax() {
+        EpisodeNumbers instance = new EpisodeNumbers(5, 2, 9);
+        assertEquals(2, instance.getMin());
+        assertEquals(9, instance.getMax());
+    }
+
+    /**
+     * Test of anyMatch and anyInRange methods, of class EpisodeNumbers.
+     */
+    @Test
+    public void testAnyMatch() {
+        EpisodeNumbers instance = new EpisodeNumbers(2, 3);
+        assertTrue(instance.anyMatch(e -> e == 3));
+        assertFalse(instance.anyMatch(e -> e > 3));
+        assertTrue(instance.anyInRange(3, 8));
+        assertFalse(instance.anyInRange(4, 8));
+    }
+
+    /**
+     * Test of span method, of class EpisodeNumbers.
+     */
+    @Test
+    public void testSpan() {
+        EpisodeNumbers instance = EpisodeNumbers.span(3, 5);
+        assertEquals(Arrays.asList(3, 4, 5), instance);
+        assertTrue(instance.isSpan());
+        assertFalse(new EpisodeNumbers(3, 5).isSpan());
+    }
+
+    /**
+     * Test of equals and hashCode methods, of class EpisodeNumbers.
+     */
+    @Test
+    public void testEqualsList() {
+        EpisodeNumbers instance = new EpisodeNumbers(1, 2, 3);
+        assertEquals(Arrays.asList(1, 2, 3), instance);
+        assertEquals(instance, Arrays.asList(1, 2, 3));
+        assertEquals(Arrays.asList(1, 2, 3).hashCode(), instance.hashCode());
+        assertEquals(new EpisodeNumbers(Arrays.asList(1, 2, 3)), instance);
+    }
+    
+}
@@ -0,0 +1,87 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import java.util.regex.Pattern;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class RomanNumeralTest {
+    
+    private static final Pattern romanNumeralsStrict = Pattern.compile(
+        "^M{0,4}(CM|CD|D?C{0,3})(XC|XL|L?X{0,3})(IX|IV|V?I{0,3})$", Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * Test of parse method, of class RomanNumeral.
+     */
+    @Test
+    public void testParse() {
+        assertEquals(1, RomanNumeral.parse("I"));
+        assertEquals(4, RomanNumeral.parse("iv"));
+        assertEquals(38, RomanNumeral.parse("XXXVIII"));
+        assertEquals(49, RomanNumeral.parse("XLIX"));
+        assertEquals(50, RomanNumeral.parse("L"));
+        assertEquals(1994, RomanNumeral.parse("MCMXCIV"));
+        assertEquals(0, RomanNumeral.parse(""));
+        assertEquals(0, RomanNumeral.parse("IIII"));
+        assertEquals(0, RomanNumeral.parse("IC"));
+        assertEquals(0, RomanNumeral.parse("VX"));
+        assertEquals(0, RomanNumeral.parse("MMMMM"));
+        assertEquals(2, RomanNumeral.parse("Part.II.mkv", 5, 7));
+    }
+
+    /**
+     * Test of parse method, of class RomanNumeral. Every string of up to 6
+     * Roman symbols is parsed the same as the strict regex and valueOf.
+     */
+    @Test
+    public void testParseMatchesStrictValueOf() {
+        char[] symbols = "MDCLXVIi".toCharArray();
+        char[] chars = new char[6];
+        for(int length = 1; length <= chars.length; length++) {
+            int combinations = (int) Math.pow(symbols.length, length);
+            for(int n = 0; n < combinations; n++) {
+                int r = n;
+                for(int i = 0; i < length; i++) {
+                    chars[i] = symbols[r % symbols.length];
+                    r /= symbols.length;
+                }
+                String roman = new String(chars, 0, length);
+                int expected = romanNumeralsStrict.matcher(roman).matches() ? RomanNumeral.valueOf(roman) : 0;
+                assertEquals(roman, expected, RomanNumeral.parse(roman));
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,122 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class ShowDictionaryTest {
+
+    /**
+     * Test of intern method, of class ShowDictionary.
+     */
+    @Test
+    public void testIntern() {
+        ShowDictionary instance = new ShowDictionary();
+        String show = instance.intern("The Office");
+        assertSame(show, instance.intern(new String("The Office")));
+        assertEquals(null, instance.intern(null));
+    }
+
+    /**
+     * Test of getId method, of class ShowDictionary.
+     */
+    @Test
+    public void testGetId() {
+        ShowDictionary instance = new ShowDictionary();
+        int id = instance.getId("The Office");
+        assertEquals(id, instance.getId("the.office"));
+        assertTrue(id != instance.getId("The Wire"));
+        assertEquals(ShowDictionary.NO_SHOW, instance.getId(null));
+        assertEquals(2, instance.size());
+        assertEquals("theoffice", instance.getKey(id));
+    }
+
+    /**
+     * Test of findId method, of class ShowDictionary.
+     */
+    @Test
+    public void testFindId() {
+        ShowDictionary instance = new ShowDictionary();
+        assertEquals(ShowDictionary.NO_SHOW, instance.findId("The Office"));
+        int id = instance.getId("The Office");
+        assertEquals(id, instance.findId("THE OFFICE"));
+        assertEquals(1, instance.size());
+    }
+
+    /**
+     * Test of getShowId method, of class EpisodeMatch.
+     */
+    @Test
+    public void testEpisodeMatchShowId() {
+        EpisodeMatch a = new EpisodeMatch(new String("Scrubs"), 1, 1);
+        EpisodeMatch b = new EpisodeMatch(new String("Scrubs"), 1, 2);
+        assertSame(a.getShow(), b.getShow());
+        assertEquals(a.getShowId(), b.getShowId());
+        assertEquals(ShowDictionary.NO_SHOW, new EpisodeMatch(1).getShowId());
+    }
+
+    /**
+     * Test of size method, of class ShowDictionary, once the ids of shows
+     * that are no longer referenced are released.
+     */
+    @Test
+    public void testReleaseIds() throws InterruptedException {
+        ShowDictionary instance = new ShowDictionary(4);
+        ShowDictionary.Entry kept = instance.lookup("The Office");
+        for(int i = 0; i < 1000; i++) {
+            instance.getId("Show " + i);
+        }
+        for(int i = 0; i < 50 && instance.size() > 5; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertTrue(instance.size() <= 5);
+        assertEquals(kept.getId(), instance.findId("the.office"));
+        assertEquals("theoffice", instance.getKey(kept.getId()));
+        int id = instance.getId("The Wire");
+        assertTrue(id < 1001);
+        assertEquals("thewire", instance.getKey(id));
+    }
+
+    /**
+     * Test of ShowDictionary constructor, of class ShowDictionary.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxNames() {
+        new ShowDictionary(0);
+    }
+    
+}
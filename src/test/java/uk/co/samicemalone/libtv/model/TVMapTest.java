@@ -37,6 +37,7 @@ import org.junit.After;
 import org.junit.AfterClass;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -247,6 +248,21 @@ public class TVMapTest {
         assertEquals(0, instance.getShowCount());
     }
 
+    /**
+     * Test of removeEpisode method, of class TVMap.
+     */
+    @Test
+    public void testRemoveEpisodeNumber() {
+        EpisodeMatch episode = new EpisodeMatch("24", 1, new ArrayList<>(Arrays.asList(1, 2)));
+        TVMap instance = new TVMap();
+        instance.addEpisode(episode);
+        instance.removeEpisode("24", 1, 2);
+        assertSame(episode, instance.getEpisode("24", 1, 1));
+        assertFalse(instance.contains("24", 1, 2));
+        instance.removeEpisode("24", 1, 1);
+        assertEquals(0, instance.getShowCount());
+    }
+
     /**
      * Test of removeEpisodeSubset method, of class TVMap.
      */
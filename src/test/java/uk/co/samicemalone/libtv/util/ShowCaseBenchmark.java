@@ -0,0 +1,116 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of ShowCase.convert over show names drawn from a pool of
+ * distinct names. A pool smaller than {@link ShowCase#CACHE_SIZE} is served
+ * from the cache, a larger pool mostly misses it. convertUncached is
+ * measured for comparison. A score is the number of batches of 4096 show
+ * names converted per second.
+ * Not run as part of the tests. Run with:
+ * <pre>
+ * mvn -P benchmark verify -Dbenchmark=ShowCaseBenchmark
+ * </pre>
+ * @author Sam Malone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShowCaseBenchmark {
+    
+    private static final String[] WORDS = new String[] {
+        "the", "walking", "dead", "of", "and", "in", "office", "us", "modern",
+        "family", "it's", "always", "sunny", "philadelphia", "a", "to", "for",
+        "game", "thrones", "house", "cards", "man", "high", "castle", "on"
+    };
+    
+    @Param({ "256", "16384" })
+    public int distinctShows;
+    
+    private String[] shows;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] pool = new String[distinctShows];
+        for(int i = 0; i < pool.length; i++) {
+            StringBuilder sb = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+            for(int words = 1 + random.nextInt(4); words > 0; words--) {
+                sb.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            pool[i] = sb.append(' ').append(i).toString();
+        }
+        shows = new String[4096];
+        for(int i = 0; i < shows.length; i++) {
+            shows[i] = pool[random.nextInt(pool.length)];
+        }
+        ShowCase.clearCache();
+    }
+    
+    @Benchmark
+    public void convert(Blackhole bh) {
+        for(String show : shows) {
+            bh.consume(ShowCase.convert(show));
+        }
+    }
+    
+    @Benchmark
+    public void convertUncached(Blackhole bh) {
+        for(String show : shows) {
+            bh.consume(ShowCase.convertUncached(show));
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ShowCaseBenchmark.class.getSimpleName()).build()).run();
+    }
+    
+}
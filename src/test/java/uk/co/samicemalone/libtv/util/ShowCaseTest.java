@@ -30,6 +30,7 @@ package uk.co.samicemalone.libtv.util;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
@@ -63,4 +64,72 @@ public class ShowCaseTest {
         }
     }
     
+    /**
+     * Test of convertUncached method, of class ShowCase.
+     */
+    @Test
+    public void testConvertUncachedRandom() {
+        Random random = new Random(42);
+        String alphabet = "abcdefghiorstvwAISTV0129 ._-()";
+        String[] words = { "a", "as", "vs", "VS", "and", "the", "from", "with", "of" };
+        for(int i = 0; i < 10000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(30);
+            for(int j = 0; j < length; j++) {
+                if(random.nextInt(4) == 0) {
+                    sb.append(words[random.nextInt(words.length)]);
+                } else {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            String show = sb.toString();
+            assertEquals(show, legacyConvert(show), ShowCase.convertUncached(show));
+        }
+    }
+
+    /**
+     * Test of getCacheHitCount method, of class ShowCase.
+     */
+    @Test
+    public void testCacheHitCount() {
+        ShowCase.clearCache();
+        assertEquals("The Office (US)", ShowCase.convert("the.office.(us)"));
+        assertEquals("The Office (US)", ShowCase.convert("the.office.(us)"));
+        assertEquals("Scrubs", ShowCase.convert("scrubs"));
+        assertEquals(1, ShowCase.getCacheHitCount());
+        assertEquals(2, ShowCase.getCacheMissCount());
+        assertEquals(2, ShowCase.getCacheSize());
+    }
+    
+    private static String legacyConvert(String s) {
+        StringBuilder titleCase = new StringBuilder();
+        boolean nextTitleCase = true;
+        boolean forceTitleCase = false;
+        char[] chars = s.replaceAll("[_.]+", " ").toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (Character.isSpaceChar(chars[i]) || chars[i] == '-') {
+                nextTitleCase = true;
+            } else if(chars[i] == '(') {
+                forceTitleCase = true;
+            } else if(chars[i] == ')') {
+                forceTitleCase = false;
+            } else if (nextTitleCase || forceTitleCase) {
+                chars[i] = Character.toTitleCase(chars[i]);
+                nextTitleCase = false;
+            }
+            titleCase.append(chars[i]);
+        }
+        String[] words = titleCase.toString().split(" +");
+        String[] exceptions = { "A", "As", "At", "By", "In", "Of", "On", "Or", "To", "Vs", "VS", "And", "For", "The", "From", "With" };
+        for(int i = 1; i < words.length; i++) {
+            for(String word : exceptions) {
+                if(word.equals(words[i])) {
+                    words[i] = words[i].toLowerCase();
+                    break;
+                }
+            }
+        }
+        return StringUtil.join(" ", words);
+    }
+    
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+/* 
+ * Copyright (c) 2014, Sam Malone. All rights reserved.
+ *
+ * Redistribution and use of this software in source and binary forms, with or
+ * without modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *  - Neither the name of Sam Malone nor the names of its contributors may be
+ *    used to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN 
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.co.samicemalone.libtv.util;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sam Malone
+ */
+public class StringUtilTest {
+
+    /**
+     * Test of parseInt method, of class StringUtil.
+     */
+    @Test
+    public void testParseInt() {
+        assertEquals(0, StringUtil.parseInt("0"));
+        assertEquals(12, StringUtil.parseInt("012"));
+        assertEquals(Integer.MAX_VALUE, StringUtil.parseInt(String.valueOf(Integer.MAX_VALUE)));
+        assertEquals(-1, StringUtil.parseInt("2147483648"));
+        assertEquals(-1, StringUtil.parseInt("99999999999999999999"));
+        assertEquals(-1, StringUtil.parseInt(""));
+        assertEquals(-1, StringUtil.parseInt(null));
+        assertEquals(-1, StringUtil.parseInt("-1"));
+        assertEquals(-1, StringUtil.parseInt("1a"));
+    }
+
+    /**
+     * Test of parseInt method, of class StringUtil.
+     */
+    @Test
+    public void testParseIntRegion() {
+        assertEquals(2, StringUtil.parseInt("s01e02", 4, 6));
+        assertEquals(1, StringUtil.parseInt("s01e02", 1, 3));
+        assertEquals(-1, StringUtil.parseInt("s01e02", 3, 3));
+        assertEquals(-1, StringUtil.parseInt("s01e02", 2, 4));
+    }
+
+}